@@ -1,7 +1,15 @@
 package cn.tannn.oasis;
 
+import cn.tannn.oasis.cache.NavVisitCounter;
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
+import cn.tannn.oasis.cache.SiteInfoCache;
 import cn.tannn.oasis.controller.DataBackupController;
 import cn.tannn.oasis.controller.LoginController;
+import cn.tannn.oasis.service.NavigationService;
+import cn.tannn.oasis.timer.FaviconWorker;
+import cn.tannn.oasis.timer.IconCompressWorker;
+import cn.tannn.oasis.timer.LinkHealthScheduler;
+import cn.tannn.oasis.timer.NavVisitFlusher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +18,8 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.List;
+
 import static cn.tannn.jdevelops.knife4j.core.constant.PublicConstant.COLON;
 import static cn.tannn.jdevelops.knife4j.core.constant.PublicConstant.SPIRIT;
 import static cn.tannn.jdevelops.knife4j.core.util.SwaggerUtil.getRealIp;
@@ -30,6 +40,30 @@ public class ApiApplication  implements ApplicationRunner {
     @Autowired
     private LoginController loginController;
 
+    @Autowired
+    private NavigationSnapshotCache navigationSnapshotCache;
+
+    @Autowired
+    private NavigationService navigationService;
+
+    @Autowired
+    private SiteInfoCache siteInfoCache;
+
+    @Autowired
+    private NavVisitCounter navVisitCounter;
+
+    @Autowired
+    private NavVisitFlusher navVisitFlusher;
+
+    @Autowired
+    private LinkHealthScheduler linkHealthScheduler;
+
+    @Autowired
+    private IconCompressWorker iconCompressWorker;
+
+    @Autowired
+    private FaviconWorker faviconWorker;
+
     public static void main(String[] args) {
         SpringApplication.run(ApiApplication.class, args);
     }
@@ -43,6 +77,30 @@ public class ApiApplication  implements ApplicationRunner {
         log.info("初始化数据");
         loginController.initSysConfig();
 
+        List<Integer> migratedIcons = navigationService.migrateIcons();
+        if (!migratedIcons.isEmpty()) {
+            log.info("base64 图标已迁移到图标存储，导航项数量: {}", migratedIcons.size());
+            // 迁移的是原图，后台压缩后替换
+            migratedIcons.forEach(iconCompressWorker::submit);
+        }
+
+        int platformNavs = navigationService.syncPlatforms();
+        log.info("导航项发布页面关联已同步，指定了发布页面的导航项: {}", platformNavs);
+        int categoryNavs = navigationService.syncCategories();
+        log.info("导航项分类关联已同步，有分类的导航项: {}", categoryNavs);
+
+        log.info("初始化导航快照");
+        navigationSnapshotCache.rebuild();
+
+        log.info("初始化站点信息缓存");
+        siteInfoCache.rebuild();
+
+        log.info("加载点击统计");
+        navVisitCounter.load();
+        navVisitFlusher.start();
+
+        linkHealthScheduler.start();
+        faviconWorker.start();
 
         if (SPIRIT.equals(serverName)) {
             serverName = "";
@@ -0,0 +1,111 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.config.ColumnarHttpMessageConverter;
+import cn.tannn.oasis.utils.HttpEncodings;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 全局数据版本
+ * <p> 管理端每次写操作后递增，/webs 公开接口据此生成强 ETag，
+ * 请求带着相同的 If-None-Match 时直接返回 304，不查库也不序列化 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 16:40
+ */
+@Component
+public class DataVersion {
+
+    /**
+     * 启动标识，版本号在重启后从头计数，加上它避免与重启前的 ETag 撞上
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong(1);
+
+    /**
+     * 数据已变更，递增版本
+     *
+     * @return 新版本
+     */
+    public long bump() {
+        return version.incrementAndGet();
+    }
+
+    /**
+     * 当前版本
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 生成强 ETag：启动标识 + 数据版本 + 请求参数
+     *
+     * @param keys 影响响应内容的请求参数
+     * @return ETag（带双引号）
+     */
+    public String etag(Object... keys) {
+        return "\"" + epoch + "-" + version.get() + "-" + Integer.toHexString(Arrays.deepHashCode(keys)) + "\"";
+    }
+
+    /**
+     * 条件请求处理
+     * <p> 写入 ETag 和 Cache-Control: no-cache（浏览器缓存但每次都要校验），
+     * If-None-Match 匹配时把状态设为 304，调用方直接返回 null 即可 </p>
+     * <p> 不用 WebRequest#checkNotModified，它对 POST 按 If-Match 语义处理，/webs/navs 是 POST </p>
+     * <p> 同一地址按 Accept 返回 JSON 或列式格式，ETag 按格式区分，并带上 Vary: Accept </p>
+     *
+     * @param keys 影响响应内容的请求参数
+     * @return true 未修改（已设置 304）
+     */
+    public boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, Object... keys) {
+        return checkNotModified(request, response, false, keys);
+    }
+
+    /**
+     * 条件请求处理，响应按 Accept-Encoding 返回 gzip 或原文
+     * <p> 两种编码的字节不同，强 ETag 按编码再区分（gzip 加 -gz），304 同样带上 Vary: Accept-Encoding，
+     * 共享缓存不会把一种编码的校验结果用到另一种上 </p>
+     *
+     * @param keys 影响响应内容的请求参数
+     * @return true 未修改（已设置 304）
+     */
+    public boolean checkNotModifiedEncoded(HttpServletRequest request, HttpServletResponse response, Object... keys) {
+        return checkNotModified(request, response, true, keys);
+    }
+
+    private boolean checkNotModified(HttpServletRequest request, HttpServletResponse response,
+                                     boolean encoded, Object... keys) {
+        String etag = etag(keys);
+        if (ColumnarHttpMessageConverter.accepts(request)) {
+            etag = etag.substring(0, etag.length() - 1) + "-c\"";
+        }
+        if (encoded && HttpEncodings.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            etag = etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, encoded
+                ? HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING : HttpHeaders.ACCEPT);
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(etag) || tag.equals("*")) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+        }
+        return false;
+    }
+}
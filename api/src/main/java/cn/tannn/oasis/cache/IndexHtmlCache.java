@@ -0,0 +1,115 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.config.StaticResourceConfig;
+import cn.tannn.oasis.utils.HttpEncodings;
+import cn.tannn.oasis.utils.ImageUtils;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 前端入口页 index.html 内存缓存
+ * <p> 启动时从 classpath:/static/ 读取一次（兼容 fat jar），同时保存 gzip 版本。
+ * 入口页文件名不带哈希，响应 Cache-Control: no-cache + ETag，浏览器每次协商校验，未变化时 304 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Slf4j
+@Component
+public class IndexHtmlCache {
+
+    private static final String INDEX_HTML = StaticResourceConfig.STATIC_LOCATION + "index.html";
+
+    /**
+     * 原始内容，未构建前端时为 null
+     */
+    private final byte[] html;
+    /**
+     * gzip 压缩后的内容
+     */
+    private final byte[] gzipHtml;
+    private final String etag;
+    /**
+     * gzip 版本的 ETag：字节不同，强 ETag 需要区分
+     */
+    private final String gzipEtag;
+
+    public IndexHtmlCache(ResourceLoader resourceLoader) {
+        byte[] content = load(resourceLoader.getResource(INDEX_HTML));
+        this.html = content;
+        this.gzipHtml = content == null ? null : gzip(content);
+        String hash = content == null ? null : ImageUtils.sha256(content).substring(0, 16);
+        this.etag = hash == null ? null : "\"" + hash + "\"";
+        this.gzipEtag = hash == null ? null : "\"" + hash + "-gz\"";
+    }
+
+    /**
+     * 生成入口页响应
+     *
+     * @param request 请求
+     * @return 入口页 / 304（返回 null，状态已设置）/ 404（未构建前端）
+     */
+    public ResponseEntity<byte[]> response(WebRequest request) {
+        if (html == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean gzip = HttpEncodings.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // 304 也要带上 Vary，共享缓存才不会混用两种编码的校验结果
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+        if (request.checkNotModified(gzip ? gzipEtag : etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(gzip ? gzipEtag : etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8));
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipHtml);
+        }
+        return builder.body(html);
+    }
+
+    private static byte[] load(Resource resource) {
+        if (!resource.exists()) {
+            log.warn("未找到前端入口页 {}，请先构建前端", INDEX_HTML);
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            log.error("读取前端入口页失败", e);
+            return null;
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("压缩入口页失败", e);
+        }
+        return out.toByteArray();
+    }
+}
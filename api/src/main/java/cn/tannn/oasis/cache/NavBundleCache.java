@@ -0,0 +1,138 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.jdevelops.result.response.ResultVO;
+import cn.tannn.oasis.controller.vo.NavBundle;
+import cn.tannn.oasis.entity.SitePublish;
+import cn.tannn.oasis.utils.ColumnarModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 首页数据包缓存
+ * <p> 按 routePath 缓存序列化好的 JSON、列式 JSON（{@link ColumnarModule}）以及各自 gzip 压缩后的字节，请求时直接写出，不再序列化、压缩 </p>
+ * <p> 以 {@link DataVersion} 为准：导航快照、站点信息重建后版本变化，下一次请求时重新生成 </p>
+ * <p> 只缓存默认页和启用的发布页面，其他 routePath 不缓存，避免任意参数占用内存 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 21:05
+ */
+@Slf4j
+@Component
+public class NavBundleCache {
+
+    private final NavigationSnapshotCache navigationSnapshotCache;
+    private final SiteInfoCache siteInfoCache;
+    private final DataVersion dataVersion;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper columnarMapper;
+
+    /**
+     * routePath（默认页为空字符串）-> 数据包
+     */
+    private final Map<String, Bundle> bundles = new ConcurrentHashMap<>();
+
+    public NavBundleCache(NavigationSnapshotCache navigationSnapshotCache,
+                          SiteInfoCache siteInfoCache,
+                          DataVersion dataVersion,
+                          ObjectMapper objectMapper) {
+        this.navigationSnapshotCache = navigationSnapshotCache;
+        this.siteInfoCache = siteInfoCache;
+        this.dataVersion = dataVersion;
+        this.objectMapper = objectMapper;
+        this.columnarMapper = objectMapper.copy().registerModule(new ColumnarModule());
+    }
+
+    /**
+     * 获取数据包
+     *
+     * @param routePath 路由路径，为空时为默认页
+     * @return 数据包（共享实例，不要修改）
+     */
+    public Bundle get(String routePath) {
+        String route = StringUtils.hasText(routePath) ? routePath.trim() : "";
+        // 先读版本再读数据：缓存重建后才递增版本，读到的数据不会比版本旧
+        long version = dataVersion.current();
+        Bundle bundle = bundles.get(route);
+        if (bundle != null && bundle.version() == version) {
+            return bundle;
+        }
+        NavigationSnapshot snapshot = navigationSnapshotCache.get();
+        SitePublish page = route.isEmpty() ? null : snapshot.getSites().stream()
+                .filter(site -> route.equals(site.getRoutePath()))
+                .findFirst()
+                .orElse(null);
+        if (!route.isEmpty() && page == null) {
+            return build(version, snapshot, route, null);
+        }
+        // 版本变化后其他页面的数据包也都过期了
+        bundles.values().removeIf(old -> old.version() != version);
+        return bundles.compute(route, (key, old) -> old != null && old.version() == version
+                ? old
+                : build(version, snapshot, route, page));
+    }
+
+    private Bundle build(long version, NavigationSnapshot snapshot, String route, SitePublish page) {
+        NavBundle data = new NavBundle();
+        data.setVersion(snapshot.getChangeVersion());
+        data.setSite(siteInfoCache.get(route));
+        data.setPage(page);
+        boolean known = route.isEmpty() || page != null;
+        data.setCategories(known ? snapshot.getCategories() : List.of());
+        data.setNavs(known ? snapshot.navs(route) : List.of());
+        try {
+            ResultVO<NavBundle> result = ResultVO.success(data);
+            byte[] json = objectMapper.writeValueAsBytes(result);
+            byte[] columnar = columnarMapper.writeValueAsBytes(result);
+            byte[] gzip = gzip(json);
+            byte[] columnarGzip = gzip(columnar);
+            if (known) {
+                log.debug("首页数据包已生成，页面: [{}]，导航项: {}，大小: {} -> {} 字节，列式: {} -> {} 字节",
+                        route, data.getNavs().size(), json.length, gzip.length, columnar.length, columnarGzip.length);
+            }
+            return new Bundle(version, json, gzip, columnar, columnarGzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException("首页数据包序列化失败", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 数据包
+     *
+     * @param version      生成时的 {@link DataVersion}
+     * @param json         ResultVO JSON
+     * @param gzip         gzip 压缩后的 json
+     * @param columnar     列式 JSON
+     * @param columnarGzip gzip 压缩后的列式 JSON
+     */
+    public record Bundle(long version, byte[] json, byte[] gzip, byte[] columnar, byte[] columnarGzip) {
+
+        /**
+         * 按请求的格式、压缩方式取出内容
+         */
+        public byte[] body(boolean columnar, boolean gzip) {
+            if (columnar) {
+                return gzip ? columnarGzip : this.columnar;
+            }
+            return gzip ? this.gzip : json;
+        }
+    }
+}
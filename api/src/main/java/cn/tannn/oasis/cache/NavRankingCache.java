@@ -0,0 +1,161 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.controller.vo.NavigationVO;
+import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.service.NavVisitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 智能排序（order=smart）预计算结果
+ * <p> 得分 = 热度占比 × 近期热度（按最高值归一） + 其余占比 × 手动排序位置（越靠前越高），
+ * 近期热度为每日点击按半衰期衰减后累加，由后台任务定时从 nav_visit_daily 统计 </p>
+ * <p> 按 routePath、分类预先排好，请求时直接取列表，不排序也不查库；导航快照重建后首次读取时用已统计的热度重新排列 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 22:10
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NavRankingCache {
+
+    /**
+     * 点击热度半衰期（天）
+     */
+    static final double HALF_LIFE_DAYS = 7;
+
+    /**
+     * 统计最近多少天的点击，更早的衰减后已可忽略
+     */
+    static final int WINDOW_DAYS = 90;
+
+    /**
+     * 热度在得分中的占比，其余为手动排序
+     */
+    static final double CLICK_WEIGHT = 0.6;
+
+    /**
+     * 不区分分类的键
+     */
+    private static final String ALL = "";
+
+    private final NavigationSnapshotCache navigationSnapshotCache;
+    private final NavVisitService navVisitService;
+
+    private final AtomicLong versions = new AtomicLong();
+    /**
+     * routePath -> 导航项ID -> 近期热度
+     */
+    private volatile Map<String, Map<Integer, Double>> decayedHits = Map.of();
+    private volatile Ranking current;
+
+    /**
+     * 智能排序后的导航项
+     *
+     * @param routePath 路由路径，为空为默认页
+     * @param category  分类，为空为全部
+     * @return 导航项（只读），routePath 不是已配置的发布页面时返回 null
+     */
+    public List<NavigationVO> ranked(String routePath, String category) {
+        NavigationSnapshot snapshot = navigationSnapshotCache.get();
+        Ranking ranking = current;
+        if (ranking == null || ranking.snapshotVersion != snapshot.getVersion()) {
+            ranking = rebuild(snapshot, false);
+        }
+        Map<String, List<NavigationVO>> categories = ranking.routes.get(routePath == null ? "" : routePath);
+        if (categories == null) {
+            return null;
+        }
+        return categories.getOrDefault(category == null ? ALL : category, List.of());
+    }
+
+    /**
+     * 排名版本，每次重建递增
+     */
+    public long version() {
+        Ranking ranking = current;
+        return ranking == null ? 0 : ranking.version;
+    }
+
+    /**
+     * 后台任务：重新统计近期热度并重建排名
+     */
+    public void refresh() {
+        this.decayedHits = navVisitService.decayedHits(HALF_LIFE_DAYS, WINDOW_DAYS);
+        rebuild(navigationSnapshotCache.get(), true);
+    }
+
+    private synchronized Ranking rebuild(NavigationSnapshot snapshot, boolean force) {
+        Ranking ranking = current;
+        // 并发读取时只重建一次
+        if (!force && ranking != null && ranking.snapshotVersion == snapshot.getVersion()) {
+            return ranking;
+        }
+        long startTime = System.currentTimeMillis();
+        Map<String, Map<Integer, Double>> hits = decayedHits;
+        Map<String, Map<String, List<NavigationVO>>> routes = new HashMap<>();
+        routes.put("", rankRoute(snapshot, snapshot.navs(null), hits.getOrDefault("", Map.of())));
+        for (String routePath : snapshot.getRouteNavs().keySet()) {
+            routes.put(routePath, rankRoute(snapshot, snapshot.navs(routePath), hits.getOrDefault(routePath, Map.of())));
+        }
+        ranking = new Ranking(versions.incrementAndGet(), snapshot.getVersion(), Map.copyOf(routes));
+        this.current = ranking;
+        log.debug("智能排序已重建，版本: {}，发布页面: {}，耗时: {} ms",
+                ranking.version, routes.size(), System.currentTimeMillis() - startTime);
+        return ranking;
+    }
+
+    /**
+     * 排列一个发布页面的导航项，并按分类拆分
+     *
+     * @param navs 发布页面可见的导航项（已按手动排序）
+     * @param hits 导航项ID -> 近期热度
+     */
+    private static Map<String, List<NavigationVO>> rankRoute(NavigationSnapshot snapshot,
+                                                            List<NavigationVO> navs,
+                                                            Map<Integer, Double> hits) {
+        int size = navs.size();
+        double maxHits = 0;
+        for (NavigationVO vo : navs) {
+            maxHits = Math.max(maxHits, hits.getOrDefault(vo.getId(), 0d));
+        }
+        double[] scores = new double[size];
+        List<Integer> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double manual = 1 - (double) i / size;
+            double clicks = maxHits > 0 ? hits.getOrDefault(navs.get(i).getId(), 0d) / maxHits : 0;
+            scores[i] = CLICK_WEIGHT * clicks + (1 - CLICK_WEIGHT) * manual;
+            order.add(i);
+        }
+        // 得分相同时保持手动排序
+        order.sort((a, b) -> scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : Integer.compare(a, b));
+        List<NavigationVO> ranked = order.stream().map(navs::get).toList();
+
+        Map<String, List<NavigationVO>> categories = new HashMap<>();
+        categories.put(ALL, ranked);
+        for (NavCategory category : snapshot.getCategories()) {
+            String name = category.getCategoryName();
+            categories.put(name, ranked.stream().filter(vo -> snapshot.inCategory(vo.getId(), name)).toList());
+        }
+        return Map.copyOf(categories);
+    }
+
+    /**
+     * 预计算结果
+     *
+     * @param version         排名版本
+     * @param snapshotVersion 基于的导航快照版本
+     * @param routes          routePath（默认页为空字符串） -> 分类（全部为空字符串） -> 导航项
+     */
+    private record Ranking(long version, long snapshotVersion, Map<String, Map<String, List<NavigationVO>>> routes) {
+    }
+}
@@ -0,0 +1,191 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.entity.NavVisitDaily;
+import cn.tannn.oasis.service.NavVisitService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 导航项点击计数
+ * <p> 点击只在内存中累加（LongAdder 分段计数，高并发下不争用），由 NavVisitFlusher 定时把增量批量写入 nav_visit_daily </p>
+ * <p> 计数只增不清零，每个计数器记录已写入的值，写入时取 当前值 - 已写入值 作为增量，不会丢失写入过程中的点击；
+ * 写入失败时已写入值不变，下次一起重试 </p>
+ * <p> 按点击排序读取 {@link #snapshot()}：每次写入后发布一份带版本号的累计点击快照，排序和 ETag 都用同一份快照，
+ * 两次写入之间的点击不改变排序，也就不会出现 ETag 没变而内容已变 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 21:30
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NavVisitCounter {
+
+    private final NavVisitService navVisitService;
+
+    /**
+     * 日期 + 导航项 + 发布页面 -> 计数器，前一天的计数全部写入后移除
+     */
+    private final Map<DayKey, Counter> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 发布页面 -> 导航项ID -> 累计点击（启动时从库里加载，之后在内存中累加）；重新加载时整体替换
+     */
+    private volatile Map<String, Map<Integer, LongAdder>> totals = new ConcurrentHashMap<>();
+
+    /**
+     * 快照版本，每次发布递增
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 最近一次发布的累计点击快照
+     */
+    private volatile Totals snapshot = new Totals(0, Map.of());
+
+    /**
+     * 记录一次点击
+     *
+     * @param navId     导航项ID
+     * @param routePath 发布页面，默认页为空字符串
+     */
+    public void hit(Integer navId, String routePath) {
+        String route = routePath == null ? "" : routePath;
+        DayKey key = new DayKey(LocalDate.now(), navId, route);
+        Counter counter = pending.get(key);
+        if (counter == null) {
+            counter = pending.computeIfAbsent(key, k -> new Counter());
+        }
+        counter.hits.increment();
+        adder(totals, route, navId).increment();
+    }
+
+    /**
+     * 最近一次写入后的累计点击快照
+     */
+    public Totals snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 从库里加载累计点击，启动和恢复数据后调用
+     * <p> 在新的 map 中加载完成后整体替换，加载期间的点击仍累加到旧 map，不会读到清空了一半的统计；尚未写入的点击会加回去 </p>
+     */
+    public synchronized void load() {
+        Map<String, Map<Integer, LongAdder>> loaded = new ConcurrentHashMap<>();
+        navVisitService.totals().forEach((route, navs) ->
+                navs.forEach((navId, hits) -> adder(loaded, route, navId).add(hits)));
+        pending.forEach((key, counter) ->
+                adder(loaded, key.routePath, key.navId).add(counter.hits.sum() - counter.flushed));
+        totals = loaded;
+        publish();
+        log.info("导航项点击统计已加载，发布页面: {}", loaded.size());
+    }
+
+    /**
+     * 导航项删除后丢弃它尚未写入的点击和累计点击，避免之后的写入重新生成统计行
+     *
+     * @param navId 导航项ID
+     */
+    public synchronized void remove(Integer navId) {
+        pending.keySet().removeIf(key -> key.navId.equals(navId));
+        totals.values().forEach(navs -> navs.remove(navId));
+        publish();
+    }
+
+    /**
+     * 把增量写入每日统计
+     *
+     * @return 写入的行数
+     */
+    public synchronized int flush() {
+        LocalDate today = LocalDate.now();
+        List<NavVisitDaily> deltas = new ArrayList<>();
+        List<Counter> counters = new ArrayList<>();
+        List<Long> sums = new ArrayList<>();
+        for (Map.Entry<DayKey, Counter> entry : pending.entrySet()) {
+            DayKey key = entry.getKey();
+            Counter counter = entry.getValue();
+            long sum = counter.hits.sum();
+            long delta = sum - counter.flushed;
+            if (delta > 0) {
+                deltas.add(new NavVisitDaily(key.date, key.navId, key.routePath, delta));
+                counters.add(counter);
+                sums.add(sum);
+            } else if (key.date.isBefore(today)) {
+                // 前一天的点击已全部写入
+                pending.remove(key, counter);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        int rows = navVisitService.accumulate(deltas);
+        for (int i = 0; i < counters.size(); i++) {
+            counters.get(i).flushed = sums.get(i);
+        }
+        publish();
+        return rows;
+    }
+
+    /**
+     * 发布当前累计点击的快照
+     */
+    private void publish() {
+        Map<String, Map<Integer, Long>> hits = new HashMap<>();
+        totals.forEach((route, navs) -> {
+            Map<Integer, Long> copy = new HashMap<>();
+            navs.forEach((navId, adder) -> copy.put(navId, adder.sum()));
+            hits.put(route, copy);
+        });
+        snapshot = new Totals(version.incrementAndGet(), hits);
+    }
+
+    private static LongAdder adder(Map<String, Map<Integer, LongAdder>> totals, String routePath, Integer navId) {
+        return totals.computeIfAbsent(routePath, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(navId, k -> new LongAdder());
+    }
+
+    /**
+     * 累计点击快照
+     *
+     * @param version 版本，按点击排序的接口据此生成 ETag
+     * @param hits    发布页面 -> 导航项ID -> 累计点击
+     */
+    public record Totals(long version, Map<String, Map<Integer, Long>> hits) {
+
+        /**
+         * 累计点击
+         *
+         * @param navId     导航项ID
+         * @param routePath 发布页面，默认页为空字符串
+         */
+        public long total(Integer navId, String routePath) {
+            Map<Integer, Long> route = hits.get(routePath == null ? "" : routePath);
+            Long total = route == null ? null : route.get(navId);
+            return total == null ? 0 : total;
+        }
+    }
+
+    private record DayKey(LocalDate date, Integer navId, String routePath) {
+    }
+
+    private static final class Counter {
+        private final LongAdder hits = new LongAdder();
+        /**
+         * 已写入的值，只在 flush 中读写
+         */
+        private long flushed;
+    }
+}
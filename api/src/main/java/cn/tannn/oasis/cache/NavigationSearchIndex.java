@@ -0,0 +1,187 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.controller.vo.NavigationVO;
+import cn.tannn.oasis.utils.SearchTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * 导航项全文检索倒排索引（不可变）
+ * <p> 随 {@link NavigationSnapshot} 一起构建，文档序号就是快照 items 的下标（已按 sort 排序），
+ * 得分相同时按 sort 靠前的优先 </p>
+ * <p> 查询：每个查询词都要命中（AND），得分为各词在命中字段中的最高权重之和 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 19:30
+ */
+public final class NavigationSearchIndex {
+
+    /**
+     * 字段权重
+     */
+    static final int WEIGHT_NAME = 10;
+    static final int WEIGHT_PINYIN = 6;
+    static final int WEIGHT_CATEGORY = 4;
+    static final int WEIGHT_HOST = 3;
+    static final int WEIGHT_REMARK = 2;
+
+    /**
+     * 索引词 -> 倒排表
+     */
+    private final Map<String, Posting> postings;
+
+    private NavigationSearchIndex(Map<String, Posting> postings) {
+        this.postings = postings;
+    }
+
+    /**
+     * 构建索引
+     *
+     * @param items      快照中的导航项（下标即文档序号）
+     * @param termsCache 上一次构建时各导航项的索引词，内容未变化的导航项直接复用，不再分词（会被更新）
+     * @param categories 导航项ID -> 分类名称
+     * @return 索引
+     */
+    static NavigationSearchIndex build(List<NavigationSnapshot.Item> items,
+                                       Map<Integer, DocTerms> termsCache,
+                                       Map<Integer, Set<String>> categories) {
+        Map<String, List<int[]>> lists = new HashMap<>();
+        Map<Integer, DocTerms> reused = new HashMap<>(items.size());
+        for (int doc = 0; doc < items.size(); doc++) {
+            NavigationVO vo = items.get(doc).getVo();
+            Set<String> navCategories = categories.getOrDefault(vo.getId(), Set.of());
+            String signature = signature(vo, navCategories);
+            DocTerms terms = termsCache.get(vo.getId());
+            if (terms == null || !terms.signature.equals(signature)) {
+                terms = DocTerms.of(vo, navCategories, signature);
+            }
+            reused.put(vo.getId(), terms);
+            for (Map.Entry<String, Integer> term : terms.weights.entrySet()) {
+                lists.computeIfAbsent(term.getKey(), k -> new ArrayList<>()).add(new int[]{doc, term.getValue()});
+            }
+        }
+        // 只保留当前快照中的导航项，删除的不再占内存
+        termsCache.clear();
+        termsCache.putAll(reused);
+
+        Map<String, Posting> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((term, entries) -> {
+            int[] docs = new int[entries.size()];
+            byte[] weights = new byte[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                docs[i] = entries.get(i)[0];
+                weights[i] = (byte) entries.get(i)[1];
+            }
+            postings.put(term, new Posting(docs, weights));
+        });
+        return new NavigationSearchIndex(postings);
+    }
+
+    /**
+     * 检索
+     *
+     * @param query   查询
+     * @param docs    文档总数
+     * @param visible 文档是否可见（发布页面过滤）
+     * @param limit   返回条数
+     * @return 命中文档序号，按得分降序、sort 升序
+     */
+    int[] search(String query, int docs, IntPredicate visible, int limit) {
+        List<String> terms = SearchTokenizer.queryTerms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        Collection<String> distinct = terms.size() == 1 ? terms : new LinkedHashSet<>(terms);
+        Posting[] matched = new Posting[distinct.size()];
+        int index = 0;
+        for (String term : distinct) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                // 有一个词没有命中，结果为空
+                return new int[0];
+            }
+            matched[index++] = posting;
+        }
+        // 从最短的倒排表开始，后面的只在已命中的文档上累加
+        Arrays.sort(matched, (a, b) -> Integer.compare(a.docs.length, b.docs.length));
+
+        int[] scores = new int[docs];
+        int[] hits = new int[docs];
+        for (Posting posting : matched) {
+            for (int i = 0; i < posting.docs.length; i++) {
+                int doc = posting.docs[i];
+                scores[doc] += posting.weights[i];
+                hits[doc]++;
+            }
+        }
+
+        // 高 32 位得分，低 32 位反转的文档序号：排序后得分高、sort 靠前的在后面
+        long[] ranked = new long[matched[0].docs.length];
+        int count = 0;
+        for (int doc : matched[0].docs) {
+            if (hits[doc] == matched.length && visible.test(doc)) {
+                ranked[count++] = ((long) scores[doc] << 32) | (Integer.MAX_VALUE - doc);
+            }
+        }
+        Arrays.sort(ranked, 0, count);
+        int size = Math.min(limit, count);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = Integer.MAX_VALUE - (int) ranked[count - 1 - i];
+        }
+        return result;
+    }
+
+    /**
+     * 索引词数量
+     */
+    public int size() {
+        return postings.size();
+    }
+
+    private static String signature(NavigationVO vo, Set<String> categories) {
+        return vo.getName() + '\u0001' + vo.getRemark() + '\u0001' + vo.getUrl() + '\u0001' + categories;
+    }
+
+    /**
+     * 倒排表：文档序号升序，对应的字段权重
+     */
+    private record Posting(int[] docs, byte[] weights) {
+    }
+
+    /**
+     * 单个导航项的索引词，内容签名不变时可复用
+     */
+    static final class DocTerms {
+        private final String signature;
+        private final Map<String, Integer> weights;
+
+        private DocTerms(String signature, Map<String, Integer> weights) {
+            this.signature = signature;
+            this.weights = weights;
+        }
+
+        static DocTerms of(NavigationVO vo, Set<String> categories, String signature) {
+            Map<String, Integer> weights = new HashMap<>();
+            SearchTokenizer.textTerms(vo.getName(), term -> weights.merge(term, WEIGHT_NAME, Math::max));
+            SearchTokenizer.pinyinTerms(vo.getName(), term -> weights.merge(term, WEIGHT_PINYIN, Math::max));
+            for (String category : categories) {
+                SearchTokenizer.textTerms(category, term -> weights.merge(term, WEIGHT_CATEGORY, Math::max));
+                SearchTokenizer.pinyinTerms(category, term -> weights.merge(term, WEIGHT_CATEGORY, Math::max));
+            }
+            SearchTokenizer.hostTerms(vo.getUrl(), term -> weights.merge(term, WEIGHT_HOST, Math::max));
+            SearchTokenizer.textTerms(vo.getRemark(), term -> weights.merge(term, WEIGHT_REMARK, Math::max));
+            return new DocTerms(signature, Collections.unmodifiableMap(weights));
+        }
+    }
+}
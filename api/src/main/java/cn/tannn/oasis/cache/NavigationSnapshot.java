@@ -0,0 +1,258 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.controller.vo.NavigationVO;
+import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.entity.SitePublish;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * 导航数据快照（不可变）
+ * <p> 启用的导航项按 SitePublish.routePath 预先分组，/webs/navs 直接读取，不再查库 </p>
+ * <p> 管理端写操作后由 {@link NavigationSnapshotCache#rebuild()} 整体重建并原子替换 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 10:12
+ */
+@Getter
+public final class NavigationSnapshot {
+
+    /**
+     * 快照版本号，每次重建递增
+     */
+    private final long version;
+
+    /**
+     * 构建时间
+     */
+    private final LocalDateTime buildTime;
+
+    /**
+     * 构建时的数据变更版本号，小于等于它的变更都已包含在快照中
+     */
+    private final long changeVersion;
+
+    /**
+     * 最近一次重置（恢复数据）的变更版本号
+     */
+    private final long resetVersion;
+
+    /**
+     * 默认页的 routePath，没有默认页时为 null
+     */
+    private final String defaultRoutePath;
+
+    /**
+     * 分类（已按 sort 排序）
+     */
+    private final List<NavCategory> categories;
+
+    /**
+     * 启用的发布页面（已按 sort 排序）
+     */
+    private final List<SitePublish> sites;
+
+    /**
+     * 所有启用的导航项（已按 sort、id 排序）
+     */
+    private final List<Item> items;
+
+    /**
+     * 所有启用的导航项ID
+     */
+    private final Set<Integer> navIds;
+
+    /**
+     * 没有指定发布页面的导航项（showPlatform 为空，所有页面可见）
+     */
+    private final List<NavigationVO> publicNavs;
+
+    /**
+     * routePath -> 该发布页面可见的导航项
+     */
+    private final Map<String, List<NavigationVO>> routeNavs;
+
+    /**
+     * 分类名称 -> 该分类下的导航项ID（来自 nav_item_category，含次要分类）
+     */
+    private final Map<String, Set<Integer>> categoryMembers;
+
+    /**
+     * 全文检索索引（name、remark、域名、分类，含中文 bigram 与拼音）
+     */
+    private final NavigationSearchIndex searchIndex;
+
+    /**
+     * 输入联想前缀树：未指定发布页面的导航项
+     */
+    private final NavigationSuggestTrie publicSuggest;
+
+    /**
+     * 输入联想前缀树：routePath -> 该发布页面可见的导航项
+     */
+    private final Map<String, NavigationSuggestTrie> routeSuggest;
+
+    NavigationSnapshot(long version,
+                       long changeVersion,
+                       long resetVersion,
+                       String defaultRoutePath,
+                       List<NavCategory> categories,
+                       List<SitePublish> sites,
+                       List<Item> items,
+                       List<NavigationVO> publicNavs,
+                       Map<String, List<NavigationVO>> routeNavs,
+                       Map<String, Set<Integer>> categoryMembers,
+                       NavigationSearchIndex searchIndex,
+                       NavigationSuggestTrie publicSuggest,
+                       Map<String, NavigationSuggestTrie> routeSuggest) {
+        this.version = version;
+        this.buildTime = LocalDateTime.now();
+        this.changeVersion = changeVersion;
+        this.resetVersion = resetVersion;
+        this.defaultRoutePath = defaultRoutePath;
+        this.categories = List.copyOf(categories);
+        this.sites = List.copyOf(sites);
+        this.items = List.copyOf(items);
+        this.navIds = items.stream().map(item -> item.getVo().getId()).collect(Collectors.toUnmodifiableSet());
+        this.publicNavs = List.copyOf(publicNavs);
+        this.routeNavs = Map.copyOf(routeNavs);
+        this.categoryMembers = Map.copyOf(categoryMembers);
+        this.searchIndex = searchIndex;
+        this.publicSuggest = publicSuggest;
+        this.routeSuggest = Map.copyOf(routeSuggest);
+    }
+
+    /**
+     * 导航项是否属于分类（含次要分类）
+     *
+     * @param navId    导航项ID
+     * @param category 分类名称
+     */
+    public boolean inCategory(Integer navId, String category) {
+        Set<Integer> members = categoryMembers.get(category);
+        return members != null && members.contains(navId);
+    }
+
+    /**
+     * 获取发布页面可见的导航项
+     * <p> routePath 为空时使用默认页，没有默认页则只返回未指定发布页面的导航项 </p>
+     *
+     * @param routePath 路由路径
+     * @return 导航项（只读）
+     */
+    public List<NavigationVO> navs(String routePath) {
+        String route = StringUtils.hasText(routePath) ? routePath : defaultRoutePath;
+        if (!StringUtils.hasText(route)) {
+            return publicNavs;
+        }
+        List<NavigationVO> navs = routeNavs.get(route);
+        if (navs != null) {
+            return navs;
+        }
+        // 不是已配置的发布页面，直接在内存里过滤
+        return items.stream()
+                .filter(item -> item.visibleOn(route))
+                .map(Item::getVo)
+                .toList();
+    }
+
+    /**
+     * 导航项是否在快照中（启用）
+     *
+     * @param navId 导航项ID
+     */
+    public boolean containsNav(Integer navId) {
+        return navIds.contains(navId);
+    }
+
+    /**
+     * 是否已配置的发布页面
+     *
+     * @param routePath 路由路径
+     */
+    public boolean isRoute(String routePath) {
+        return routeNavs.containsKey(routePath);
+    }
+
+    /**
+     * 全文检索发布页面可见的导航项
+     * <p> routePath 为空时与 {@link #navs(String)} 一致使用默认页 </p>
+     *
+     * @param query     查询
+     * @param routePath 路由路径
+     * @param limit     返回条数
+     * @return 按相关度排序的导航项
+     */
+    public List<NavigationVO> search(String query, String routePath, int limit) {
+        String route = StringUtils.hasText(routePath) ? routePath : defaultRoutePath;
+        IntPredicate visible = StringUtils.hasText(route)
+                ? doc -> items.get(doc).visibleOn(route)
+                : doc -> items.get(doc).getPlatforms().isEmpty();
+        int[] docs = searchIndex.search(query, items.size(), visible, limit);
+        List<NavigationVO> result = new ArrayList<>(docs.length);
+        for (int doc : docs) {
+            result.add(items.get(doc).getVo());
+        }
+        return result;
+    }
+
+    /**
+     * 输入联想：名称、拼音、域名以 prefix 开头的导航项，按 sort 取前 limit 个
+     * <p> 不是已配置的发布页面时只联想未指定发布页面的导航项 </p>
+     *
+     * @param prefix    前缀
+     * @param routePath 路由路径，为空时使用默认页
+     * @param limit     返回条数，不超过 {@link NavigationSuggestTrie#TOP_N}
+     * @return 导航项
+     */
+    public List<NavigationVO> suggest(String prefix, String routePath, int limit) {
+        String route = StringUtils.hasText(routePath) ? routePath : defaultRoutePath;
+        NavigationSuggestTrie trie = StringUtils.hasText(route)
+                ? routeSuggest.getOrDefault(route, publicSuggest)
+                : publicSuggest;
+        int node = trie.find(prefix.trim().toLowerCase(Locale.ROOT));
+        if (node < 0) {
+            return List.of();
+        }
+        int size = Math.min(limit, trie.topCount(node));
+        List<NavigationVO> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(items.get(trie.topDoc(node, i)).getVo());
+        }
+        return result;
+    }
+
+    /**
+     * 快照中的导航项
+     */
+    @Getter
+    public static final class Item {
+        private final NavigationVO vo;
+        /**
+         * 发布页面（来自 nav_item_platform），为空表示所有页面可见
+         */
+        private final Set<String> platforms;
+
+        Item(NavigationVO vo, Set<String> platforms) {
+            this.vo = vo;
+            this.platforms = platforms == null ? Set.of() : Set.copyOf(platforms);
+        }
+
+        /**
+         * 没有指定发布页面，或者发布页面中有 routePath（精确匹配，dev 不会匹配 devops）
+         */
+        boolean visibleOn(String routePath) {
+            return platforms.isEmpty() || platforms.contains(routePath);
+        }
+    }
+}
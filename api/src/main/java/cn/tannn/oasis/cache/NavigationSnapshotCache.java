@@ -0,0 +1,157 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.jdevelops.jpa.request.Sorteds;
+import cn.tannn.oasis.controller.vo.NavigationVO;
+import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.entity.Navigation;
+import cn.tannn.oasis.entity.SitePublish;
+import cn.tannn.oasis.service.NavCategoryService;
+import cn.tannn.oasis.service.NavChangeLogService;
+import cn.tannn.oasis.service.NavigationService;
+import cn.tannn.oasis.service.SitePublishService;
+import cn.tannn.oasis.utils.NavCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 导航数据快照缓存
+ * <p> 读：无锁读取 volatile 引用 </p>
+ * <p> 写：管理端修改导航、分类、发布页面后调用 {@link #rebuild()}，构建完整的新快照后整体替换 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 10:12
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NavigationSnapshotCache {
+
+    /**
+     * 与 NavigationSitePage 默认排序一致：sort 正序，相同时按 id
+     * <p> 游标分页依赖这个顺序，需与 {@link NavCursor#seek}、NavigationDao.SEEK_ORDER 保持一致 </p>
+     */
+    public static final Comparator<Navigation> NAV_ORDER = Comparator
+            .comparing(Navigation::getSort, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Navigation::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final NavigationService navigationService;
+    private final NavCategoryService navCategoryService;
+    private final SitePublishService sitePublishService;
+    private final NavChangeLogService navChangeLogService;
+    private final DataVersion dataVersion;
+
+    private final AtomicLong versions = new AtomicLong();
+    /**
+     * 各导航项的检索词，重建时内容未变化的导航项直接复用（只在 rebuild 中访问）
+     */
+    private final Map<Integer, NavigationSearchIndex.DocTerms> searchTerms = new HashMap<>();
+    private volatile NavigationSnapshot current;
+
+    /**
+     * 获取当前快照，未初始化时先构建
+     */
+    public NavigationSnapshot get() {
+        NavigationSnapshot snapshot = current;
+        if (snapshot == null) {
+            snapshot = rebuild();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 重新加载数据并替换快照，同时递增 {@link DataVersion}
+     * <p> synchronized 保证并发写入时快照按顺序生成，读请求始终看到完整的快照 </p>
+     */
+    public synchronized NavigationSnapshot rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        // 先读变更版本号再读数据：变更记录在数据提交后才写入，读到的版本号之前的变更一定能在下面读到
+        long resetVersion = navChangeLogService.resetVersion();
+        long changeVersion = navChangeLogService.version();
+
+        Sorteds sorteds = Sorteds.defs();
+        sorteds.fixSort(0, "sort");
+        List<NavCategory> categories = navCategoryService.finds(sorteds);
+
+        List<Navigation> navigations = navigationService.finds().stream()
+                .filter(nav -> Integer.valueOf(1).equals(nav.getStatus()))
+                .sorted(NAV_ORDER)
+                .toList();
+
+        Map<Integer, Set<String>> platformIndex = navigationService.platformIndex();
+        List<NavigationSnapshot.Item> items = new ArrayList<>(navigations.size());
+        List<NavigationVO> publicNavs = new ArrayList<>();
+        for (Navigation nav : navigations) {
+            NavigationVO vo = NavigationVO.to(nav);
+            Set<String> platforms = platformIndex.get(nav.getId());
+            items.add(new NavigationSnapshot.Item(vo, platforms));
+            if (platforms == null) {
+                publicNavs.add(vo);
+            }
+        }
+
+        String[][] suggestKeys = new String[items.size()][];
+        for (int i = 0; i < items.size(); i++) {
+            suggestKeys[i] = NavigationSuggestTrie.keys(items.get(i).getVo());
+        }
+        NavigationSuggestTrie publicSuggest = NavigationSuggestTrie.build(suggestKeys,
+                doc -> items.get(doc).getPlatforms().isEmpty());
+
+        Map<String, List<NavigationVO>> routeNavs = new HashMap<>();
+        Map<String, NavigationSuggestTrie> routeSuggest = new HashMap<>();
+        List<SitePublish> sitePublishes = sitePublishService.finds();
+        for (SitePublish sitePublish : sitePublishes) {
+            String routePath = sitePublish.getRoutePath();
+            routeNavs.put(routePath, items.stream()
+                    .filter(item -> item.visibleOn(routePath))
+                    .map(NavigationSnapshot.Item::getVo)
+                    .toList());
+            routeSuggest.put(routePath, NavigationSuggestTrie.build(suggestKeys,
+                    doc -> items.get(doc).visibleOn(routePath)));
+        }
+
+        Map<Integer, Set<String>> categoryIndex = navigationService.categoryIndex();
+        Map<String, Set<Integer>> categoryMembers = new HashMap<>();
+        categoryIndex.forEach((navId, names) -> names.forEach(name ->
+                categoryMembers.computeIfAbsent(name, k -> new HashSet<>()).add(navId)));
+        categoryMembers.replaceAll((name, navIds) -> Set.copyOf(navIds));
+
+        SitePublish defaultPage = sitePublishService.getDefaultPage();
+        NavigationSnapshot snapshot = new NavigationSnapshot(
+                versions.incrementAndGet(),
+                changeVersion,
+                resetVersion,
+                defaultPage == null ? null : defaultPage.getRoutePath(),
+                categories,
+                sitePublishes.stream()
+                        .filter(site -> Boolean.TRUE.equals(site.getEnabled()))
+                        .sorted(Comparator.comparing(SitePublish::getSort, Comparator.nullsLast(Comparator.naturalOrder())))
+                        .toList(),
+                items,
+                publicNavs,
+                routeNavs,
+                categoryMembers,
+                NavigationSearchIndex.build(items, searchTerms, categoryIndex),
+                publicSuggest,
+                routeSuggest);
+        this.current = snapshot;
+        // 导航、分类、发布页面都会触发重建，公开接口的 ETag 随之失效
+        dataVersion.bump();
+
+        log.info("导航快照已重建，版本: {}，导航项: {}，发布页面: {}，检索词: {}，耗时: {} ms",
+                snapshot.getVersion(), items.size(), routeNavs.size(), snapshot.getSearchIndex().size(),
+                System.currentTimeMillis() - startTime);
+        return snapshot;
+    }
+}
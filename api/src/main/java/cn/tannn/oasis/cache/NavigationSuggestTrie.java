@@ -0,0 +1,258 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.controller.vo.NavigationVO;
+import cn.tannn.oasis.utils.SearchTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * 输入联想前缀树（不可变，紧凑存储）
+ * <p> 键：名称、名称中每个单词开头、名称拼音全拼/首字母、域名；值：文档序号（快照 items 下标，即 sort 顺序） </p>
+ * <p> 每个节点预先保存该前缀下 sort 最靠前的 {@link #TOP_N} 个文档，查询只需沿前缀走到节点，不用再收集子树 </p>
+ * <p> 节点按层序存放在几个平铺数组中，子节点连续且按字符升序，查找子节点用二分，查询过程不创建对象 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 20:40
+ */
+public final class NavigationSuggestTrie {
+
+    /**
+     * 每个节点保留的文档数，也是单次联想最多返回的条数
+     */
+    public static final int TOP_N = 10;
+
+    /**
+     * 键最长长度，更长的部分不再建节点；前缀超过这个长度无法确认是否匹配，直接不返回结果
+     */
+    public static final int MAX_KEY_LENGTH = 32;
+
+    /**
+     * 到达该节点的字符（根节点无意义）
+     */
+    private final char[] labels;
+    /**
+     * 第一个子节点的下标
+     */
+    private final int[] childStart;
+    /**
+     * 子节点数量
+     */
+    private final int[] childCount;
+    /**
+     * 节点的文档在 {@link #topDocs} 中的起始位置
+     */
+    private final int[] topStart;
+    /**
+     * 节点的文档数量（不超过 TOP_N）
+     */
+    private final byte[] topCount;
+    private final int[] topDocs;
+
+    private NavigationSuggestTrie(char[] labels, int[] childStart, int[] childCount,
+                                  int[] topStart, byte[] topCount, int[] topDocs) {
+        this.labels = labels;
+        this.childStart = childStart;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topCount = topCount;
+        this.topDocs = topDocs;
+    }
+
+    /**
+     * 导航项的联想键（小写）
+     *
+     * @param vo 导航项
+     * @return 联想键
+     */
+    static String[] keys(NavigationVO vo) {
+        Set<String> keys = new LinkedHashSet<>();
+        String name = vo.getName() == null ? "" : vo.getName().trim().toLowerCase(Locale.ROOT);
+        if (!name.isEmpty()) {
+            keys.add(name);
+            // 名称中间的单词也能联想：码云 Gitee 输入 git 也能出来
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isLetterOrDigit(name.charAt(i - 1)) && Character.isLetterOrDigit(name.charAt(i))) {
+                    keys.add(name.substring(i));
+                }
+            }
+        }
+        String[] pinyin = SearchTokenizer.pinyinForms(name);
+        if (pinyin != null) {
+            keys.add(pinyin[0]);
+            keys.add(pinyin[1]);
+        }
+        String host = SearchTokenizer.host(vo.getUrl());
+        if (host != null) {
+            keys.add(host);
+        }
+        keys.remove("");
+        return keys.toArray(new String[0]);
+    }
+
+    /**
+     * 构建前缀树
+     *
+     * @param docKeys 每个文档的联想键（下标即文档序号，按 sort 排序）
+     * @param include 文档是否收录（发布页面过滤）
+     * @return 前缀树
+     */
+    static NavigationSuggestTrie build(String[][] docKeys, IntPredicate include) {
+        BuildNode root = new BuildNode('\0');
+        int nodes = 1;
+        // 文档按序号升序插入，节点只需追加前 TOP_N 个即可
+        for (int doc = 0; doc < docKeys.length; doc++) {
+            if (!include.test(doc)) {
+                continue;
+            }
+            for (String key : docKeys[doc]) {
+                BuildNode node = root;
+                int length = Math.min(key.length(), MAX_KEY_LENGTH);
+                for (int i = 0; i < length; i++) {
+                    BuildNode child = node.child(key.charAt(i));
+                    if (child == null) {
+                        child = node.addChild(key.charAt(i));
+                        nodes++;
+                    }
+                    node = child;
+                    node.add(doc);
+                }
+            }
+        }
+        return compile(root, nodes);
+    }
+
+    /**
+     * 层序展开成平铺数组
+     */
+    private static NavigationSuggestTrie compile(BuildNode root, int nodes) {
+        char[] labels = new char[nodes];
+        int[] childStart = new int[nodes];
+        int[] childCount = new int[nodes];
+        int[] topStart = new int[nodes];
+        byte[] topCount = new byte[nodes];
+        int totalDocs = 0;
+
+        List<BuildNode> order = new ArrayList<>(nodes);
+        order.add(root);
+        for (int index = 0; index < order.size(); index++) {
+            BuildNode node = order.get(index);
+            node.children.sort((a, b) -> Character.compare(a.label, b.label));
+            labels[index] = node.label;
+            childStart[index] = order.size();
+            childCount[index] = node.children.size();
+            topStart[index] = totalDocs;
+            topCount[index] = (byte) node.count;
+            totalDocs += node.count;
+            order.addAll(node.children);
+        }
+
+        int[] topDocs = new int[totalDocs];
+        for (int index = 0; index < order.size(); index++) {
+            BuildNode node = order.get(index);
+            System.arraycopy(node.docs, 0, topDocs, topStart[index], node.count);
+        }
+        return new NavigationSuggestTrie(labels, childStart, childCount, topStart, topCount, topDocs);
+    }
+
+    /**
+     * 查找前缀对应的节点
+     *
+     * @param prefix 前缀（小写）
+     * @return 节点下标，不存在或超过 {@link #MAX_KEY_LENGTH} 返回 -1
+     */
+    int find(String prefix) {
+        if (prefix.length() > MAX_KEY_LENGTH) {
+            return -1;
+        }
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            node = child(node, prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * 节点保存的文档数
+     */
+    int topCount(int node) {
+        return topCount[node];
+    }
+
+    /**
+     * 节点的第 i 个文档（按 sort 排序）
+     */
+    int topDoc(int node, int i) {
+        return topDocs[topStart[node] + i];
+    }
+
+    /**
+     * 节点数量
+     */
+    public int size() {
+        return labels.length;
+    }
+
+    private int child(int node, char c) {
+        int low = childStart[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 构建时使用的节点
+     */
+    private static final class BuildNode {
+        private final char label;
+        private final List<BuildNode> children = new ArrayList<>(2);
+        private int[] docs = new int[0];
+        private int count;
+
+        BuildNode(char label) {
+            this.label = label;
+        }
+
+        BuildNode child(char c) {
+            for (BuildNode child : children) {
+                if (child.label == c) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        BuildNode addChild(char c) {
+            BuildNode child = new BuildNode(c);
+            children.add(child);
+            return child;
+        }
+
+        void add(int doc) {
+            // 同一个文档的多个键经过同一节点时只记一次
+            if (count == TOP_N || (count > 0 && docs[count - 1] == doc)) {
+                return;
+            }
+            if (count == docs.length) {
+                docs = Arrays.copyOf(docs, Math.min(TOP_N, Math.max(2, count * 2)));
+            }
+            docs[count++] = doc;
+        }
+    }
+}
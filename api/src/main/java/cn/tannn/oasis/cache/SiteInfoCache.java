@@ -0,0 +1,104 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.config.DefaultSysConfig;
+import cn.tannn.oasis.controller.vo.SiteInfo;
+import cn.tannn.oasis.entity.SitePublish;
+import cn.tannn.oasis.entity.SysConfigs;
+import cn.tannn.oasis.service.SitePublishService;
+import cn.tannn.oasis.service.SysConfigsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 站点信息缓存
+ * <p> 每个页面首先请求 /webs/site，这里按 routePath 预先算好系统配置 + 发布页面覆盖后的结果，请求时只查 map </p>
+ * <p> 写：系统配置、发布页面变更以及数据恢复后调用 {@link #rebuild()}，整体替换 </p>
+ *
+ * @author <a href="https://t.tannn.cn/">tan</a>
+ * @version V1.0
+ * @date 2026/10/18 18:20
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SiteInfoCache {
+
+    private final SysConfigsService sysConfigsService;
+    private final SitePublishService sitePublishService;
+    private final DefaultSysConfig defaultSysConfig;
+    private final DataVersion dataVersion;
+
+    private volatile Resolved current;
+
+    /**
+     * 获取站点信息
+     *
+     * @param routePath 路由路径，为空时返回默认页的站点信息
+     * @return 站点信息（共享实例，不要修改）
+     */
+    public SiteInfo get(String routePath) {
+        Resolved resolved = current;
+        if (resolved == null) {
+            rebuild();
+            resolved = current;
+        }
+        if (!StringUtils.hasText(routePath)) {
+            return resolved.defaultSite;
+        }
+        // 不存在或已禁用的发布页面使用系统配置
+        return resolved.routes.getOrDefault(routePath, resolved.base);
+    }
+
+    /**
+     * 重新计算所有发布页面的站点信息，同时递增 {@link DataVersion}
+     */
+    public synchronized void rebuild() {
+        Resolved resolved = resolve();
+        this.current = resolved;
+        // 站点信息变化，公开接口的 ETag 失效
+        dataVersion.bump();
+        log.info("站点信息缓存已重建，发布页面: {}", resolved.routes.size());
+    }
+
+    private Resolved resolve() {
+        SysConfigs sysConfig = sysConfigsService.findOnly("configKey", "MAIN")
+                .orElseGet(() -> SysConfigs.newInstance(defaultSysConfig));
+        SiteInfo base = SiteInfo.to(sysConfig);
+
+        Map<String, SiteInfo> routes = new HashMap<>();
+        for (SitePublish sitePublish : sitePublishService.listEnabled()) {
+            routes.put(sitePublish.getRoutePath(), override(sysConfig, sitePublish));
+        }
+
+        SitePublish defaultPage = sitePublishService.getDefaultPage();
+        SiteInfo defaultSite = defaultPage != null && Boolean.TRUE.equals(defaultPage.getEnabled())
+                ? override(sysConfig, defaultPage)
+                : base;
+
+        return new Resolved(base, defaultSite, Map.copyOf(routes));
+    }
+
+    /**
+     * 使用发布页面的 hideAdminEntry 覆盖系统配置
+     */
+    private static SiteInfo override(SysConfigs sysConfig, SitePublish sitePublish) {
+        SiteInfo siteInfo = SiteInfo.to(sysConfig);
+        siteInfo.setHideAdminEntry(Boolean.TRUE.equals(sitePublish.getHideAdminEntry()) ? 1 : 0);
+        return siteInfo;
+    }
+
+    /**
+     * 计算结果
+     *
+     * @param base        系统配置（未被覆盖）
+     * @param defaultSite 默认页（不带 routePath 时使用），单独存放避免与同名 routePath 冲突
+     * @param routes      启用的发布页面 routePath -> 站点信息
+     */
+    private record Resolved(SiteInfo base, SiteInfo defaultSite, Map<String, SiteInfo> routes) {
+    }
+}
@@ -0,0 +1,54 @@
+package cn.tannn.oasis.config;
+
+import cn.tannn.oasis.utils.ColumnarModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * 列式 JSON 消息转换器
+ * <p> 请求头 Accept 带上 {@link #MEDIA_TYPE} 时按 {@link ColumnarModule} 输出，对象列表只写一次字段名；
+ * 不带的照常输出 JSON </p>
+ * <p> 媒体类型不用 +json 后缀：默认 JSON 转换器支持 application/*+json，会抢先按普通 JSON 输出 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+public class ColumnarHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.oasis.columnar";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    /**
+     * @param objectMapper 系统的 ObjectMapper，复制一份后注册 {@link ColumnarModule}，其余配置保持一致
+     */
+    public ColumnarHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper.copy().registerModule(new ColumnarModule()));
+        setSupportedMediaTypes(List.of(MEDIA_TYPE));
+    }
+
+    /**
+     * 请求是否要求列式格式
+     *
+     * @param request 请求
+     * @return Accept 中明确带有 {@link #MEDIA_TYPE}（q 不为 0）
+     */
+    public static boolean accepts(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (!StringUtils.hasText(accept) || !accept.contains(MEDIA_TYPE_VALUE)) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> type.equalsTypeAndSubtype(MEDIA_TYPE) && type.getQualityValue() > 0);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
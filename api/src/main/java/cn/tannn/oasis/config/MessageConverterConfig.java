@@ -0,0 +1,31 @@
+package cn.tannn.oasis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 消息转换器配置
+ * <p> 在默认转换器之后追加 {@link ColumnarHttpMessageConverter}：Accept 为 * / * 或 application/json 时仍然选中默认 JSON，
+ * 只有明确要求列式格式才会用到 </p>
+ * <p> 不注册成 bean：Spring Boot 会把 MappingJackson2HttpMessageConverter 子类的 bean 当作默认 JSON 转换器的替换 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ColumnarHttpMessageConverter(objectMapper));
+    }
+}
@@ -0,0 +1,167 @@
+package cn.tannn.oasis.config;
+
+import cn.tannn.oasis.controller.SpaController;
+import cn.tannn.oasis.utils.RoutePrefixTrie;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SPA 前端路由转发过滤器
+ * <p>
+ * 前端路由（如 /admin/nav、/p/xxx）在后端没有对应的处理器，以前要先走一遍静态资源查找、
+ * 抛出 NoResourceFoundException 再由异常处理器转发，每次导航都要生成一次异常栈。
+ * 现在在进入 DispatcherServlet 之前判断：不是后端路由、也不是静态文件的 GET 请求，直接转发到 /index.html。
+ * </p>
+ * <p>
+ * 后端路由前缀在容器启动完成后从 RequestMappingHandlerMapping 中已注册的映射
+ * （各 @PathRestController 以及 springdoc 等）提取，编译成 {@link RoutePrefixTrie}，
+ * 新增控制器不需要再维护硬编码列表。
+ * </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Slf4j
+@Component
+public class SpaForwardFilter extends OncePerRequestFilter {
+
+    private static final String INDEX_HTML = "/index.html";
+
+    /**
+     * 不经过 RequestMappingHandlerMapping 的后端路径（静态资源处理器、容器错误页）
+     */
+    private static final String[] RESERVED_PREFIXES = {
+            "api", "error", "doc.html", "swagger-ui", "swagger-resources", "webjars", "favicon.ico"
+    };
+
+    /**
+     * 静态文件扩展名：最后一段以这些结尾的请求交给资源处理器（不存在时返回 404），
+     * 其他带点的路径（如 /docs/v1.2）仍是前端路由
+     */
+    private static final Set<String> STATIC_EXTENSIONS = Set.of(
+            "js", "css", "png", "jpg", "jpeg", "gif", "svg", "ico", "woff", "woff2", "ttf", "eot",
+            "map", "json", "txt", "xml", "html"
+    );
+
+    /**
+     * 后端路由前缀，容器启动完成前为 null（此时不做转发）
+     */
+    private volatile RoutePrefixTrie backendRoutes;
+
+    /**
+     * 容器启动完成后编译后端路由前缀
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        RequestMappingHandlerMapping mapping = event.getApplicationContext()
+                .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        this.backendRoutes = compile(mapping.getHandlerMethods());
+        log.info("SPA 路由转发已就绪，后端路由前缀 {} 个", backendRoutes.size());
+    }
+
+    /**
+     * 提取每个映射的第一段作为后端路由前缀
+     *
+     * @param handlerMethods 已注册的映射
+     * @return 前缀树
+     */
+    static RoutePrefixTrie compile(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        RoutePrefixTrie trie = new RoutePrefixTrie();
+        handlerMethods.forEach((info, handler) -> {
+            // SpaController 本身就是前端路由
+            if (SpaController.class.isAssignableFrom(handler.getBeanType())) {
+                return;
+            }
+            for (String pattern : info.getPatternValues()) {
+                String root = rootSegment(pattern);
+                if (root != null) {
+                    trie.add(root);
+                }
+            }
+        });
+        for (String dir : StaticResourceConfig.HASHED_ASSET_DIRS) {
+            trie.add(dir);
+        }
+        for (String prefix : RESERVED_PREFIXES) {
+            trie.add(prefix);
+        }
+        return trie;
+    }
+
+    /**
+     * 路径的第一段，通配符、路径变量开头的返回 null
+     */
+    static String rootSegment(String pattern) {
+        int start = pattern.startsWith("/") ? 1 : 0;
+        int end = pattern.indexOf('/', start);
+        String root = end < 0 ? pattern.substring(start) : pattern.substring(start, end);
+        if (root.isEmpty() || root.indexOf('{') >= 0 || root.indexOf('*') >= 0 || root.indexOf('?') >= 0) {
+            return null;
+        }
+        return root;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RoutePrefixTrie routes = backendRoutes;
+        if (routes != null && isSpaRoute(request, routes)) {
+            request.getRequestDispatcher(INDEX_HTML).forward(request, response);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * 是否前端路由：GET/HEAD、不是根路径、不在后端路由前缀下、最后一段不是静态文件扩展名
+     */
+    static boolean isSpaRoute(HttpServletRequest request, RoutePrefixTrie routes) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return isSpaPath(path, routes);
+    }
+
+    /**
+     * 是否前端路由路径
+     *
+     * @param path 不含 context path 的请求路径
+     * @param routes 后端路由前缀
+     */
+    public static boolean isSpaPath(String path, RoutePrefixTrie routes) {
+        // 根路径由 SpaController 处理
+        if (path.length() <= 1) {
+            return false;
+        }
+        return !isStaticFile(path) && !routes.matches(path);
+    }
+
+    /**
+     * 最后一段是否以 {@link #STATIC_EXTENSIONS} 中的扩展名结尾
+     */
+    static boolean isStaticFile(String path) {
+        int dot = path.lastIndexOf('.');
+        if (dot < 0 || dot < path.lastIndexOf('/')) {
+            return false;
+        }
+        return STATIC_EXTENSIONS.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,61 @@
+package cn.tannn.oasis.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 前端构建产物的静态资源配置
+ * <p>
+ * vite 构建输出的 js/css/图片等文件名都带内容哈希（见 reactWeb/vite.config.ts 的 rollupOptions），
+ * 内容变化文件名就变，因此可以放心让浏览器缓存一年且不再校验（immutable）。
+ * 构建时同时生成了 .br/.gz 预压缩文件，资源链按请求的 Accept-Encoding 优先返回预压缩版本。
+ * </p>
+ * <p>
+ * index.html 不在这里处理，它由 {@link cn.tannn.oasis.cache.IndexHtmlCache} 常驻内存、每次协商校验，
+ * 保证发版后浏览器能拿到引用新哈希文件的入口页。
+ * </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    /**
+     * 前端构建产物所在目录
+     */
+    public static final String STATIC_LOCATION = "classpath:/static/";
+
+    /**
+     * 带内容哈希的资源目录（vite: js/[name]-[hash].js、[ext]/[name]-[hash].[ext]）
+     */
+    static final String[] HASHED_ASSET_DIRS = {
+            "js", "css", "assets",
+            "png", "jpg", "jpeg", "gif", "svg", "webp", "ico",
+            "woff", "woff2", "ttf", "eot"
+    };
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        String[] patterns = Arrays.stream(HASHED_ASSET_DIRS)
+                .map(dir -> "/" + dir + "/**")
+                .toArray(String[]::new);
+        registry.addResourceHandler(patterns)
+                .addResourceLocations(STATIC_LOCATION)
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                // 不用 Last-Modified：fat jar 里的时间是打包时间，对带哈希的文件没有意义
+                .setUseLastModified(false)
+                // 缓存解析结果，避免每次请求都去 jar 里查找 .br/.gz 变体
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
+    }
+}
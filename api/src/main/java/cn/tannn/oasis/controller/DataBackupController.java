@@ -2,9 +2,16 @@ package cn.tannn.oasis.controller;
 
 import cn.tannn.jdevelops.annotations.web.mapping.PathRestController;
 import cn.tannn.jdevelops.result.response.ResultVO;
+import cn.tannn.oasis.cache.NavVisitCounter;
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
+import cn.tannn.oasis.cache.SiteInfoCache;
 import cn.tannn.oasis.controller.dto.BackupConfigAdd;
 import cn.tannn.oasis.entity.BackupConfig;
 import cn.tannn.oasis.service.BackupConfigService;
+import cn.tannn.oasis.service.NavChangeLogService;
+import cn.tannn.oasis.service.NavIconService;
+import cn.tannn.oasis.service.NavigationService;
+import cn.tannn.oasis.timer.BackupResult;
 import cn.tannn.oasis.timer.DataBackupScheduler;
 import cn.tannn.oasis.utils.DatabaseConfig;
 import cn.tannn.oasis.utils.DbTransferUtil;
@@ -24,8 +31,6 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
-import static cn.tannn.oasis.timer.DataBackupScheduler.BACKUP_TABLES;
-
 /**
  * 数据备份管理
  *
@@ -41,10 +46,21 @@ public class DataBackupController {
 
     private final BackupConfigService backupConfigService;
     private final DataBackupScheduler scheduler;
+    private final NavigationSnapshotCache navigationSnapshotCache;
+    private final SiteInfoCache siteInfoCache;
+    private final NavVisitCounter navVisitCounter;
+    private final NavigationService navigationService;
+    private final NavChangeLogService navChangeLogService;
+    private final NavIconService navIconService;
     @Autowired
     private ConfigurableEnvironment environment;
 
     public void init() {
+        try {
+            DbTransferUtil.fillChangeMarkers(DatabaseConfig.fromEnvironmentH2(environment));
+        } catch (Exception e) {
+            log.error("补齐变更标记失败", e);
+        }
         try {
             BackupConfig config = backupConfigService.getEnabledConfig();
             if(config==null){
@@ -128,16 +144,16 @@ public class DataBackupController {
         }
     }
 
-    @Operation(summary = "立即执行一次备份")
+    @Operation(summary = "立即执行一次备份", description = "full=true 时删表重建全量导入，否则按配置的模式执行")
     @PostMapping("/execute")
-    public ResultVO<String> executeOnce() {
+    public ResultVO<String> executeOnce(@RequestParam(value = "full", required = false, defaultValue = "false") boolean full) {
         try {
             BackupConfig config = backupConfigService.getConfig();
             if (config == null) {
                 return ResultVO.failMessage("未找到备份配置");
             }
 
-            scheduler.executeOnce(config, DatabaseConfig.fromEnvironmentH2(environment));
+            scheduler.executeOnce(config, DatabaseConfig.fromEnvironmentH2(environment), full);
             log.info("手动备份任务已提交执行");
             return ResultVO.success("备份任务已开始执行");
         } catch (Exception e) {
@@ -159,6 +175,8 @@ public class DataBackupController {
                 status.put("schedule", currentConfig.getSchedule());
                 status.put("targetUrl", maskPassword(currentConfig.getUrl()));
             }
+            // 最近一次备份的汇总及每张表的耗时、结果
+            status.put("lastBackup", scheduler.getLastResult());
 
             return ResultVO.success(status);
         } catch (Exception e) {
@@ -205,16 +223,23 @@ public class DataBackupController {
             if (config == null) {
                 return ResultVO.failMessage("未找到备份配置");
             }
-            for (String tableName : BACKUP_TABLES) {
-                try {
-                    // 从MySQL恢复到H2（方向相反）
-                    DbTransferUtil.transferTable(DatabaseConfig.createMysqlConfig(config), DatabaseConfig.fromEnvironmentH2(environment), tableName);
-                    log.debug("表 {} 备份完成", tableName);
-                } catch (Exception e) {
-                    log.error("表 {} 备份失败", tableName, e);
-                }
+            // 从MySQL恢复到H2（方向相反）
+            // 恢复始终全量，保留主键写入，导入后重置 H2 的自增序列
+            BackupResult result = scheduler.restore(config, DatabaseConfig.fromEnvironmentH2(environment));
+            // 恢复会直接改写 H2 中的数据，需要重建发布页面、分类关联和导航快照
+            navigationService.syncPlatforms();
+            navigationService.syncCategories();
+            // 恢复的数据没有变更记录，已同步的客户端需要全量同步
+            navChangeLogService.reset();
+            navigationSnapshotCache.rebuild();
+            siteInfoCache.rebuild();
+            navVisitCounter.load();
+            navIconService.clearCache();
+            log.info("MySQL数据恢复完成，成功: {}，失败: {}，耗时: {} ms",
+                    result.getSuccessTables(), result.getFailedTables(), result.getCostTime());
+            if (!result.isSuccess()) {
+                return ResultVO.failMessage("数据恢复部分失败，失败表数: " + result.getFailedTables());
             }
-            log.info("MySQL数据恢复任务已提交执行");
             return ResultVO.success("数据恢复任务完成");
         } catch (Exception e) {
             log.error("执行数据恢复失败", e);
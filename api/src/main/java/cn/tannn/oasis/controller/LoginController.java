@@ -6,6 +6,7 @@ import cn.tannn.jdevelops.jwt.standalone.pojo.TokenSign;
 import cn.tannn.jdevelops.jwt.standalone.service.LoginService;
 import cn.tannn.jdevelops.result.response.ResultVO;
 import cn.tannn.jdevelops.utils.jwt.module.SignEntity;
+import cn.tannn.oasis.cache.SiteInfoCache;
 import cn.tannn.oasis.config.DefaultSysConfig;
 import cn.tannn.oasis.controller.dto.LoginPassword;
 import cn.tannn.oasis.entity.SysConfigs;
@@ -36,6 +37,7 @@ public class LoginController {
     private final SysConfigsService sysConfigsService;
     private final LoginService loginService;
     private final DefaultSysConfig defaultSysConfig;
+    private final SiteInfoCache siteInfoCache;
 
     @Operation(summary = "登录")
     @ApiMapping(value = "/login",checkToken = false,method = RequestMethod.POST)
@@ -56,6 +58,7 @@ public class LoginController {
         }else {
             SysConfigs bean = SysConfigs.newInstance(defaultSysConfig);
             sysConfigsService.saveOne(bean);
+            siteInfoCache.rebuild();
             log.info("完成系统配置初始化");
             return ResultVO.success("完成初始化",true);
         }
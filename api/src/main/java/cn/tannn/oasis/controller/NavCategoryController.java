@@ -5,6 +5,7 @@ import cn.tannn.jdevelops.annotations.web.mapping.PathRestController;
 import cn.tannn.jdevelops.exception.built.BusinessException;
 import cn.tannn.jdevelops.jpa.request.Sorteds;
 import cn.tannn.jdevelops.result.response.ResultVO;
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
 import cn.tannn.oasis.controller.dto.NavCategoryAdd;
 import cn.tannn.oasis.entity.NavCategory;
 import cn.tannn.oasis.service.NavCategoryService;
@@ -18,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 导航分类表
@@ -33,11 +35,15 @@ public class NavCategoryController {
 
     private final NavCategoryService navCategoryService;
     private final NavigationService navigationService;
+    private final NavigationSnapshotCache navigationSnapshotCache;
 
     @Operation(summary = "新增导航分类")
     @PostMapping("append")
     public ResultVO<String> append(@RequestBody @Valid NavCategoryAdd append) {
         navCategoryService.create(append);
+        // 已有导航项可能提前写了这个分类名称，只重建这个分类的关联
+        navigationService.syncCategory(append.getCategoryName());
+        navigationSnapshotCache.rebuild();
         return ResultVO.success();
     }
 
@@ -57,9 +63,16 @@ public class NavCategoryController {
         if(navigationService.categoryUse(categoryName)){
             throw new BusinessException("该分类下存在导航项，无法删除");
         }
-        navCategoryService.deleteEq("categoryName", categoryName);
+        navCategoryService.delete(categoryName);
+        navigationSnapshotCache.rebuild();
         return ResultVO.success();
     }
 
+    @Operation(summary = "各分类下的导航项数量", description = "含作为次要分类的导航项，没有导航项的分类不返回")
+    @GetMapping("counts")
+    public ResultVO<Map<String, Long>> counts() {
+        return ResultVO.success(navigationService.categoryCounts());
+    }
+
 
 }
@@ -2,16 +2,29 @@
 package cn.tannn.oasis.controller;
 
 import cn.tannn.jdevelops.annotations.web.mapping.PathRestController;
-import cn.tannn.jdevelops.jpa.constant.SQLOperator;
 import cn.tannn.jdevelops.jpa.result.JpaPageResult;
 import cn.tannn.jdevelops.jpa.select.EnhanceSpecification;
 import cn.tannn.jdevelops.result.response.ResultPageVO;
 import cn.tannn.jdevelops.result.response.ResultVO;
+import cn.tannn.oasis.cache.NavVisitCounter;
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
 import cn.tannn.oasis.controller.dto.NavigationAdd;
 import cn.tannn.oasis.controller.dto.NavigationEdit;
 import cn.tannn.oasis.controller.dto.NavigationPage;
+import cn.tannn.oasis.controller.vo.CursorPage;
+import cn.tannn.oasis.dao.NavigationDao;
+import cn.tannn.oasis.entity.NavLinkHealth;
 import cn.tannn.oasis.entity.Navigation;
+import cn.tannn.oasis.service.NavLinkHealthService;
 import cn.tannn.oasis.service.NavigationService;
+import cn.tannn.oasis.timer.FaviconWorker;
+import cn.tannn.oasis.timer.IconCompressWorker;
+import cn.tannn.oasis.timer.LinkHealthScheduler;
+import cn.tannn.oasis.utils.ImageUtils;
+import cn.tannn.oasis.utils.NavCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,9 +33,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -38,6 +57,23 @@ import java.util.List;
 public class NavigationController {
 
     private final NavigationService navigationService;
+    private final NavigationSnapshotCache navigationSnapshotCache;
+    private final NavVisitCounter navVisitCounter;
+    private final NavLinkHealthService navLinkHealthService;
+    private final LinkHealthScheduler linkHealthScheduler;
+    private final FaviconWorker faviconWorker;
+    private final IconCompressWorker iconCompressWorker;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 流式导出的内容类型
+     */
+    private static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * 流式导出每写出多少行刷新一次
+     */
+    private static final int EXPORT_FLUSH_ROWS = 200;
 
     @GetMapping("/{id}")
     @Operation(summary = "根据ID获取详情", description = "详情")
@@ -49,25 +85,70 @@ public class NavigationController {
     @Operation(summary = "新增导航项")
     @PostMapping("append")
     public ResultVO<String> append(@RequestBody @Valid NavigationAdd append) {
-        navigationService.create(append);
+        Navigation navigation = navigationService.create(append);
+        navigationSnapshotCache.rebuild();
+        if (Navigation.ICON_PENDING.equals(navigation.getIconStatus())) {
+            // 后台获取图标，不等待
+            faviconWorker.submit(navigation.getId());
+        } else if ("base64".equals(ImageUtils.checkType(append.getIcon()))) {
+            // 上传的图标已按原图保存，后台压缩后替换
+            iconCompressWorker.submit(navigation.getId());
+        }
         return ResultVO.success();
     }
 
     @Operation(summary = "管理端分页")
     @PostMapping("page")
     public ResultPageVO<Navigation, JpaPageResult<Navigation>> page(@RequestBody @Valid NavigationPage page) {
-
-        Specification<Navigation> beanWhere = EnhanceSpecification.beanWhere(page, and -> {
-            String routePath = page.getShowPlatform();
-            and.likes(StringUtils.hasText(routePath), "showPlatform", routePath);
-        });
-
-        Page<Navigation> byBean = navigationService.findPage(beanWhere, page.getPage().pageable());
+        Page<Navigation> byBean = navigationService.findPage(where(page), page.getPage().pageable());
 
         JpaPageResult<Navigation> pageResult = JpaPageResult.toPage(byBean);
         return ResultPageVO.success(pageResult, "查询成功");
     }
 
+    @Operation(summary = "管理端游标分页", description = "按 sort、id 顺序从上一页的 nextCursor 之后取 pageSize 条，不统计总数，适合滚动加载、批量导出")
+    @PostMapping("cursor")
+    public ResultVO<CursorPage<Navigation>> cursor(@RequestBody @Valid NavigationPage page) {
+        NavCursor.Key after;
+        try {
+            after = NavCursor.decode(page.getCursor());
+        } catch (IllegalArgumentException e) {
+            return ResultVO.failMessage(e.getMessage());
+        }
+        int size = page.getPage().pageable().getPageSize();
+        // 多取一条判断是否还有下一页
+        List<Navigation> rows = navigationService.findAfter(where(page), after, size + 1);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Navigation last = rows.get(size - 1);
+            next = NavCursor.encode(last.getSort(), last.getId());
+        }
+        return ResultVO.success(new CursorPage<>(rows, next));
+    }
+
+    /**
+     * 管理端查询条件
+     */
+    private static Specification<Navigation> where(NavigationPage page) {
+        // 名称、分类、状态按 NavigationPage 上的注解生成条件
+        Specification<Navigation> beanWhere = EnhanceSpecification.beanWhere(page, and -> {
+        });
+        String routePath = page.getShowPlatform();
+        if (StringUtils.hasText(routePath)) {
+            // 按发布页面精确匹配，走关联表索引
+            List<String> routePaths = Arrays.stream(routePath.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .toList();
+            beanWhere = beanWhere.and(NavigationDao.showOn(routePaths));
+        }
+        if (StringUtils.hasText(page.getCategory())) {
+            // 按分类关联表精确匹配，包含把它作为次要分类的导航项
+            beanWhere = beanWhere.and(NavigationDao.inCategory(page.getCategory().trim()));
+        }
+        return beanWhere;
+    }
 
     @Operation(summary = "集合")
     @GetMapping("lists")
@@ -77,37 +158,76 @@ public class NavigationController {
     }
 
 
+    @Operation(summary = "流式导出", description = "NDJSON，每行一个导航项，按 sort、id 排序；不含图标、登录密码、查看密钥")
+    @GetMapping(value = "lists/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> listsStream() {
+        StreamingResponseBody body = out -> {
+            // 逐行写出并按批刷新，内存占用与导航项数量无关
+            SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out);
+            int[] written = {0};
+            int total = navigationService.export(row -> {
+                try {
+                    writer.write(row);
+                    if (++written[0] % EXPORT_FLUSH_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.close();
+            if (total > 0) {
+                out.write('\n');
+            }
+            out.flush();
+            log.debug("导航项流式导出完成，共 {} 条", total);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    @Operation(summary = "链接检测结果", description = "每个导航项最近一次检测结果，地址修改后的结果需对比 url")
+    @GetMapping("health")
+    public ResultVO<List<NavLinkHealth>> health() {
+        return ResultVO.success(navLinkHealthService.finds());
+    }
+
+    @Operation(summary = "立即检测链接", description = "后台检测所有导航项的地址，完成后通过 health 接口查看")
+    @PostMapping("health/check")
+    public ResultVO<String> checkHealth() {
+        if (!linkHealthScheduler.checkNow()) {
+            return ResultVO.failMessage("链接检测正在进行中");
+        }
+        return ResultVO.successMessage("链接检测已开始");
+    }
+
+
     @Operation(summary = "删除")
     @DeleteMapping("delete")
     @Parameter(name = "id", description = "id", required = true)
     public ResultVO<String> delete(@RequestParam("id") Integer id) {
-        navigationService.deleteEq("id", id);
+        navigationService.delete(id);
+        navigationSnapshotCache.rebuild();
+        // 快照重建后不再接受它的点击，再丢弃尚未写入的计数
+        navVisitCounter.remove(id);
         return ResultVO.success();
     }
 
     @Operation(summary = "编辑导航项")
     @PostMapping("edit")
     public ResultVO<String> edit(@RequestBody @Valid NavigationEdit edit) {
-        navigationService.getJpaBasicsDao().findById(edit.getId()).ifPresent(jpaBasics -> {
-            // 通用字段更新（只更新非 null 值）
-            if (edit.getName() != null) jpaBasics.setName(edit.getName());
-            if (edit.getUrl() != null) jpaBasics.setUrl(edit.getUrl());
-            if (edit.getSort() != null) jpaBasics.setSort(edit.getSort());
-            if (edit.getCategory() != null) jpaBasics.setCategory(edit.getCategory());
-            if (edit.getIcon() != null) jpaBasics.setIcon(edit.getIcon());
-            if (edit.getRemark() != null) jpaBasics.setRemark(edit.getRemark());
-            if (edit.getAccount() != null) jpaBasics.setAccount(edit.getAccount());
-            if (edit.getPassword() != null) jpaBasics.setPassword(edit.getPassword());
-            if (edit.getNvaAccessSecret() != null) jpaBasics.setNvaAccessSecret(edit.getNvaAccessSecret());
-            if (edit.getLookAccount() != null) jpaBasics.setLookAccount(edit.getLookAccount());
-            if (edit.getStatus() != null) jpaBasics.setStatus(edit.getStatus());
-            if(edit.getShowPlatform() == null || edit.getShowPlatform().isBlank()){
-                jpaBasics.setShowPlatform(null);
-            }else {
-                jpaBasics.setShowPlatform(edit.getShowPlatform());
-            }
-            navigationService.saveOne(jpaBasics);
-        });
+        navigationService.update(edit);
+        navigationSnapshotCache.rebuild();
+        if (Boolean.TRUE.equals(edit.getAutoIcon())) {
+            faviconWorker.submit(edit.getId());
+        } else if ("base64".equals(ImageUtils.checkType(edit.getIcon()))) {
+            // 上传的图标已按原图保存，后台压缩后替换
+            iconCompressWorker.submit(edit.getId());
+        }
         return ResultVO.success();
     }
 
@@ -4,6 +4,8 @@ import cn.tannn.jdevelops.annotations.web.authentication.ApiMapping;
 import cn.tannn.jdevelops.annotations.web.mapping.PathRestController;
 import cn.tannn.jdevelops.jpa.request.Sorteds;
 import cn.tannn.jdevelops.result.response.ResultVO;
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
+import cn.tannn.oasis.cache.SiteInfoCache;
 import cn.tannn.oasis.controller.dto.SitePublishAdd;
 import cn.tannn.oasis.controller.dto.SitePublishEdit;
 import cn.tannn.oasis.entity.SitePublish;
@@ -32,11 +34,15 @@ import java.util.List;
 public class SitePublishController {
 
     private final SitePublishService sitePublishService;
+    private final NavigationSnapshotCache navigationSnapshotCache;
+    private final SiteInfoCache siteInfoCache;
 
     @Operation(summary = "新增站点发布配置")
     @PostMapping("append")
     public ResultVO<String> append(@RequestBody @Valid SitePublishAdd append) {
         sitePublishService.create(append);
+        navigationSnapshotCache.rebuild();
+        siteInfoCache.rebuild();
         return ResultVO.success();
     }
 
@@ -44,6 +50,8 @@ public class SitePublishController {
     @PutMapping("update")
     public ResultVO<String> update(@RequestBody @Valid SitePublishEdit edit) {
         sitePublishService.update(edit);
+        navigationSnapshotCache.rebuild();
+        siteInfoCache.rebuild();
         return ResultVO.success();
     }
 
@@ -83,7 +91,9 @@ public class SitePublishController {
     @DeleteMapping("delete/{id}")
     @Parameter(name = "id", description = "配置ID", required = true)
     public ResultVO<String> delete(@PathVariable Integer id) {
-        sitePublishService.deleteEq("id", id);
+        sitePublishService.delete(id);
+        navigationSnapshotCache.rebuild();
+        siteInfoCache.rebuild();
         return ResultVO.success();
     }
 
@@ -92,6 +102,8 @@ public class SitePublishController {
     @Parameter(name = "id", description = "配置ID", required = true)
     public ResultVO<String> setDefaultPage(@PathVariable Integer id) {
         sitePublishService.setDefaultPage(id);
+        navigationSnapshotCache.rebuild();
+        siteInfoCache.rebuild();
         return ResultVO.success("默认页设置成功");
     }
 
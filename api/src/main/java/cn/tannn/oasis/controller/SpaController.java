@@ -1,33 +1,41 @@
 package cn.tannn.oasis.controller;
 
 import cn.tannn.jdevelops.annotations.web.authentication.ApiMapping;
+import cn.tannn.oasis.cache.IndexHtmlCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * SPA 前端路由控制器
  * <p>
  * 用于处理已知的前端路由，避免进入 404 流程：
- * - 这个控制器处理已知的前端路由，直接转发到 index.html
- * - 对于未知的前端路由，会被 SpaFallbackExceptionHandler 捕获并转发
+ * - 这个控制器处理已知的前端路由，直接返回内存中的 index.html
+ * - 对于未知的前端路由，由 SpaForwardFilter 在进入 DispatcherServlet 前转发到 /index.html，同样由这里处理
  * - 这样可以提高已知路由的性能
  * </p>
  *
  * @author tannn
  */
 @Controller
+@RequiredArgsConstructor
 public class SpaController {
 
+    private final IndexHtmlCache indexHtmlCache;
+
     /**
      * 处理已知的前端路由
-     * 将这些路由请求直接转发到 index.html，避免 404 流程
+     * 直接返回内存中的 index.html（no-cache + ETag），不经过静态资源处理器读 jar
      */
     @ApiMapping(value = {
             "/",
+            "/index.html",
             "/admin",
             "/admin/**"
     }, method = RequestMethod.GET, checkToken = false)
-    public String forwardToIndex() {
-        return "forward:/index.html";
+    public ResponseEntity<byte[]> forwardToIndex(WebRequest request) {
+        return indexHtmlCache.response(request);
     }
 }
@@ -4,10 +4,13 @@ package cn.tannn.oasis.controller;
 import cn.tannn.jdevelops.annotations.web.mapping.PathRestController;
 import cn.tannn.jdevelops.jpa.constant.SQLOperator;
 import cn.tannn.jdevelops.result.response.ResultVO;
+import cn.tannn.oasis.cache.SiteInfoCache;
 import cn.tannn.oasis.config.DefaultSysConfig;
 import cn.tannn.oasis.controller.dto.SysConfigsEdit;
 import cn.tannn.oasis.entity.SysConfigs;
+import cn.tannn.oasis.service.ImageProcessService;
 import cn.tannn.oasis.service.SysConfigsService;
+import cn.tannn.oasis.utils.ImageUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,6 +20,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.concurrent.CompletionException;
+
 /**
  * 系统配置表
  *
@@ -30,6 +35,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 public class  SysConfigsController {
     private final DefaultSysConfig defaultSysConfig;
     private final SysConfigsService sysConfigsService;
+    private final SiteInfoCache siteInfoCache;
+    private final ImageProcessService imageProcessService;
 
     @GetMapping("/")
     @Operation(summary = "查询系统配置", description = "详情")
@@ -42,10 +49,37 @@ public class  SysConfigsController {
     @Operation(summary = "编辑系统配置表")
     @PostMapping("edit")
     public ResultVO<String> edit(@RequestBody  @Valid SysConfigsEdit edit)  {
+        String logo = edit.getSiteLogo();
+        boolean base64 = "base64".equals(ImageUtils.checkType(logo));
+        if (logo != null && !logo.isEmpty() && !base64 && !"url".equals(ImageUtils.checkType(logo))) {
+            throw new IllegalArgumentException("Unsupported image format");
+        }
         sysConfigsService.update(edit, SQLOperator.EQ);
+        siteInfoCache.rebuild();
+        if (base64) {
+            // 先保存原图，base64 站点图标在后台压缩后替换
+            imageProcessService.compress(logo).thenAccept(compressed -> {
+                if (compressed.length() < logo.length()
+                        && sysConfigsService.replaceSiteLogo(edit.getConfigKey(), logo, compressed)) {
+                    siteInfoCache.rebuild();
+                }
+            }).whenComplete((ignored, e) -> {
+                // 压缩、替换或重建缓存失败都只影响压缩，原图已保存
+                if (e != null) {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("站点图标 [{}] 压缩失败，保留原图: {}", edit.getConfigKey(), cause.getMessage(), cause);
+                }
+            });
+        }
         return ResultVO.success();
     }
 
+    @GetMapping("imageStats")
+    @Operation(summary = "图片处理统计", description = "base64 图片压缩的次数、缓存命中、字节数和耗时")
+    public ResultVO<ImageProcessService.Stats> imageStats() {
+        return ResultVO.success(imageProcessService.stats());
+    }
+
 
 
 
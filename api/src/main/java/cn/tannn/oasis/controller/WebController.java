@@ -2,39 +2,57 @@ package cn.tannn.oasis.controller;
 
 import cn.tannn.jdevelops.annotations.web.authentication.ApiMapping;
 import cn.tannn.jdevelops.annotations.web.mapping.PathRestController;
-import cn.tannn.jdevelops.jpa.request.Sorteds;
 import cn.tannn.jdevelops.jpa.result.JpaPageResult;
-import cn.tannn.jdevelops.jpa.select.EnhanceSpecification;
 import cn.tannn.jdevelops.result.response.ResultPageVO;
 import cn.tannn.jdevelops.result.response.ResultVO;
-import cn.tannn.oasis.config.DefaultSysConfig;
-import cn.tannn.oasis.controller.dto.NavigationPage;
+import cn.tannn.oasis.cache.DataVersion;
+import cn.tannn.oasis.cache.NavBundleCache;
+import cn.tannn.oasis.cache.NavigationSnapshot;
+import cn.tannn.oasis.cache.NavRankingCache;
+import cn.tannn.oasis.cache.NavVisitCounter;
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
+import cn.tannn.oasis.cache.NavigationSuggestTrie;
+import cn.tannn.oasis.cache.SiteInfoCache;
+import cn.tannn.oasis.config.ColumnarHttpMessageConverter;
 import cn.tannn.oasis.controller.dto.NavigationSitePage;
+import cn.tannn.oasis.controller.vo.CursorPage;
 import cn.tannn.oasis.controller.vo.NavAccessInfo;
 import cn.tannn.oasis.controller.vo.NavigationVO;
 import cn.tannn.oasis.controller.vo.SiteInfo;
+import cn.tannn.oasis.controller.vo.SyncChanges;
 import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.entity.NavChangeLog;
+import cn.tannn.oasis.entity.NavIcon;
 import cn.tannn.oasis.entity.Navigation;
-import cn.tannn.oasis.entity.SitePublish;
-import cn.tannn.oasis.entity.SysConfigs;
-import cn.tannn.oasis.service.NavCategoryService;
+import cn.tannn.oasis.service.NavChangeLogService;
+import cn.tannn.oasis.service.NavIconService;
 import cn.tannn.oasis.service.NavigationService;
-import cn.tannn.oasis.service.SitePublishService;
-import cn.tannn.oasis.service.SysConfigsService;
+import cn.tannn.oasis.utils.HttpEncodings;
+import cn.tannn.oasis.utils.ImageUtils;
+import cn.tannn.oasis.utils.NavCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -51,108 +69,220 @@ import java.util.List;
 public class WebController {
 
     private final NavigationService navigationService;
-    private final SysConfigsService sysConfigsService;
-    private final DefaultSysConfig defaultSysConfig;
-    private final NavCategoryService navCategoryService;
-    private final SitePublishService sitePublishService;
+    private final NavigationSnapshotCache navigationSnapshotCache;
+    private final NavIconService navIconService;
+    private final DataVersion dataVersion;
+    private final SiteInfoCache siteInfoCache;
+    private final NavVisitCounter navVisitCounter;
+    private final NavRankingCache navRankingCache;
+    private final NavChangeLogService navChangeLogService;
+    private final NavBundleCache navBundleCache;
+
+    /**
+     * 搜索最多返回的条数
+     */
+    private static final int SEARCH_MAX_LIMIT = 50;
 
 
     @ApiMapping(value = "/site", checkToken = false, method = RequestMethod.GET)
     @Operation(summary = "站点信息", description = "获取站点配置信息，支持根据 routePath 覆盖配置")
     public ResultVO<SiteInfo> siteInfo(
             @Parameter(description = "路由路径，如：dev、cp（可选，为空则返回默认配置）")
-            @RequestParam(value = "routePath", required = false) String routePath) {
-
-        // 获取默认系统配置
-        SysConfigs sysConfig = sysConfigsService.findOnly("configKey", "MAIN")
-                .orElse(SysConfigs.newInstance(defaultSysConfig));
-        SiteInfo siteInfo = SiteInfo.to(sysConfig);
-
-        // 如果提供了 routePath，尝试获取 SitePublish 配置并覆盖
-        if (StringUtils.hasText(routePath)) {
-            try {
-                SitePublish sitePublish = sitePublishService.getByRoutePath(routePath);
-                if (sitePublish != null && sitePublish.getEnabled()) {
-                    // 使用 SitePublish 的 hideAdminEntry 覆盖系统配置
-                    siteInfo.setHideAdminEntry(sitePublish.getHideAdminEntry() ? 1 : 0);
-                    log.debug("使用 SitePublish 配置覆盖 hideAdminEntry: routePath={}, hideAdminEntry={}",
-                            routePath, sitePublish.getHideAdminEntry());
-                }
-            } catch (Exception e) {
-                log.warn("查询 SitePublish 配置失败: routePath={}, error={}", routePath, e.getMessage());
-            }
-        } else {
-            // 如果 routePath 为空，尝试获取默认页配置
-            try {
-                SitePublish defaultPage = sitePublishService.getDefaultPage();
-                if (defaultPage != null && defaultPage.getEnabled()) {
-                    // 使用默认页的 hideAdminEntry 覆盖系统配置
-                    siteInfo.setHideAdminEntry(defaultPage.getHideAdminEntry() ? 1 : 0);
-                    log.debug("使用默认页配置覆盖 hideAdminEntry: hideAdminEntry={}",
-                            defaultPage.getHideAdminEntry());
-                }
-            } catch (Exception e) {
-                log.warn("查询默认页配置失败: error={}", e.getMessage());
-            }
+            @RequestParam(value = "routePath", required = false) String routePath,
+            HttpServletRequest request, HttpServletResponse response) {
+        // 数据未变化直接 304
+        if (dataVersion.checkNotModified(request, response, "site", routePath)) {
+            return null;
         }
 
-        return ResultVO.success(siteInfo);
+        // 预先计算好的结果：系统配置 + 发布页面（为空时为默认页）的 hideAdminEntry 覆盖
+        return ResultVO.success(siteInfoCache.get(routePath));
+    }
+
+    @Operation(summary = "首页数据包", description = "站点信息、分类、可见的全部导航项一次返回，按发布页面缓存序列化、压缩后的结果；Accept 带 application/vnd.oasis.columnar 时返回列式格式")
+    @ApiMapping(value = "bundle", checkToken = false, method = RequestMethod.GET)
+    public ResponseEntity<byte[]> bundle(
+            @Parameter(description = "路由路径（可选，为空则使用默认页）")
+            @RequestParam(value = "routePath", required = false) String routePath,
+            HttpServletRequest request, HttpServletResponse response) {
+        // ETag 按格式、编码区分，Vary 已在 304 判断时写入
+        if (dataVersion.checkNotModifiedEncoded(request, response, "bundle", routePath)) {
+            return null;
+        }
+        NavBundleCache.Bundle bundle = navBundleCache.get(routePath);
+        boolean columnar = ColumnarHttpMessageConverter.accepts(request);
+        boolean gzip = HttpEncodings.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(columnar ? ColumnarHttpMessageConverter.MEDIA_TYPE : MediaType.APPLICATION_JSON);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(bundle.body(columnar, gzip));
     }
 
     @Operation(summary = "获取网站集合-分页", description = "支持根据 showPlatform 过滤发布页面")
     @ApiMapping(value = "navs", checkToken = false, method = RequestMethod.POST)
     public ResultPageVO<NavigationVO, JpaPageResult<NavigationVO>> navsPage(
-            @RequestBody @Valid NavigationSitePage page) {
-
-        // 提取 showPlatform 参数作为过滤条件，然后移除自动 LIKE 查询
-
-
-        Specification<Navigation> beanWhere = EnhanceSpecification.beanWhere(page, x -> {
-            x.eq(true, "status", 1);
-            x.isNull("showPlatform").or( or -> {
-                String routePath = page.getShowPlatform();
-                if(!StringUtils.hasText(routePath)){
-                    SitePublish defaultPage = sitePublishService.getDefaultPage();
-                    // 默认页面没设置那就查所有
-                    if(defaultPage!=null){
-                        routePath = defaultPage.getRoutePath();
-                    }
-                }
-                or.likes(StringUtils.hasText(routePath), "showPlatform", routePath);
-            });
-        });
-
-        Page<Navigation> byBean = navigationService.findPage(beanWhere, page.getPage().pageable());
-
-        // 转换为 VO
-        List<NavigationVO> voList = byBean.getContent().stream()
-                .map(nav -> {
-                    NavigationVO vo = new NavigationVO();
-                    vo.setId(nav.getId());
-                    vo.setName(nav.getName());
-                    vo.setUrl(nav.getUrl());
-                    vo.setSort(nav.getSort());
-                    vo.setCategory(nav.getCategory());
-                    vo.setIcon(nav.getIcon());
-                    vo.setRemark(nav.getRemark());
-                    vo.setLookAccount(nav.getLookAccount());
-                    vo.setStatus(nav.getStatus());
-                    // 设置是否有账户信息，但不暴露具体内容
-                    vo.setHasAccount(nav.getAccount() != null && !nav.getAccount().trim().isEmpty() &&
-                                     nav.getPassword() != null && !nav.getPassword().trim().isEmpty());
-                    return vo;
-                }).toList();
+            @RequestBody @Valid NavigationSitePage page,
+            HttpServletRequest request, HttpServletResponse response) {
+        Pageable pageable = page.getPage().pageable();
+        boolean orderByHits = NavigationSitePage.ORDER_HITS.equals(page.getOrder());
+        boolean orderBySmart = NavigationSitePage.ORDER_SMART.equals(page.getOrder());
+        // 数据未变化直接 304，查询条件不同 ETag 也不同；按点击、智能排序时统计更新后 ETag 也要变
+        // 按点击排序用同一份快照生成 ETag 和排序
+        NavVisitCounter.Totals hits = orderByHits ? navVisitCounter.snapshot() : null;
+        Long statsVersion = orderByHits ? Long.valueOf(hits.version())
+                : orderBySmart ? Long.valueOf(navRankingCache.version()) : null;
+        if (dataVersion.checkNotModified(request, response, "navs", page.getShowPlatform(), page.getName(),
+                page.getCategory(), pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString(),
+                page.getOrder(), statsVersion)) {
+            return null;
+        }
+
+        String name = page.getName();
+        String category = StringUtils.hasText(page.getCategory()) ? page.getCategory().trim() : null;
+        // 智能排序已按发布页面、分类预先排好，只需再按名称过滤
+        List<NavigationVO> navs = orderBySmart ? navRankingCache.ranked(page.getShowPlatform(), category) : null;
+        if (navs != null) {
+            if (StringUtils.hasText(name)) {
+                navs = navs.stream()
+                        .filter(vo -> vo.getName() != null && vo.getName().contains(name))
+                        .toList();
+            }
+        } else {
+            // 从内存快照读取，按发布页面预先分组且已按 sort 排好序
+            NavigationSnapshot snapshot = navigationSnapshotCache.get();
+            navs = snapshot.navs(page.getShowPlatform());
+
+            // name 与原 LIKE 查询一致按包含匹配，category 按分类关联精确匹配（含次要分类）
+            if (StringUtils.hasText(name) || category != null) {
+                navs = navs.stream()
+                        .filter(vo -> !StringUtils.hasText(name)
+                                || (vo.getName() != null && vo.getName().contains(name)))
+                        .filter(vo -> category == null || snapshot.inCategory(vo.getId(), category))
+                        .toList();
+            }
+
+            if (orderByHits) {
+                // 稳定排序，点击数相同时保持 sort 顺序
+                String route = page.getShowPlatform() == null ? "" : page.getShowPlatform();
+                navs = navs.stream()
+                        .sorted(Comparator.comparingLong((NavigationVO vo) -> hits.total(vo.getId(), route)).reversed())
+                        .toList();
+            }
+        }
+
+        int pageSize = pageable.getPageSize();
+        int total = navs.size();
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageSize, total);
 
         JpaPageResult<NavigationVO> pageResult = new JpaPageResult<>();
-        pageResult.setCurrentPage(byBean.getNumber() + 1);
-        pageResult.setPageSize(byBean.getSize());
-        pageResult.setTotalPages(byBean.getTotalPages());
-        pageResult.setTotal(byBean.getTotalElements()); // 使用数据库查询的总数
-        pageResult.setRows(voList);
+        pageResult.setCurrentPage(pageable.getPageNumber() + 1);
+        pageResult.setPageSize(pageSize);
+        pageResult.setTotalPages(pageSize == 0 ? 1 : (total + pageSize - 1) / pageSize);
+        pageResult.setTotal((long) total);
+        pageResult.setRows(navs.subList(from, to));
 
         return ResultPageVO.success(pageResult, "查询成功");
     }
 
+    @Operation(summary = "获取网站集合-游标分页", description = "按手动排序从上一页的 nextCursor 之后取 pageSize 条，不统计总数；不支持 hits、smart 排序")
+    @ApiMapping(value = "navs/cursor", checkToken = false, method = RequestMethod.POST)
+    public ResultVO<CursorPage<NavigationVO>> navsCursor(
+            @RequestBody @Valid NavigationSitePage page,
+            HttpServletRequest request, HttpServletResponse response) {
+        if (StringUtils.hasText(page.getOrder()) && !NavigationSitePage.ORDER_SORT.equals(page.getOrder())) {
+            return ResultVO.failMessage("游标分页只支持手动排序");
+        }
+        NavCursor.Key after;
+        try {
+            after = NavCursor.decode(page.getCursor());
+        } catch (IllegalArgumentException e) {
+            return ResultVO.failMessage(e.getMessage());
+        }
+        int size = page.getPage().pageable().getPageSize();
+        if (dataVersion.checkNotModified(request, response, "navs-cursor", page.getShowPlatform(), page.getName(),
+                page.getCategory(), page.getCursor(), size)) {
+            return null;
+        }
+
+        String name = page.getName();
+        String category = StringUtils.hasText(page.getCategory()) ? page.getCategory().trim() : null;
+        NavigationSnapshot snapshot = navigationSnapshotCache.get();
+        // 快照已按 (sort, id) 排好序，二分定位到游标之后，再顺序过滤取够一页
+        List<NavigationVO> navs = snapshot.navs(page.getShowPlatform());
+        List<NavigationVO> rows = new ArrayList<>(size);
+        String next = null;
+        for (int i = NavCursor.seek(navs, NavigationVO::getSort, NavigationVO::getId, after); i < navs.size(); i++) {
+            NavigationVO vo = navs.get(i);
+            if ((StringUtils.hasText(name) && (vo.getName() == null || !vo.getName().contains(name)))
+                    || (category != null && !snapshot.inCategory(vo.getId(), category))) {
+                continue;
+            }
+            if (rows.size() == size) {
+                NavigationVO last = rows.get(size - 1);
+                next = NavCursor.encode(last.getSort(), last.getId());
+                break;
+            }
+            rows.add(vo);
+        }
+        return ResultVO.success(new CursorPage<>(rows, next));
+    }
+
+    @Operation(summary = "搜索网站", description = "内存倒排索引检索名称、备注、域名、分类，支持拼音全拼/首字母，按相关度返回前 limit 条")
+    @ApiMapping(value = "search", checkToken = false, method = RequestMethod.GET)
+    public ResultVO<List<NavigationVO>> search(
+            @Parameter(description = "关键字") @RequestParam(value = "q", required = false) String q,
+            @Parameter(description = "路由路径（可选，为空则使用默认页）")
+            @RequestParam(value = "routePath", required = false) String routePath,
+            @Parameter(description = "返回条数，默认 10，最大 50")
+            @RequestParam(value = "limit", required = false, defaultValue = "10") Integer limit,
+            HttpServletRequest request, HttpServletResponse response) {
+        int size = Math.max(1, Math.min(limit, SEARCH_MAX_LIMIT));
+        if (dataVersion.checkNotModified(request, response, "search", q, routePath, size)) {
+            return null;
+        }
+        if (!StringUtils.hasText(q)) {
+            return ResultVO.success(List.of());
+        }
+        return ResultVO.success(navigationSnapshotCache.get().search(q, routePath, size));
+    }
+
+    @Operation(summary = "输入联想", description = "名称、拼音全拼/首字母、域名以 prefix 开头的网站，按排序取前 limit 条")
+    @ApiMapping(value = "suggest", checkToken = false, method = RequestMethod.GET)
+    public ResultVO<List<NavigationVO>> suggest(
+            @Parameter(description = "前缀，最长 32 个字符，更长的不返回结果") @RequestParam(value = "prefix", required = false) String prefix,
+            @Parameter(description = "路由路径（可选，为空则使用默认页）")
+            @RequestParam(value = "routePath", required = false) String routePath,
+            @Parameter(description = "返回条数，默认 8，最大 10")
+            @RequestParam(value = "limit", required = false, defaultValue = "8") Integer limit,
+            HttpServletRequest request, HttpServletResponse response) {
+        int size = Math.max(1, Math.min(limit, NavigationSuggestTrie.TOP_N));
+        if (dataVersion.checkNotModified(request, response, "suggest", prefix, routePath, size)) {
+            return null;
+        }
+        if (!StringUtils.hasText(prefix) || prefix.trim().length() > NavigationSuggestTrie.MAX_KEY_LENGTH) {
+            return ResultVO.success(List.of());
+        }
+        return ResultVO.success(navigationSnapshotCache.get().suggest(prefix, routePath, size));
+    }
+
+    @Operation(summary = "记录点击", description = "只在内存中计数，定时批量写入每日统计")
+    @ApiMapping(value = "navs/{id}/hit", checkToken = false, method = RequestMethod.POST)
+    public ResultVO<String> hit(
+            @PathVariable("id") Integer id,
+            @Parameter(description = "路由路径（可选，为空则为默认页）")
+            @RequestParam(value = "routePath", required = false) String routePath) {
+        NavigationSnapshot snapshot = navigationSnapshotCache.get();
+        if (!snapshot.containsNav(id)) {
+            return ResultVO.failMessage("导航项不存在");
+        }
+        // 只接受已配置的发布页面，避免任意 routePath 占用内存
+        navVisitCounter.hit(id, StringUtils.hasText(routePath) && snapshot.isRoute(routePath) ? routePath : "");
+        return ResultVO.success();
+    }
+
     @Operation(summary = "获取网站登录信息")
     @ApiMapping(value = "navs/access/{id}", checkToken = false, method = RequestMethod.GET)
     public ResultVO<NavAccessInfo> navsAccess(
@@ -169,12 +299,59 @@ public class WebController {
         }
     }
 
+    @Operation(summary = "网站图标", description = "按内容哈希返回图标原始字节，内容不会变化可长期缓存")
+    @ApiMapping(value = "icon/{hash}", checkToken = false, method = RequestMethod.GET)
+    public ResponseEntity<byte[]> icon(@PathVariable("hash") String hash, WebRequest request) {
+        String etag = "\"" + hash + "\"";
+        // 哈希即内容，浏览器带着相同的 ETag 来直接 304，不用查图标
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        NavIcon icon = navIconService.findByHash(hash).orElse(null);
+        if (icon == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // 类型按文件头重新判断，不用保存时记录的类型（历史数据可能是 svg 或声明错误的类型）
+        String contentType = ImageUtils.contentType(icon.getData());
+        MediaType mediaType = ImageUtils.isIconType(contentType)
+                ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .contentType(mediaType)
+                .header("X-Content-Type-Options", "nosniff")
+                .header("Content-Security-Policy", "default-src 'none'")
+                .body(icon.getData());
+    }
+
     @Operation(summary = "网站分类")
     @ApiMapping(value = "category", checkToken = false, method = RequestMethod.GET)
-    public ResultVO<List<NavCategory>> category() {
-        Sorteds defs = Sorteds.defs();
-        defs.fixSort(0, "sort");
-        List<NavCategory> finds = navCategoryService.finds(defs);
-        return ResultVO.success(finds);
+    public ResultVO<List<NavCategory>> category(HttpServletRequest request, HttpServletResponse response) {
+        if (dataVersion.checkNotModified(request, response, "category")) {
+            return null;
+        }
+        return ResultVO.success(navigationSnapshotCache.get().getCategories());
+    }
+
+    @Operation(summary = "增量同步", description = "返回 since 版本之后新增、修改、删除的导航项和分类，since 为空、过旧或发布页面有变化时返回全量")
+    @ApiMapping(value = "sync", checkToken = false, method = RequestMethod.GET)
+    public ResultVO<SyncChanges> sync(
+            @Parameter(description = "上次同步返回的版本号，首次同步不传")
+            @RequestParam(value = "since", required = false) Long since,
+            @Parameter(description = "路由路径（可选，为空则使用默认页）")
+            @RequestParam(value = "routePath", required = false) String routePath,
+            HttpServletRequest request, HttpServletResponse response) {
+        if (dataVersion.checkNotModified(request, response, "sync", since, routePath)) {
+            return null;
+        }
+        NavigationSnapshot snapshot = navigationSnapshotCache.get();
+        long version = snapshot.getChangeVersion();
+        // 恢复过数据，或者版本号不是本服务发出的（比如换了数据库）
+        if (since == null || since < snapshot.getResetVersion() || since > version) {
+            return ResultVO.success(SyncChanges.full(snapshot, routePath));
+        }
+        // 已是最新不查库
+        List<NavChangeLog> changes = since == version ? List.of() : navChangeLogService.changes(since, version);
+        return ResultVO.success(SyncChanges.delta(snapshot, routePath, changes));
     }
 }
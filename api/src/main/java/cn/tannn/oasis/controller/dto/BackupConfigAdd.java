@@ -27,6 +27,9 @@ public class BackupConfigAdd extends SerializableBean<BackupConfigAdd> {
     @Schema(description = "是否启用定时备份",defaultValue = "false")
     private Boolean enabled;
 
+    @Schema(description = "是否增量备份；true 只同步变更的行，false 每次删表重建全量导入", defaultValue = "true")
+    private Boolean incremental;
+
     @Schema(description = "配置描述")
     private String description;
 }
@@ -1,7 +1,6 @@
 package cn.tannn.oasis.controller.dto;
 
 import cn.tannn.jdevelops.result.bean.SerializableBean;
-import cn.tannn.oasis.utils.ImageUtils;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -85,14 +84,15 @@ public class NavigationAdd extends SerializableBean<NavigationAdd> {
     @Schema(description = "是否运行查看登录信息；false、密钥查看，true、直接查看，默认true")
     private Boolean lookAccount;
 
+    /**
+     * 是否从网站自动获取图标（后台异步获取，获取到后替换 icon）
+     */
+    @Schema(description = "是否从网站自动获取图标，后台异步获取，获取到后替换 icon")
+    private Boolean autoIcon;
+
     /**
      * 发布页面（逗号分隔的routePath）
      */
     @Schema(description = "发布页面，逗号分隔的routePath，如：dev,cp,public", example = "dev,cp")
     private String showPlatform;
-
-
-    public String getIcon() {
-        return ImageUtils.processImage(icon);
-    }
 }
@@ -1,7 +1,6 @@
 package cn.tannn.oasis.controller.dto;
 
 import cn.tannn.jdevelops.annotations.jpa.JpaUpdate;
-import cn.tannn.oasis.utils.ImageUtils;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -90,14 +89,15 @@ public class NavigationEdit {
     @Schema(description = "状态；0、停用，1、启用")
     private Integer status;
 
+    /**
+     * 是否从网站自动获取图标（后台异步获取，获取到后替换 icon）
+     */
+    @Schema(description = "是否从网站自动获取图标，后台异步获取，获取到后替换 icon")
+    private Boolean autoIcon;
+
     /**
      * 发布页面（逗号分隔的routePath）
      */
     @Schema(description = "发布页面，逗号分隔的routePath，如：dev,cp,public", example = "dev,cp")
     private String showPlatform;
-
-
-    public String getIcon() {
-        return ImageUtils.processImage(icon);
-    }
 }
@@ -30,8 +30,8 @@ public class NavigationPage extends SerializableBean<NavigationPage> {
     @Schema(description = "名称")
     private String name;
 
-    @Schema(description = "分类")
-    @JpaSelectOperator(operatorWrapper = SQLOperatorWrapper.LIKE, connect = SQLConnect.AND)
+    @Schema(description = "分类（含次要分类）")
+    @JpaSelectIgnoreField
     private String category;
 
     @Schema(description = "状态；0、停用，1、启用")
@@ -42,6 +42,13 @@ public class NavigationPage extends SerializableBean<NavigationPage> {
     @JpaSelectIgnoreField
     private String showPlatform;
 
+    /**
+     * 游标分页的游标
+     */
+    @Schema(description = "游标分页用：上一页返回的 nextCursor，第一页不传；只使用 page.pageSize，忽略页码和排序")
+    @JpaSelectIgnoreField
+    private String cursor;
+
     /**
      * 分页排序
      */
@@ -32,8 +32,8 @@ public class NavigationSitePage extends SerializableBean<NavigationSitePage> {
     @Schema(description = "名称")
     private String name;
 
-    @Schema(description = "分类")
-    @JpaSelectOperator(operatorWrapper = SQLOperatorWrapper.LIKE, connect = SQLConnect.AND)
+    @Schema(description = "分类（含次要分类）")
+    @JpaSelectIgnoreField
     private String category;
 
     //人工处理这个
@@ -41,6 +41,20 @@ public class NavigationSitePage extends SerializableBean<NavigationSitePage> {
     @JpaSelectIgnoreField
     private String showPlatform;
 
+    /**
+     * 排序方式
+     */
+    @Schema(description = "排序方式：sort 手动排序（默认），hits 最常用（按累计点击），smart 智能（手动排序结合近期热度）")
+    @JpaSelectIgnoreField
+    private String order;
+
+    /**
+     * 游标分页的游标
+     */
+    @Schema(description = "游标分页用：上一页返回的 nextCursor，第一页不传；只使用 page.pageSize，忽略页码和排序")
+    @JpaSelectIgnoreField
+    private String cursor;
+
     /**
      * 分页排序
      */
@@ -49,6 +63,21 @@ public class NavigationSitePage extends SerializableBean<NavigationSitePage> {
     @Valid
     private PagingSorteds page;
 
+    /**
+     * 手动排序（默认）
+     */
+    public static final String ORDER_SORT = "sort";
+
+    /**
+     * 按累计点击排序
+     */
+    public static final String ORDER_HITS = "hits";
+
+    /**
+     * 智能排序：手动排序结合近期点击热度
+     */
+    public static final String ORDER_SMART = "smart";
+
     public PagingSorteds getPage() {
         if (page == null) {
             return new PagingSorteds().fixSort(0, "sort");
@@ -1,7 +1,6 @@
 package cn.tannn.oasis.controller.dto;
 
 import cn.tannn.jdevelops.result.bean.SerializableBean;
-import cn.tannn.oasis.utils.ImageUtils;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -76,8 +75,4 @@ public class SysConfigsAdd extends SerializableBean<SysConfigsAdd> {
     @Schema(description = "管理员密码")
     @NotBlank(message = "管理员密码不允许为空")
     private String password;
-
-    public String getSiteLogo() {
-        return ImageUtils.processImage(siteLogo);
-    }
 }
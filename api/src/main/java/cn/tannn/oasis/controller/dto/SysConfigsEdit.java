@@ -1,7 +1,6 @@
 package cn.tannn.oasis.controller.dto;
 
 import cn.tannn.jdevelops.annotations.jpa.JpaUpdate;
-import cn.tannn.oasis.utils.ImageUtils;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -65,9 +64,4 @@ public class SysConfigsEdit {
      */
     @Schema(description = "管理员密码")
     private String password;
-
-
-    public String getSiteLogo() {
-        return ImageUtils.processImage(siteLogo);
-    }
 }
@@ -0,0 +1,35 @@
+package cn.tannn.oasis.controller.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * <p> 不返回总数；nextCursor 为 null 表示已经是最后一页 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Data
+public class CursorPage<T> {
+
+    /**
+     * 本页数据
+     */
+    @Schema(description = "本页数据")
+    private List<T> rows;
+
+    /**
+     * 下一页的游标，原样回传；为 null 表示没有下一页
+     */
+    @Schema(description = "下一页的游标，原样回传；为 null 表示没有下一页")
+    private String nextCursor;
+
+    public CursorPage(List<T> rows, String nextCursor) {
+        this.rows = rows;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,49 @@
+package cn.tannn.oasis.controller.vo;
+
+import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.entity.SitePublish;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 首页数据包：首屏需要的站点信息、分类、导航项一次返回
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Data
+public class NavBundle {
+
+    /**
+     * 数据变更版本号，可直接用于 /webs/sync 增量同步
+     */
+    @Schema(description = "数据变更版本号，可直接用于 /webs/sync 增量同步")
+    private long version;
+
+    /**
+     * 站点信息
+     */
+    @Schema(description = "站点信息")
+    private SiteInfo site;
+
+    /**
+     * 发布页面，routePath 为空时为 null；routePath 不是启用的发布页面时也为 null，其余数据为空
+     */
+    @Schema(description = "发布页面，routePath 不是启用的发布页面时为 null")
+    private SitePublish page;
+
+    /**
+     * 分类（已按 sort 排序）
+     */
+    @Schema(description = "分类（已按 sort 排序）")
+    private List<NavCategory> categories;
+
+    /**
+     * 可见的全部导航项（已按 sort 排序）
+     */
+    @Schema(description = "可见的全部导航项（已按 sort 排序）")
+    private List<NavigationVO> navs;
+}
@@ -0,0 +1,61 @@
+package cn.tannn.oasis.controller.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导航项导出（流式导出的一行）
+ * <p> JPQL 构造器投影，只查这些列：不含图标（可能是很大的 base64）、登录密码、查看密钥，也不会进入持久化上下文 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Schema(description = "导航项导出")
+@Getter
+@ToString
+@AllArgsConstructor
+public class NavigationExport {
+
+    @Schema(description = "id")
+    private Integer id;
+
+    @Schema(description = "名称")
+    private String name;
+
+    @Schema(description = "网址")
+    private String url;
+
+    @Schema(description = "排序")
+    private Integer sort;
+
+    @Schema(description = "分类，多个逗号隔开")
+    private String category;
+
+    @Schema(description = "图标获取状态")
+    private String iconStatus;
+
+    @Schema(description = "备注")
+    private String remark;
+
+    @Schema(description = "登录账号")
+    private String account;
+
+    @Schema(description = "是否运行查看登录信息；false、密钥查看，true、直接查看")
+    private Boolean lookAccount;
+
+    @Schema(description = "状态；0、停用，1、启用")
+    private Integer status;
+
+    @Schema(description = "发布页面，逗号分隔的routePath")
+    private String showPlatform;
+
+    @Schema(description = "更新时间")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updateTime;
+}
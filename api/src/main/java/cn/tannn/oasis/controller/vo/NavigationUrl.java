@@ -0,0 +1,23 @@
+package cn.tannn.oasis.controller.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 导航项地址（链接检测用）
+ * <p> JPQL 构造器投影，只查 id 和网址两列，不加载图标等大字段 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class NavigationUrl {
+
+    private Integer id;
+
+    private String url;
+}
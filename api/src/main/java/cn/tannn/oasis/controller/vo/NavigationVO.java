@@ -1,5 +1,6 @@
 package cn.tannn.oasis.controller.vo;
 
+import cn.tannn.oasis.entity.Navigation;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
@@ -44,9 +45,9 @@ public class NavigationVO {
     private String category;
 
     /**
-     * 图标[base64/url]
+     * 图标[url/图标访问路径]，base64 图标已转存到图标存储，这里只有 /webs/icon/{hash}
      */
-    @Schema(description = "图标[base64/url]")
+    @Schema(description = "图标[url/图标访问路径 /webs/icon/{hash}]")
     private String icon;
 
     /**
@@ -72,4 +73,22 @@ public class NavigationVO {
      */
     @Schema(description = "状态；0、停用，1、启用")
     private Integer status;
+
+
+    public static NavigationVO to(Navigation nav) {
+        NavigationVO vo = new NavigationVO();
+        vo.setId(nav.getId());
+        vo.setName(nav.getName());
+        vo.setUrl(nav.getUrl());
+        vo.setSort(nav.getSort());
+        vo.setCategory(nav.getCategory());
+        vo.setIcon(nav.getIcon());
+        vo.setRemark(nav.getRemark());
+        vo.setLookAccount(nav.getLookAccount());
+        vo.setStatus(nav.getStatus());
+        // 设置是否有账户信息，但不暴露具体内容
+        vo.setHasAccount(nav.getAccount() != null && !nav.getAccount().trim().isEmpty() &&
+                         nav.getPassword() != null && !nav.getPassword().trim().isEmpty());
+        return vo;
+    }
 }
@@ -0,0 +1,130 @@
+package cn.tannn.oasis.controller.vo;
+
+import cn.tannn.oasis.cache.NavigationSnapshot;
+import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.entity.NavChangeLog;
+import cn.tannn.oasis.entity.SitePublish;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 增量同步结果
+ * <p> full 为 true 时客户端丢弃本地数据，以 navs、categories、sites 为全部数据；
+ * 否则 navs、categories 为新增或修改的数据，deleted* 为需要删除的ID </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Data
+public class SyncChanges {
+
+    /**
+     * 当前版本号，下次同步时带上
+     */
+    @Schema(description = "当前版本号，下次同步时带上")
+    private long version;
+
+    /**
+     * 是否全量
+     */
+    @Schema(description = "是否全量：true 时替换本地全部数据")
+    private boolean full;
+
+    /**
+     * 新增或修改的导航项（全量时为全部）
+     */
+    @Schema(description = "新增或修改的导航项（全量时为全部）")
+    private List<NavigationVO> navs = List.of();
+
+    /**
+     * 删除的导航项ID（含停用、不再在该发布页面显示的）
+     */
+    @Schema(description = "删除的导航项ID（含停用、不再在该发布页面显示的）")
+    private List<Integer> deletedNavs = List.of();
+
+    /**
+     * 新增或修改的分类（全量时为全部）
+     */
+    @Schema(description = "新增或修改的分类（全量时为全部）")
+    private List<NavCategory> categories = List.of();
+
+    /**
+     * 删除的分类ID
+     */
+    @Schema(description = "删除的分类ID")
+    private List<Integer> deletedCategories = List.of();
+
+    /**
+     * 启用的发布页面，只在全量时返回
+     */
+    @Schema(description = "启用的发布页面，只在全量时返回")
+    private List<SitePublish> sites = List.of();
+
+    /**
+     * 全量数据
+     *
+     * @param snapshot  导航快照
+     * @param routePath 发布页面
+     */
+    public static SyncChanges full(NavigationSnapshot snapshot, String routePath) {
+        SyncChanges sync = new SyncChanges();
+        sync.setVersion(snapshot.getChangeVersion());
+        sync.setFull(true);
+        sync.setNavs(snapshot.navs(routePath));
+        sync.setCategories(snapshot.getCategories());
+        sync.setSites(snapshot.getSites());
+        return sync;
+    }
+
+    /**
+     * 增量数据：变更过的数据在快照中存在即为新增或修改，不存在即为删除
+     * <p> 发布页面变化会影响每个页面可见的导航项（含默认页），直接返回全量 </p>
+     *
+     * @param snapshot  导航快照
+     * @param routePath 发布页面
+     * @param changes   客户端版本号到快照版本号之间的变更
+     */
+    public static SyncChanges delta(NavigationSnapshot snapshot, String routePath, List<NavChangeLog> changes) {
+        Set<Integer> navIds = new HashSet<>();
+        Set<Integer> categoryIds = new HashSet<>();
+        for (NavChangeLog change : changes) {
+            switch (change.getEntityType()) {
+                case NavChangeLog.TYPE_NAV -> navIds.add(change.getEntityId());
+                case NavChangeLog.TYPE_CATEGORY -> categoryIds.add(change.getEntityId());
+                default -> {
+                    return full(snapshot, routePath);
+                }
+            }
+        }
+
+        SyncChanges sync = new SyncChanges();
+        sync.setVersion(snapshot.getChangeVersion());
+        if (!navIds.isEmpty()) {
+            List<NavigationVO> navs = new ArrayList<>();
+            for (NavigationVO vo : snapshot.navs(routePath)) {
+                if (navIds.remove(vo.getId())) {
+                    navs.add(vo);
+                }
+            }
+            sync.setNavs(navs);
+            sync.setDeletedNavs(List.copyOf(navIds));
+        }
+        if (!categoryIds.isEmpty()) {
+            List<NavCategory> categories = new ArrayList<>();
+            for (NavCategory category : snapshot.getCategories()) {
+                if (categoryIds.remove(category.getId())) {
+                    categories.add(category);
+                }
+            }
+            sync.setCategories(categories);
+            sync.setDeletedCategories(List.copyOf(categoryIds));
+        }
+        return sync;
+    }
+}
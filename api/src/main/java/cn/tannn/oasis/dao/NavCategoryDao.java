@@ -3,6 +3,10 @@ package cn.tannn.oasis.dao;
 import cn.tannn.jdevelops.jpa.repository.JpaBasicsRepository;
 import cn.tannn.oasis.entity.NavCategory;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 导航分类表
  *
@@ -17,4 +21,18 @@ public interface NavCategoryDao extends JpaBasicsRepository<NavCategory, Integer
      * @return true存在,false不存在
      */
     boolean existsByCategoryName(String category);
+
+    /**
+     * 根据分类名称查询
+     * @param categoryName 分类名称
+     * @return NavCategory
+     */
+    Optional<NavCategory> findByCategoryName(String categoryName);
+
+    /**
+     * 根据分类名称批量查询
+     * @param categoryNames 分类名称
+     * @return NavCategory
+     */
+    List<NavCategory> findByCategoryNameIn(Collection<String> categoryNames);
 }
@@ -0,0 +1,52 @@
+package cn.tannn.oasis.dao;
+
+import cn.tannn.jdevelops.jpa.repository.JpaBasicsRepository;
+import cn.tannn.oasis.entity.NavChangeLog;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 数据变更记录
+ *
+ * @author tan
+ * @date 2026-10-18
+ */
+public interface NavChangeLogDao extends JpaBasicsRepository<NavChangeLog, Long> {
+
+    /**
+     * 最新版本号
+     *
+     * @return 没有记录时为 null
+     */
+    @Query("select max(l.id) from NavChangeLog l")
+    Long maxId();
+
+    /**
+     * 某类型最近一次记录
+     *
+     * @param entityType 数据类型
+     */
+    Optional<NavChangeLog> findFirstByEntityTypeOrderByIdDesc(String entityType);
+
+    /**
+     * 版本区间内的记录
+     *
+     * @param since 不含
+     * @param until 含
+     */
+    List<NavChangeLog> findByIdGreaterThanAndIdLessThanEqual(Long since, Long until);
+
+    /**
+     * 删除数据之前的记录（只保留最近一次）
+     *
+     * @param entityType 数据类型
+     * @param entityIds  数据ID
+     */
+    @Modifying
+    @Query("delete from NavChangeLog l where l.entityType = ?1 and l.entityId in ?2")
+    void deleteByEntity(String entityType, Collection<Integer> entityIds);
+}
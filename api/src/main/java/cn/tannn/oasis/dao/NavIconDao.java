@@ -0,0 +1,31 @@
+package cn.tannn.oasis.dao;
+
+import cn.tannn.jdevelops.jpa.repository.JpaBasicsRepository;
+import cn.tannn.oasis.entity.NavIcon;
+
+import java.util.Optional;
+
+/**
+ * 图标存储
+ *
+ * @author tan
+ * @date 2026-10-18
+ */
+public interface NavIconDao extends JpaBasicsRepository<NavIcon, Integer> {
+
+    /**
+     * 根据内容哈希查询
+     *
+     * @param hash 内容哈希
+     * @return NavIcon
+     */
+    Optional<NavIcon> findByHash(String hash);
+
+    /**
+     * 内容哈希是否存在
+     *
+     * @param hash 内容哈希
+     * @return true存在 false不存在
+     */
+    boolean existsByHash(String hash);
+}
@@ -0,0 +1,51 @@
+package cn.tannn.oasis.dao;
+
+import cn.tannn.jdevelops.jpa.repository.JpaBasicsRepository;
+import cn.tannn.oasis.entity.NavItemCategory;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * 导航项分类关联
+ *
+ * @author tan
+ * @date 2026-10-18
+ */
+public interface NavItemCategoryDao extends JpaBasicsRepository<NavItemCategory, Integer> {
+
+    /**
+     * 分类下是否存在导航项
+     *
+     * @param categoryId 分类ID
+     * @return true存在 false不存在
+     */
+    boolean existsByCategoryId(Integer categoryId);
+
+    /**
+     * 删除导航项的分类
+     *
+     * @param navId 导航项ID
+     */
+    @Modifying
+    @Query("delete from NavItemCategory c where c.navId = ?1")
+    void deleteByNavId(Integer navId);
+
+    /**
+     * 删除分类的关联
+     *
+     * @param categoryId 分类ID
+     */
+    @Modifying
+    @Query("delete from NavItemCategory c where c.categoryId = ?1")
+    void deleteByCategoryId(Integer categoryId);
+
+    /**
+     * 各分类下的导航项数量
+     *
+     * @return [categoryId, count]
+     */
+    @Query("select c.categoryId, count(c) from NavItemCategory c group by c.categoryId")
+    List<Object[]> countGroupByCategory();
+}
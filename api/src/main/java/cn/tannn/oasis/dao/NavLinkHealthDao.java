@@ -0,0 +1,35 @@
+package cn.tannn.oasis.dao;
+
+import cn.tannn.jdevelops.jpa.repository.JpaBasicsRepository;
+import cn.tannn.oasis.entity.NavLinkHealth;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+
+/**
+ * 导航项链接检测结果
+ *
+ * @author tan
+ * @date 2026-10-18
+ */
+public interface NavLinkHealthDao extends JpaBasicsRepository<NavLinkHealth, Integer> {
+
+    /**
+     * 删除导航项的检测结果
+     *
+     * @param navId 导航项ID
+     */
+    @Modifying
+    @Query("delete from NavLinkHealth h where h.navId = ?1")
+    void deleteByNavId(Integer navId);
+
+    /**
+     * 删除已不存在的导航项的检测结果
+     *
+     * @param navIds 现有导航项ID
+     */
+    @Modifying
+    @Query("delete from NavLinkHealth h where h.navId not in ?1")
+    void deleteByNavIdNotIn(Collection<Integer> navIds);
+}
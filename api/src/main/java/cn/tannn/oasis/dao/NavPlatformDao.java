@@ -0,0 +1,34 @@
+package cn.tannn.oasis.dao;
+
+import cn.tannn.jdevelops.jpa.repository.JpaBasicsRepository;
+import cn.tannn.oasis.entity.NavPlatform;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * 导航项发布页面关联
+ *
+ * @author tan
+ * @date 2026-10-18
+ */
+public interface NavPlatformDao extends JpaBasicsRepository<NavPlatform, Integer> {
+
+    /**
+     * 查询导航项的发布页面
+     *
+     * @param navId 导航项ID
+     * @return NavPlatform
+     */
+    List<NavPlatform> findByNavId(Integer navId);
+
+    /**
+     * 删除导航项的发布页面
+     *
+     * @param navId 导航项ID
+     */
+    @Modifying
+    @Query("delete from NavPlatform p where p.navId = ?1")
+    void deleteByNavId(Integer navId);
+}
@@ -0,0 +1,53 @@
+package cn.tannn.oasis.dao;
+
+import cn.tannn.jdevelops.jpa.repository.JpaBasicsRepository;
+import cn.tannn.oasis.entity.NavVisitDaily;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 导航项每日访问统计
+ *
+ * @author tan
+ * @date 2026-10-18
+ */
+public interface NavVisitDailyDao extends JpaBasicsRepository<NavVisitDaily, Integer> {
+
+    /**
+     * 查询这些日期、导航项的统计（各发布页面）
+     *
+     * @param visitDates 统计日期
+     * @param navIds     导航项ID
+     * @return NavVisitDaily
+     */
+    List<NavVisitDaily> findByVisitDateInAndNavIdIn(Collection<LocalDate> visitDates, Collection<Integer> navIds);
+
+    /**
+     * 查询某天之后（含）的统计
+     *
+     * @param visitDate 起始日期
+     * @return NavVisitDaily
+     */
+    List<NavVisitDaily> findByVisitDateGreaterThanEqual(LocalDate visitDate);
+
+    /**
+     * 各导航项在各发布页面的累计点击
+     *
+     * @return [navId, routePath, hits]
+     */
+    @Query("select v.navId, v.routePath, sum(v.hits) from NavVisitDaily v group by v.navId, v.routePath")
+    List<Object[]> sumGroupByNavAndRoute();
+
+    /**
+     * 删除导航项的统计
+     *
+     * @param navId 导航项ID
+     */
+    @Modifying
+    @Query("delete from NavVisitDaily v where v.navId = ?1")
+    void deleteByNavId(Integer navId);
+}
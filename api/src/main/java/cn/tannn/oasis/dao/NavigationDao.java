@@ -1,9 +1,25 @@
 package cn.tannn.oasis.dao;
 
 import cn.tannn.jdevelops.jpa.repository.JpaBasicsRepository;
+import cn.tannn.oasis.controller.vo.NavigationExport;
+import cn.tannn.oasis.controller.vo.NavigationUrl;
+import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.entity.NavItemCategory;
+import cn.tannn.oasis.entity.NavPlatform;
 import cn.tannn.oasis.entity.Navigation;
+import cn.tannn.oasis.utils.NavCursor;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 导航项表
@@ -12,13 +28,11 @@ import java.util.List;
  * @date 2025-08-26
  */
 public interface NavigationDao extends JpaBasicsRepository<Navigation, Integer> {
+
     /**
-     * 根据分类查询是否存在
-     *
-     * @param category 分类
-     * @return 是否存在
+     * 游标分页的排序：sort 正序（null 在后）、id 正序，与导航快照的顺序一致
      */
-    boolean existsByCategory(String category);
+    Sort SEEK_ORDER = Sort.by(Sort.Order.asc("sort").nullsLast(), Sort.Order.asc("id"));
 
     /**
      * 根据名称查询是否存在
@@ -27,4 +41,102 @@ public interface NavigationDao extends JpaBasicsRepository<Navigation, Integer>
      */
     boolean existsByName(String name);
 
+    /**
+     * 流式读取全部导航项（导出用）
+     * <p> 构造器投影只查需要的列，不加载实体；按 fetch size 分批从游标读取，需在事务内消费并关闭 </p>
+     *
+     * @return 按 sort、id 排序的导航项
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new cn.tannn.oasis.controller.vo.NavigationExport(n.id, n.name, n.url, n.sort, n.category,"
+            + " n.iconStatus, n.remark, n.account, n.lookAccount, n.status, n.showPlatform, n.updateTime)"
+            + " from Navigation n order by n.sort asc nulls last, n.id asc")
+    Stream<NavigationExport> streamExport();
+
+    /**
+     * 全部有网址的导航项地址（链接检测用），只查 id、url 两列
+     *
+     * @return NavigationUrl
+     */
+    @Query("select new cn.tannn.oasis.controller.vo.NavigationUrl(n.id, n.url) from Navigation n"
+            + " where n.url is not null and n.url <> ''")
+    List<NavigationUrl> findUrls();
+
+    /**
+     * 这些ID中仍然存在的导航项ID
+     *
+     * @param ids 导航项ID
+     * @return 存在的ID
+     */
+    @Query("select n.id from Navigation n where n.id in ?1")
+    List<Integer> findExistingIds(Collection<Integer> ids);
+
+    /**
+     * category 中包含这个名称的导航项（按字符串包含匹配，调用方需再按逗号拆分确认）
+     *
+     * @param categoryName 分类名称
+     * @return [id, category]
+     */
+    @Query("select n.id, n.category from Navigation n where n.category like concat('%', ?1, '%')")
+    List<Object[]> findCategoryContaining(String categoryName);
+
+    /**
+     * 导航项发布在指定页面（任意一个）
+     * <p> EXISTS 关联表 nav_item_platform，走 (route_path, nav_id) 索引 </p>
+     *
+     * @param routePaths 发布页面的 routePath
+     * @return Specification
+     */
+    static Specification<Navigation> showOn(Collection<String> routePaths) {
+        return (root, query, cb) -> {
+            Subquery<Integer> sub = query.subquery(Integer.class);
+            Root<NavPlatform> platform = sub.from(NavPlatform.class);
+            sub.select(platform.get("navId"))
+                    .where(platform.get("routePath").in(routePaths),
+                            cb.equal(platform.get("navId"), root.get("id")));
+            return cb.exists(sub);
+        };
+    }
+
+    /**
+     * 导航项属于指定分类（含次要分类）
+     * <p> EXISTS 关联表 nav_item_category，走 (category_id, nav_id) 索引 </p>
+     *
+     * @param categoryName 分类名称
+     * @return Specification
+     */
+    static Specification<Navigation> inCategory(String categoryName) {
+        return (root, query, cb) -> {
+            Subquery<Integer> sub = query.subquery(Integer.class);
+            Root<NavItemCategory> member = sub.from(NavItemCategory.class);
+            Root<NavCategory> category = sub.from(NavCategory.class);
+            sub.select(member.get("navId"))
+                    .where(cb.equal(category.get("categoryName"), categoryName),
+                            cb.equal(member.get("categoryId"), category.get("id")),
+                            cb.equal(member.get("navId"), root.get("id")));
+            return cb.exists(sub);
+        };
+    }
+
+    /**
+     * 排在游标位置之后（按 {@link #SEEK_ORDER}）
+     * <p> (sort, id) 走 idx_sort_id 索引定位，不需要 offset 跳过前面的行 </p>
+     *
+     * @param after 游标位置
+     * @return Specification
+     */
+    static Specification<Navigation> after(NavCursor.Key after) {
+        return (root, query, cb) -> {
+            if (after.sort() == null) {
+                return cb.and(cb.isNull(root.get("sort")), cb.greaterThan(root.get("id"), after.id()));
+            }
+            return cb.or(cb.greaterThan(root.get("sort"), after.sort()),
+                    cb.and(cb.equal(root.get("sort"), after.sort()), cb.greaterThan(root.get("id"), after.id())),
+                    cb.isNull(root.get("sort")));
+        };
+    }
+
 }
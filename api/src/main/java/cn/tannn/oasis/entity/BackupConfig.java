@@ -68,6 +68,12 @@ public class BackupConfig {
     @Schema(description = "是否启用定时备份")
     private Boolean enabled;
 
+    @Column(columnDefinition = "boolean")
+    @ColumnDefault("true")
+    @Comment("是否增量备份")
+    @Schema(description = "是否增量备份；true 只同步变更的行，false 每次删表重建全量导入")
+    private Boolean incremental;
+
     @Column(columnDefinition = "varchar(200)")
     @ColumnDefault("'数据备份到mysql'")
     @Comment("配置描述")
@@ -95,6 +101,13 @@ public class BackupConfig {
         this.backupCount = (this.backupCount != null ? this.backupCount : 0) + 1;
     }
 
+    /**
+     * 是否增量备份，未设置时默认增量
+     */
+    public boolean isIncrementalBackup() {
+        return !Boolean.FALSE.equals(incremental);
+    }
+
     /**
      * 检查配置是否完整
      */
@@ -1,6 +1,7 @@
 package cn.tannn.oasis.entity;
 
 import cn.tannn.jdevelops.result.bean.SerializableBean;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -11,6 +12,9 @@ import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 /**
  * 导航分类表
@@ -54,4 +58,15 @@ public class NavCategory extends SerializableBean<NavCategory> {
     @Schema(description = "排序值")
     private Integer sort;
 
+    /**
+     * 更新时间，新增和修改时自动维护，增量备份据此判断行是否变更
+     */
+    @Column(columnDefinition = "datetime")
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @UpdateTimestamp
+    @Comment("更新时间")
+    @Schema(description = "更新时间")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updateTime;
+
 }
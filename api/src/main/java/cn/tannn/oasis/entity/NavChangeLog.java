@@ -0,0 +1,90 @@
+package cn.tannn.oasis.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * 数据变更记录（增量同步）
+ * <p> 导航项、分类、发布页面写入后各记一行，自增主键即同步版本号；同一条数据只保留最近一次记录，
+ * 客户端带上次的版本号来取之后变化过的数据，当前不存在（已删除、停用）的即为删除 </p>
+ * <p> 不参与备份，恢复数据后清空并写入一条 {@link #TYPE_RESET}，更早的版本需要全量同步 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Entity
+@Table(name = "nav_change_log", indexes = {
+        @Index(name = "idx_change_log_entity", columnList = "entityType,entityId")
+})
+@Comment("数据变更记录")
+@Schema(description = "数据变更记录")
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+public class NavChangeLog {
+
+    /**
+     * 导航项
+     */
+    public static final String TYPE_NAV = "nav";
+    /**
+     * 分类
+     */
+    public static final String TYPE_CATEGORY = "category";
+    /**
+     * 发布页面
+     */
+    public static final String TYPE_SITE = "site";
+    /**
+     * 全部重置（恢复数据）
+     */
+    public static final String TYPE_RESET = "reset";
+
+    /**
+     * 版本号
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 数据类型：nav、category、site、reset
+     */
+    @Column(columnDefinition = "varchar(20)", nullable = false)
+    @Comment("数据类型")
+    @Schema(description = "数据类型：nav、category、site、reset")
+    private String entityType;
+
+    /**
+     * 数据ID
+     */
+    @Column(columnDefinition = "int", nullable = false)
+    @Comment("数据ID")
+    @Schema(description = "数据ID")
+    private Integer entityId;
+
+    /**
+     * 变更时间
+     */
+    @Column(columnDefinition = "datetime", nullable = false)
+    @Comment("变更时间")
+    @Schema(description = "变更时间")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime changeTime;
+
+    public NavChangeLog(String entityType, Integer entityId, LocalDateTime changeTime) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeTime = changeTime;
+    }
+}
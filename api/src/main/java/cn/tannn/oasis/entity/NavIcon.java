@@ -0,0 +1,99 @@
+package cn.tannn.oasis.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Comment;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 图标存储（按内容哈希去重）
+ * <p> 导航项的 base64 图标解码后存到这里，导航项只保存 {@link #URL_PREFIX} + hash </p>
+ *
+ * @author tnnn
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Entity
+@Table(name = "nav_icon", indexes = {
+        @Index(name = "idx_icon_hash", columnList = "hash", unique = true)
+})
+@Comment("图标存储")
+@Schema(description = "图标存储")
+@Getter
+@Setter
+@ToString(exclude = "data")
+@RequiredArgsConstructor
+@DynamicUpdate
+@DynamicInsert
+public class NavIcon {
+
+    /**
+     * 图标访问路径前缀，后面拼接 hash
+     */
+    public static final String URL_PREFIX = "/webs/icon/";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * 内容哈希（SHA-256，十六进制小写）
+     */
+    @Column(columnDefinition = "varchar(64)", nullable = false)
+    @Comment("内容哈希")
+    @Schema(description = "内容哈希（SHA-256）")
+    private String hash;
+
+    /**
+     * 图片类型，如：image/png
+     */
+    @Column(columnDefinition = "varchar(100)", nullable = false)
+    @Comment("图片类型")
+    @Schema(description = "图片类型，如：image/png")
+    private String contentType;
+
+    /**
+     * 图片字节数
+     */
+    @Column(columnDefinition = "int")
+    @Comment("图片字节数")
+    @Schema(description = "图片字节数")
+    private Integer size;
+
+    /**
+     * 图片内容
+     */
+    @Column(columnDefinition = "blob", nullable = false)
+    @Comment("图片内容")
+    @JsonIgnore
+    private byte[] data;
+
+    @Column(columnDefinition = "datetime")
+    @Comment("创建时间")
+    @Schema(description = "创建时间")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createTime;
+
+    /**
+     * 图标访问路径
+     */
+    public static String url(String hash) {
+        return URL_PREFIX + hash;
+    }
+
+    /**
+     * 是否为图标存储的访问路径
+     */
+    public static boolean isIconUrl(String icon) {
+        return icon != null && icon.startsWith(URL_PREFIX);
+    }
+}
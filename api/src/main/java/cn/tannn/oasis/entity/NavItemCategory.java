@@ -0,0 +1,57 @@
+package cn.tannn.oasis.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Comment;
+
+/**
+ * 导航项与分类的关联表（多对多）
+ * <p> 由 {@link Navigation#getCategory()}（多个逗号隔开）拆分而来，只关联 nav_category 中存在的分类。
+ * 导航项新增、编辑、删除以及新增分类时同步维护 </p>
+ *
+ * @author tnnn
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Entity
+@Table(name = "nav_item_category", indexes = {
+        @Index(name = "idx_item_category_category_nav", columnList = "categoryId,navId", unique = true),
+        @Index(name = "idx_item_category_nav", columnList = "navId")
+})
+@Comment("导航项分类关联表")
+@Schema(description = "导航项分类关联")
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+public class NavItemCategory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * 导航项ID
+     */
+    @Column(columnDefinition = "int", nullable = false)
+    @Comment("导航项ID")
+    @Schema(description = "导航项ID")
+    private Integer navId;
+
+    /**
+     * 分类ID
+     */
+    @Column(columnDefinition = "int", nullable = false)
+    @Comment("分类ID")
+    @Schema(description = "分类ID")
+    private Integer categoryId;
+
+    public NavItemCategory(Integer navId, Integer categoryId) {
+        this.navId = navId;
+        this.categoryId = categoryId;
+    }
+}
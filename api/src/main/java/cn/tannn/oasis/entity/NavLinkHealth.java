@@ -0,0 +1,105 @@
+package cn.tannn.oasis.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导航项链接检测结果
+ * <p> 后台定时探测每个导航项的地址，一个导航项一行，只保留最近一次结果 </p>
+ * <p> 记录检测时的地址，地址修改后旧结果不再展示，等下一次检测 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Entity
+@Table(name = "nav_link_health", indexes = {
+        @Index(name = "idx_link_health_nav", columnList = "navId", unique = true)
+})
+@Comment("导航项链接检测结果")
+@Schema(description = "导航项链接检测结果")
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+public class NavLinkHealth {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * 导航项ID
+     */
+    @Column(columnDefinition = "int", nullable = false)
+    @Comment("导航项ID")
+    @Schema(description = "导航项ID")
+    private Integer navId;
+
+    /**
+     * 检测的地址
+     */
+    @Column(columnDefinition = "varchar(500)", nullable = false)
+    @Comment("检测的地址")
+    @Schema(description = "检测的地址")
+    private String url;
+
+    /**
+     * 是否可用
+     */
+    @Column(columnDefinition = "boolean", nullable = false)
+    @Comment("是否可用")
+    @Schema(description = "是否可用")
+    private Boolean healthy;
+
+    /**
+     * HTTP 状态码，没有拿到响应为 0
+     */
+    @Column(columnDefinition = "int")
+    @Comment("HTTP状态码，没有响应为0")
+    @Schema(description = "HTTP状态码，没有响应为0")
+    private Integer statusCode;
+
+    /**
+     * 响应耗时（毫秒）
+     */
+    @Column(columnDefinition = "int")
+    @Comment("响应耗时（毫秒）")
+    @Schema(description = "响应耗时（毫秒）")
+    private Integer latency;
+
+    /**
+     * 没有拿到响应的原因
+     */
+    @Column(columnDefinition = "varchar(255)")
+    @Comment("失败原因")
+    @Schema(description = "失败原因")
+    private String error;
+
+    /**
+     * 连续失败次数
+     */
+    @Column(columnDefinition = "int", nullable = false)
+    @ColumnDefault("0")
+    @Comment("连续失败次数")
+    @Schema(description = "连续失败次数")
+    private Integer failures;
+
+    /**
+     * 最近检测时间
+     */
+    @Column(columnDefinition = "datetime", nullable = false)
+    @Comment("最近检测时间")
+    @Schema(description = "最近检测时间")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime checkTime;
+}
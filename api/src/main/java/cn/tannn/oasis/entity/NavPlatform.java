@@ -0,0 +1,57 @@
+package cn.tannn.oasis.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Comment;
+
+/**
+ * 导航项与发布页面的关联表
+ * <p> 由 {@link Navigation#getShowPlatform()} 拆分而来，一个 routePath 一行，按 routePath 查询可以走索引。
+ * 导航项新增、编辑、删除时同步维护，showPlatform 为空（所有页面可见）时没有关联记录 </p>
+ *
+ * @author tnnn
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Entity
+@Table(name = "nav_item_platform", indexes = {
+        @Index(name = "idx_platform_route_nav", columnList = "routePath,navId", unique = true),
+        @Index(name = "idx_platform_nav", columnList = "navId")
+})
+@Comment("导航项发布页面关联表")
+@Schema(description = "导航项发布页面关联")
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+public class NavPlatform {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * 导航项ID
+     */
+    @Column(columnDefinition = "int", nullable = false)
+    @Comment("导航项ID")
+    @Schema(description = "导航项ID")
+    private Integer navId;
+
+    /**
+     * 发布页面的 routePath
+     */
+    @Column(columnDefinition = "varchar(100)", nullable = false)
+    @Comment("发布页面的routePath")
+    @Schema(description = "发布页面的routePath")
+    private String routePath;
+
+    public NavPlatform(Integer navId, String routePath) {
+        this.navId = navId;
+        this.routePath = routePath;
+    }
+}
@@ -0,0 +1,93 @@
+package cn.tannn.oasis.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Comment;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 导航项每日访问统计
+ * <p> 点击先在内存中计数，由后台定时合并写入，一个导航项在一个发布页面每天一行 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Entity
+@Table(name = "nav_visit_daily", indexes = {
+        @Index(name = "idx_visit_day_nav_route", columnList = "visitDate,navId,routePath", unique = true),
+        @Index(name = "idx_visit_nav", columnList = "navId")
+})
+@Comment("导航项每日访问统计")
+@Schema(description = "导航项每日访问统计")
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+public class NavVisitDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * 统计日期
+     */
+    @Column(columnDefinition = "date", nullable = false)
+    @Comment("统计日期")
+    @Schema(description = "统计日期")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd")
+    private LocalDate visitDate;
+
+    /**
+     * 导航项ID
+     */
+    @Column(columnDefinition = "int", nullable = false)
+    @Comment("导航项ID")
+    @Schema(description = "导航项ID")
+    private Integer navId;
+
+    /**
+     * 发布页面的 routePath，默认页（未带 routePath）为空字符串
+     */
+    @Column(columnDefinition = "varchar(100)", nullable = false)
+    @Comment("发布页面的routePath")
+    @Schema(description = "发布页面的routePath，默认页为空字符串")
+    private String routePath;
+
+    /**
+     * 点击次数
+     */
+    @Column(columnDefinition = "bigint", nullable = false)
+    @ColumnDefault("0")
+    @Comment("点击次数")
+    @Schema(description = "点击次数")
+    private Long hits;
+
+    /**
+     * 更新时间，增量备份据此判断行是否变更
+     */
+    @Column(columnDefinition = "datetime")
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @UpdateTimestamp
+    @Comment("更新时间")
+    @Schema(description = "更新时间")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updateTime;
+
+    public NavVisitDaily(LocalDate visitDate, Integer navId, String routePath, Long hits) {
+        this.visitDate = visitDate;
+        this.navId = navId;
+        this.routePath = routePath;
+        this.hits = hits;
+    }
+}
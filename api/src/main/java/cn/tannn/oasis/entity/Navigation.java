@@ -1,6 +1,7 @@
 package cn.tannn.oasis.entity;
 
 import cn.tannn.jdevelops.result.bean.SerializableBean;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -11,6 +12,9 @@ import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 /**
  * 导航项表
@@ -21,7 +25,7 @@ import org.hibernate.annotations.DynamicUpdate;
  */
 @Entity
 @Table(name = "nav_item", indexes = {
-        @Index(name = "idx_sort", columnList = "sort"),
+        @Index(name = "idx_sort_id", columnList = "sort, id"),
         @Index(name = "idx_category", columnList = "category")
 })
 @Comment("导航项表")
@@ -34,6 +38,13 @@ import org.hibernate.annotations.DynamicUpdate;
 @DynamicInsert
 public class Navigation extends SerializableBean<Navigation> {
 
+    /**
+     * 图标自动获取状态
+     */
+    public static final String ICON_PENDING = "PENDING";
+    public static final String ICON_DONE = "DONE";
+    public static final String ICON_FAILED = "FAILED";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -77,6 +88,14 @@ public class Navigation extends SerializableBean<Navigation> {
     @Schema(description = "图标[base64/url]")
     private String icon;
 
+    /**
+     * 图标自动获取状态；空、手动设置，PENDING、等待获取，DONE、已获取，FAILED、获取失败
+     */
+    @Column(columnDefinition = "varchar(20)")
+    @Comment("图标自动获取状态；空、手动设置，PENDING、等待获取，DONE、已获取，FAILED、获取失败")
+    @Schema(description = "图标自动获取状态；空、手动设置，PENDING、等待获取，DONE、已获取，FAILED、获取失败")
+    private String iconStatus;
+
     /**
      * 备注
      */
@@ -139,6 +158,17 @@ public class Navigation extends SerializableBean<Navigation> {
     @Schema(description = "发布页面，逗号分隔的routePath，如：dev,cp,public", example = "dev,cp")
     private String showPlatform;
 
+    /**
+     * 更新时间，新增和修改时自动维护，增量备份据此判断行是否变更
+     */
+    @Column(columnDefinition = "datetime")
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @UpdateTimestamp
+    @Comment("更新时间")
+    @Schema(description = "更新时间")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updateTime;
+
     /**
      * 将 showPlatform 字符串分割为列表
      */
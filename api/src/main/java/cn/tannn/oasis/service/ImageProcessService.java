@@ -0,0 +1,49 @@
+package cn.tannn.oasis.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 图片处理（base64 图片压缩）
+ * <p> 压缩在有界线程池中异步执行，调用方先保存原图，压缩完成后再替换，请求线程、数据库事务都不等待压缩；
+ * 相同内容的图片按哈希复用压缩结果 </p>
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+public interface ImageProcessService {
+
+    /**
+     * 异步压缩图片
+     * <p> url、空值原样完成；base64 在线程池中压缩，已压缩过的内容直接完成；
+     * 线程池已满或压缩失败时异常完成，调用方保留原图即可 </p>
+     *
+     * @param image 图片[base64/url]
+     * @return 压缩后的图片
+     * @throws IllegalArgumentException 既不是 url 也不是 base64
+     */
+    CompletableFuture<String> compress(String image);
+
+    /**
+     * 处理统计
+     *
+     * @return 统计
+     */
+    Stats stats();
+
+    /**
+     * 处理统计
+     *
+     * @param processed   实际压缩的次数
+     * @param cacheHits   命中缓存的次数
+     * @param fallbacks   线程池已满或压缩失败，保留原图的次数
+     * @param bytesIn     压缩前的字节数（base64 字符数，下同）
+     * @param bytesOut    压缩后的字节数
+     * @param totalMillis 压缩总耗时（毫秒）
+     * @param maxMillis   单次压缩最长耗时（毫秒）
+     * @param queued      等待压缩的任务数
+     */
+    record Stats(long processed, long cacheHits, long fallbacks, long bytesIn, long bytesOut,
+                 long totalMillis, long maxMillis, int queued) {
+    }
+}
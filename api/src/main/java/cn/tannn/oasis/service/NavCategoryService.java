@@ -25,4 +25,10 @@ public interface NavCategoryService extends J2Service<NavCategory> {
      * @param append NavCategoryAdd
      */
     void create(@Valid NavCategoryAdd append);
+
+    /**
+     * 删除导航分类
+     * @param categoryName 分类名称
+     */
+    void delete(String categoryName);
 }
@@ -0,0 +1,55 @@
+package cn.tannn.oasis.service;
+
+import cn.tannn.jdevelops.jpa.service.J2Service;
+import cn.tannn.oasis.entity.NavChangeLog;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 数据变更记录（增量同步）
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+public interface NavChangeLogService extends J2Service<NavChangeLog> {
+
+    /**
+     * 记录数据变更
+     * <p> 在事务中调用时等事务提交后再写入，版本号的先后与数据提交的先后一致，
+     * 读到某个版本号时它之前的数据一定已经提交 </p>
+     *
+     * @param entityType 数据类型 {@link NavChangeLog#TYPE_NAV} 等
+     * @param entityIds  数据ID
+     */
+    void record(String entityType, Collection<Integer> entityIds);
+
+    /**
+     * 清空记录并写入重置标记（恢复数据后调用），客户端需要全量同步
+     */
+    void reset();
+
+    /**
+     * 最新版本号
+     *
+     * @return 没有记录时为 0
+     */
+    long version();
+
+    /**
+     * 最近一次重置的版本号，早于它的版本需要全量同步
+     *
+     * @return 没有重置过为 0
+     */
+    long resetVersion();
+
+    /**
+     * 版本区间内的变更（同一条数据只有一行）
+     *
+     * @param since 客户端的版本号（不含）
+     * @param until 截止版本号（含）
+     * @return 变更记录
+     */
+    List<NavChangeLog> changes(long since, long until);
+}
@@ -0,0 +1,52 @@
+package cn.tannn.oasis.service;
+
+import cn.tannn.jdevelops.jpa.service.J2Service;
+import cn.tannn.oasis.entity.NavIcon;
+
+import java.util.Optional;
+
+/**
+ * 图标存储
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+public interface NavIconService extends J2Service<NavIcon> {
+
+    /**
+     * 保存图标
+     * <p> base64 图标解码后按内容哈希去重保存（原图，不压缩），返回图标访问路径；url 或空值原样返回 </p>
+     * <p> 图片类型按文件头判断，只保存 png/jpeg/gif/webp/ico，其他能解码的位图转成 png，svg 等拒绝 </p>
+     *
+     * @param icon 图标[base64/url]
+     * @return 图标[url/图标访问路径]
+     * @throws IllegalArgumentException 不支持的图标格式
+     */
+    String store(String icon);
+
+    /**
+     * 保存图标字节，按内容哈希去重
+     * <p> 在独立事务中写入并立即提交，调用方事务回滚时图标保留（按内容寻址，不影响其他数据） </p>
+     *
+     * @param data        图标字节
+     * @param contentType 图片类型，只接受 png/jpeg/gif/webp/ico
+     * @return 图标访问路径
+     * @throws IllegalArgumentException 不支持的图标格式
+     */
+    String store(byte[] data, String contentType);
+
+    /**
+     * 根据内容哈希获取图标
+     *
+     * @param hash 内容哈希
+     * @return NavIcon
+     */
+    Optional<NavIcon> findByHash(String hash);
+
+    /**
+     * 清空图标缓存
+     * <p> 数据恢复等直接改写图标表后调用 </p>
+     */
+    void clearCache();
+}
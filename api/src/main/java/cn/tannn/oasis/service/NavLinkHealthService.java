@@ -0,0 +1,26 @@
+package cn.tannn.oasis.service;
+
+import cn.tannn.jdevelops.jpa.service.J2Service;
+import cn.tannn.oasis.entity.NavLinkHealth;
+import cn.tannn.oasis.utils.LinkChecker;
+
+import java.util.Map;
+
+/**
+ * 导航项链接检测结果
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+public interface NavLinkHealthService extends J2Service<NavLinkHealth> {
+
+    /**
+     * 保存一轮检测的结果（同一事务），不在本轮中的导航项（已删除）的旧结果一并清理
+     *
+     * @param urls    导航项ID -> 检测的地址
+     * @param results 导航项ID -> 检测结果
+     * @return 不可用的链接数
+     */
+    int record(Map<Integer, String> urls, Map<Integer, LinkChecker.LinkProbe> results);
+}
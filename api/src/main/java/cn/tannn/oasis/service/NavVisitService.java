@@ -0,0 +1,43 @@
+package cn.tannn.oasis.service;
+
+import cn.tannn.jdevelops.jpa.service.J2Service;
+import cn.tannn.oasis.entity.NavVisitDaily;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 导航项访问统计
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+public interface NavVisitService extends J2Service<NavVisitDaily> {
+
+    /**
+     * 把一批点击增量累加到每日统计（同一事务）
+     * <p> 已被删除的导航项的增量直接丢弃 </p>
+     *
+     * @param deltas 增量，hits 为新增的点击数
+     * @return 写入的行数
+     */
+    int accumulate(List<NavVisitDaily> deltas);
+
+    /**
+     * 近期点击按天衰减后的热度
+     * <p> 每天的点击乘以 0.5^(距今天数 / 半衰期) 后累加 </p>
+     *
+     * @param halfLifeDays 半衰期（天）
+     * @param windowDays   统计最近多少天
+     * @return routePath -> 导航项ID -> 热度
+     */
+    Map<String, Map<Integer, Double>> decayedHits(double halfLifeDays, int windowDays);
+
+    /**
+     * 累计点击
+     *
+     * @return routePath -> 导航项ID -> 点击数
+     */
+    Map<String, Map<Integer, Long>> totals();
+}
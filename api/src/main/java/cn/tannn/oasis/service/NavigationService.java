@@ -2,10 +2,18 @@ package cn.tannn.oasis.service;
 
 import cn.tannn.jdevelops.jpa.service.J2Service;
 import cn.tannn.oasis.controller.dto.NavigationAdd;
+import cn.tannn.oasis.controller.dto.NavigationEdit;
+import cn.tannn.oasis.controller.vo.NavigationExport;
+import cn.tannn.oasis.controller.vo.NavigationUrl;
 import cn.tannn.oasis.entity.Navigation;
+import cn.tannn.oasis.utils.NavCursor;
 import jakarta.validation.Valid;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 导航项表
@@ -16,16 +24,114 @@ import java.util.List;
  */
 public interface NavigationService extends J2Service<Navigation> {
     /**
-     * 分类是否被使用
+     * 分类是否被使用（含作为次要分类）
      * @param category 分类
      * @return true存在 false不存在
      */
     boolean categoryUse(String category);
 
+    /**
+     * 各分类下的导航项数量
+     * @return 分类名称 -> 导航项数量，没有导航项的分类不在其中
+     */
+    Map<String, Long> categoryCounts();
+
+    /**
+     * 导航项的分类
+     * @return 导航项ID -> 分类名称
+     */
+    Map<Integer, Set<String>> categoryIndex();
+
+    /**
+     * 按 category 重建全部导航项的分类关联（启动、恢复数据后调用）
+     * @return 有分类关联的导航项数量
+     */
+    int syncCategories();
+
+    /**
+     * 按 category 重建一个分类的关联（新增分类后调用，已有导航项可能提前写了这个分类名称）
+     * @param categoryName 分类名称
+     * @return 关联的导航项数量
+     */
+    int syncCategory(String categoryName);
+
     /**
      * 新增导航项
      * @param append NavigationAdd
+     * @return 导航项
+     */
+    Navigation create(@Valid NavigationAdd append);
+
+    /**
+     * 编辑导航项（只更新非 null 值）
+     * @param edit NavigationEdit
+     */
+    void update(@Valid NavigationEdit edit);
+
+    /**
+     * 删除导航项
+     * @param id 导航项ID
+     */
+    void delete(Integer id);
+
+    /**
+     * 导航项的发布页面
+     * @return 导航项ID -> 发布页面的 routePath，没有指定发布页面的导航项不在其中
+     */
+    Map<Integer, Set<String>> platformIndex();
+
+    /**
+     * 按 showPlatform 重建全部导航项的发布页面关联（启动、恢复数据后调用）
+     * @return 有发布页面的导航项数量
+     */
+    int syncPlatforms();
+
+    /**
+     * 将导航项中的 base64 图标迁移到图标存储
+     * @return 迁移的导航项ID
+     */
+    List<Integer> migrateIcons();
+
+    /**
+     * 写入自动获取的图标
+     * <p> 只在导航项仍在等待获取、且地址没有变化时写入，期间被手动改过图标或改了地址的忽略 </p>
+     * @param id 导航项ID
+     * @param url 获取图标时使用的地址
+     * @param icon 图标访问路径，获取失败为 null
+     * @return 是否写入
+     */
+    boolean attachIcon(Integer id, String url, String icon);
+
+    /**
+     * 替换图标（压缩后的图标替换原图）
+     * <p> 只在导航项的图标仍是 icon 时替换，期间被修改过的忽略 </p>
+     * @param id 导航项ID
+     * @param icon 原图标访问路径
+     * @param replacement 新图标访问路径
+     * @return 是否替换
+     */
+    boolean replaceIcon(Integer id, String icon, String replacement);
+
+    /**
+     * 游标分页：按 (sort, id) 取游标之后的导航项，不统计总数
+     * @param where 查询条件
+     * @param after 游标位置，null 为第一页
+     * @param limit 最多返回条数
+     * @return 导航项
+     */
+    List<Navigation> findAfter(Specification<Navigation> where, NavCursor.Key after, int limit);
+
+    /**
+     * 流式导出全部导航项：逐行交给 consumer，不一次性加载到内存
+     * @param consumer 处理每一行（在只读事务内调用）
+     * @return 导出的行数
+     */
+    int export(Consumer<NavigationExport> consumer);
+
+    /**
+     * 全部有网址的导航项地址（只查 id、url）
+     * @return NavigationUrl
      */
-    void create(@Valid NavigationAdd append);
+    List<NavigationUrl> findUrls();
 
 }
@@ -31,6 +31,13 @@ public interface SitePublishService extends J2Service<SitePublish> {
      */
     void update(@Valid SitePublishEdit edit);
 
+    /**
+     * 删除站点发布配置
+     *
+     * @param id 站点发布配置ID
+     */
+    void delete(Integer id);
+
     /**
      * 根据路由路径查询配置
      *
@@ -18,4 +18,14 @@ public interface SysConfigsService extends J2Service<SysConfigs> {
      * @param password 登录密码
      */
     void login(String username, String password);
+
+    /**
+     * 替换站点图标（压缩后的图标替换原图）
+     * <p> 只在站点图标仍是 logo 时替换，期间被修改过的忽略 </p>
+     * @param configKey 配置键
+     * @param logo 原图标
+     * @param replacement 新图标
+     * @return 是否替换
+     */
+    boolean replaceSiteLogo(String configKey, String logo, String replacement);
 }
@@ -0,0 +1,172 @@
+package cn.tannn.oasis.service.impl;
+
+import cn.tannn.jdevelops.utils.core.file.ImageBase64Compressed;
+import cn.tannn.oasis.service.ImageProcessService;
+import cn.tannn.oasis.utils.ImageUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 图片处理
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+@Slf4j
+@Service
+public class ImageProcessServiceImpl implements ImageProcessService {
+
+    /**
+     * 缓存的压缩结果数
+     */
+    private static final int CACHE_SIZE = 128;
+
+    /**
+     * 等待压缩的最大任务数，超出的保留原图
+     */
+    private static final int QUEUE_CAPACITY = 16;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * base64 内容哈希 -> 压缩结果（LRU）；压缩结果自身的哈希也指向它，原样再次保存时直接命中
+     */
+    private final Map<String, String> results = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * 正在压缩的内容哈希，同一张图并发保存只压缩一次
+     */
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public ImageProcessServiceImpl(@Value("${oasis.image.workers:2}") int workers) {
+        AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+            Thread t = new Thread(r, "ImageProcess-" + index.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> compress(String image) {
+        if (image == null || image.isEmpty()) {
+            return CompletableFuture.completedFuture(image);
+        }
+        String type = ImageUtils.checkType(image);
+        if ("url".equals(type)) {
+            return CompletableFuture.completedFuture(image);
+        }
+        if (!"base64".equals(type)) {
+            throw new IllegalArgumentException("Unsupported image format");
+        }
+
+        // 按 base64 文本哈希，不需要解码
+        String hash = hash(image);
+        String cached = cached(hash);
+        if (cached != null) {
+            cacheHits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+        // 先登记再提交，任务结束时一定能移除自己的登记
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(hash, future);
+        if (running != null) {
+            return running;
+        }
+        // 登记前刚好有同一张图压缩完成
+        cached = cached(hash);
+        if (cached != null) {
+            inFlight.remove(hash, future);
+            cacheHits.increment();
+            future.complete(cached);
+            return future;
+        }
+        try {
+            executor.execute(() -> run(image, hash, future));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash, future);
+            fallbacks.increment();
+            future.completeExceptionally(new IllegalStateException("图片处理繁忙"));
+        }
+        return future;
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats(processed.sum(), cacheHits.sum(), fallbacks.sum(), bytesIn.sum(), bytesOut.sum(),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()), TimeUnit.NANOSECONDS.toMillis(maxNanos.get()),
+                executor.getQueue().size());
+    }
+
+    private void run(String image, String hash, CompletableFuture<String> future) {
+        long start = System.nanoTime();
+        try {
+            String compressed = ImageBase64Compressed.compressImageToBase64(image,
+                    ImageBase64Compressed.DatabaseType.MYSQL_TEXT);
+            long nanos = System.nanoTime() - start;
+            processed.increment();
+            bytesIn.add(image.length());
+            bytesOut.add(compressed.length());
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            synchronized (results) {
+                results.put(hash, compressed);
+                results.put(hash(compressed), compressed);
+            }
+            log.debug("图片压缩完成: {} -> {}，耗时 {} ms", image.length(), compressed.length(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+            future.complete(compressed);
+        } catch (Exception e) {
+            fallbacks.increment();
+            log.warn("图片压缩失败，保留原图: {}", e.getMessage());
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(hash, future);
+        }
+    }
+
+    private String cached(String hash) {
+        synchronized (results) {
+            return results.get(hash);
+        }
+    }
+
+    private static String hash(String image) {
+        return ImageUtils.sha256(image.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
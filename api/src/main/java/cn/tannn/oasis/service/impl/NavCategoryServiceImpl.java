@@ -5,10 +5,14 @@ import cn.tannn.jdevelops.jpa.service.J2ServiceImpl;
 import cn.tannn.oasis.controller.dto.NavCategoryAdd;
 import cn.tannn.oasis.dao.NavCategoryDao;
 import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.entity.NavChangeLog;
 import cn.tannn.oasis.service.NavCategoryService;
+import cn.tannn.oasis.service.NavChangeLogService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * 导航分类表
  *
@@ -20,8 +24,11 @@ import org.springframework.stereotype.Service;
 @Service
 public class NavCategoryServiceImpl extends J2ServiceImpl<NavCategoryDao, NavCategory, Integer> implements NavCategoryService {
 
-    public NavCategoryServiceImpl() {
+    private final NavChangeLogService navChangeLogService;
+
+    public NavCategoryServiceImpl(NavChangeLogService navChangeLogService) {
         super(NavCategory.class);
+        this.navChangeLogService = navChangeLogService;
     }
 
     @Override
@@ -34,6 +41,15 @@ public class NavCategoryServiceImpl extends J2ServiceImpl<NavCategoryDao, NavCat
         if(categoryExists(append.getCategoryName())) {
             throw new BusinessException("分类已存在,请勿重复添加");
         }
-        getJpaBasicsDao().save(append.to(NavCategory.class));
+        NavCategory category = getJpaBasicsDao().save(append.to(NavCategory.class));
+        navChangeLogService.record(NavChangeLog.TYPE_CATEGORY, List.of(category.getId()));
+    }
+
+    @Override
+    public void delete(String categoryName) {
+        getJpaBasicsDao().findByCategoryName(categoryName).ifPresent(category -> {
+            getJpaBasicsDao().delete(category);
+            navChangeLogService.record(NavChangeLog.TYPE_CATEGORY, List.of(category.getId()));
+        });
     }
 }
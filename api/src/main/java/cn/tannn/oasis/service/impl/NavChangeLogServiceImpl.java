@@ -0,0 +1,102 @@
+package cn.tannn.oasis.service.impl;
+
+import cn.tannn.jdevelops.jpa.service.J2ServiceImpl;
+import cn.tannn.oasis.dao.NavChangeLogDao;
+import cn.tannn.oasis.entity.NavChangeLog;
+import cn.tannn.oasis.service.NavChangeLogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 数据变更记录
+ * <p> 写入串行执行且各自独立提交：版本号按提交顺序分配，不会出现小版本号晚于大版本号提交而被客户端跳过的情况 </p>
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+@Slf4j
+@Service
+public class NavChangeLogServiceImpl extends J2ServiceImpl<NavChangeLogDao, NavChangeLog, Long> implements NavChangeLogService {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public NavChangeLogServiceImpl(PlatformTransactionManager transactionManager) {
+        super(NavChangeLog.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 事务提交后的回调中原事务的资源仍然绑定，必须开新事务
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void record(String entityType, Collection<Integer> entityIds) {
+        List<Integer> ids = entityIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(entityType, ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write(entityType, ids);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void reset() {
+        transactionTemplate.executeWithoutResult(status -> {
+            getJpaBasicsDao().deleteAllInBatch();
+            getJpaBasicsDao().save(new NavChangeLog(NavChangeLog.TYPE_RESET, 0, LocalDateTime.now()));
+        });
+    }
+
+    @Override
+    public long version() {
+        Long max = getJpaBasicsDao().maxId();
+        return max == null ? 0 : max;
+    }
+
+    @Override
+    public long resetVersion() {
+        return getJpaBasicsDao().findFirstByEntityTypeOrderByIdDesc(NavChangeLog.TYPE_RESET)
+                .map(NavChangeLog::getId)
+                .orElse(0L);
+    }
+
+    @Override
+    public List<NavChangeLog> changes(long since, long until) {
+        if (since >= until) {
+            return List.of();
+        }
+        return getJpaBasicsDao().findByIdGreaterThanAndIdLessThanEqual(since, until);
+    }
+
+    private synchronized void write(String entityType, List<Integer> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                getJpaBasicsDao().deleteByEntity(entityType, ids);
+                LocalDateTime now = LocalDateTime.now();
+                getJpaBasicsDao().saveAll(ids.stream()
+                        .map(id -> new NavChangeLog(entityType, id, now))
+                        .toList());
+            });
+        } catch (Exception e) {
+            // 数据已经提交，不能因为记录失败让写操作报错；客户端会漏掉这次变更，直到下一次修改或全量同步
+            log.error("记录数据变更失败，类型: {}，ID: {}", entityType, ids, e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package cn.tannn.oasis.service.impl;
+
+import cn.tannn.jdevelops.jpa.service.J2ServiceImpl;
+import cn.tannn.oasis.dao.NavIconDao;
+import cn.tannn.oasis.entity.NavIcon;
+import cn.tannn.oasis.service.NavIconService;
+import cn.tannn.oasis.utils.ImageUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * 图标存储
+ * <p> 写入在独立事务中执行：并发保存同一个图标时唯一索引冲突只回滚这次写入，不会把调用方的事务标记为只能回滚 </p>
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+@Slf4j
+@Service
+public class NavIconServiceImpl extends J2ServiceImpl<NavIconDao, NavIcon, Integer> implements NavIconService {
+
+    /**
+     * 缓存的图标总字节数上限
+     */
+    private static final long CACHE_BYTES = 8L * 1024 * 1024;
+
+    /**
+     * 超过这个大小的图标不缓存，避免一张大图挤掉其他图标
+     */
+    private static final int CACHE_MAX_ICON_BYTES = 256 * 1024;
+
+    /**
+     * hash -> 图标（LRU，按总字节数淘汰），内容按哈希寻址不会变化，命中就不再查库
+     */
+    private final LinkedHashMap<String, NavIcon> iconCache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public NavIconServiceImpl(PlatformTransactionManager transactionManager) {
+        super(NavIcon.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public String store(String icon) {
+        if (icon == null || icon.isEmpty() || NavIcon.isIconUrl(icon)) {
+            return icon;
+        }
+        if (!"base64".equals(ImageUtils.checkType(icon))) {
+            return icon;
+        }
+
+        // 先保存原图，压缩由 IconCompressWorker 在后台完成后替换
+        byte[] data = ImageUtils.decodeBase64(icon);
+        String contentType = ImageUtils.contentType(data);
+        if (!ImageUtils.isIconType(contentType)) {
+            // bmp 等能解码的位图转成 png；svg 可以携带脚本，不能从本站输出，直接拒绝
+            data = rasterize(data);
+            contentType = "image/png";
+        }
+        return store(data, contentType);
+    }
+
+    private static byte[] rasterize(byte[] data) {
+        BufferedImage image;
+        try {
+            image = ImageUtils.decode(data);
+            if (image != null) {
+                return ImageUtils.encodePng(image);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("图标解码失败: {}", e.getMessage());
+        }
+        throw new IllegalArgumentException("不支持的图标格式，请使用 png/jpeg/gif/webp/ico");
+    }
+
+    @Override
+    public String store(byte[] data, String contentType) {
+        if (!ImageUtils.isIconType(contentType)) {
+            throw new IllegalArgumentException("不支持的图标格式: " + contentType);
+        }
+        String hash = ImageUtils.sha256(data);
+        // 不按缓存跳过写入：缓存命中不代表表里还有这一行（如数据恢复后），始终按表判断
+        NavIcon navIcon = new NavIcon();
+        navIcon.setHash(hash);
+        navIcon.setContentType(contentType);
+        navIcon.setSize(data.length);
+        navIcon.setData(data);
+        navIcon.setCreateTime(LocalDateTime.now());
+        try {
+            Boolean inserted = transactionTemplate.execute(status -> {
+                if (getJpaBasicsDao().existsByHash(hash)) {
+                    return false;
+                }
+                getJpaBasicsDao().saveAndFlush(navIcon);
+                return true;
+            });
+            if (Boolean.TRUE.equals(inserted)) {
+                log.debug("保存图标: hash={}, size={}", hash, data.length);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 并发保存同一个图标，唯一索引冲突：回滚的只是这次写入，重新确认对方已经保存
+            if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> getJpaBasicsDao().existsByHash(hash)))) {
+                throw e;
+            }
+            log.debug("图标已存在: hash={}", hash);
+        }
+        return NavIcon.url(hash);
+    }
+
+    @Override
+    public Optional<NavIcon> findByHash(String hash) {
+        NavIcon cached = cached(hash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<NavIcon> icon = getJpaBasicsDao().findByHash(hash);
+        icon.ifPresent(this::cache);
+        return icon;
+    }
+
+    @Override
+    public void clearCache() {
+        synchronized (iconCache) {
+            iconCache.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    private NavIcon cached(String hash) {
+        synchronized (iconCache) {
+            return iconCache.get(hash);
+        }
+    }
+
+    private void cache(NavIcon icon) {
+        int size = icon.getData().length;
+        if (size > CACHE_MAX_ICON_BYTES) {
+            return;
+        }
+        synchronized (iconCache) {
+            NavIcon previous = iconCache.put(icon.getHash(), icon);
+            cachedBytes += size - (previous == null ? 0 : previous.getData().length);
+            // 按最久未访问的顺序淘汰
+            Iterator<NavIcon> eldest = iconCache.values().iterator();
+            while (cachedBytes > CACHE_BYTES && eldest.hasNext()) {
+                cachedBytes -= eldest.next().getData().length;
+                eldest.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cn.tannn.oasis.service.impl;
+
+import cn.tannn.jdevelops.jpa.service.J2ServiceImpl;
+import cn.tannn.oasis.dao.NavLinkHealthDao;
+import cn.tannn.oasis.entity.NavLinkHealth;
+import cn.tannn.oasis.service.NavLinkHealthService;
+import cn.tannn.oasis.utils.LinkChecker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 导航项链接检测结果
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+@Slf4j
+@Service
+public class NavLinkHealthServiceImpl extends J2ServiceImpl<NavLinkHealthDao, NavLinkHealth, Integer> implements NavLinkHealthService {
+
+    public NavLinkHealthServiceImpl() {
+        super(NavLinkHealth.class);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int record(Map<Integer, String> urls, Map<Integer, LinkChecker.LinkProbe> results) {
+        Map<Integer, NavLinkHealth> existing = new HashMap<>();
+        for (NavLinkHealth row : getJpaBasicsDao().findAll()) {
+            existing.put(row.getNavId(), row);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<NavLinkHealth> rows = new ArrayList<>(results.size());
+        int broken = 0;
+        for (Map.Entry<Integer, LinkChecker.LinkProbe> entry : results.entrySet()) {
+            LinkChecker.LinkProbe probe = entry.getValue();
+            String url = urls.get(entry.getKey());
+            NavLinkHealth row = existing.get(entry.getKey());
+            if (row == null) {
+                row = new NavLinkHealth();
+                row.setNavId(entry.getKey());
+            }
+            // 地址改过的重新计数
+            int failures = row.getFailures() == null || !Objects.equals(row.getUrl(), url) ? 0 : row.getFailures();
+            row.setUrl(url);
+            row.setHealthy(probe.healthy());
+            row.setStatusCode(probe.status());
+            row.setLatency((int) Math.min(Integer.MAX_VALUE, probe.latency()));
+            row.setError(probe.error());
+            row.setFailures(probe.healthy() ? 0 : failures + 1);
+            row.setCheckTime(now);
+            rows.add(row);
+            if (!probe.healthy()) {
+                broken++;
+            }
+        }
+        if (results.isEmpty()) {
+            getJpaBasicsDao().deleteAllInBatch();
+        } else {
+            getJpaBasicsDao().deleteByNavIdNotIn(results.keySet());
+        }
+        getJpaBasicsDao().saveAll(rows);
+        return broken;
+    }
+}
@@ -0,0 +1,100 @@
+package cn.tannn.oasis.service.impl;
+
+import cn.tannn.jdevelops.jpa.service.J2ServiceImpl;
+import cn.tannn.oasis.dao.NavVisitDailyDao;
+import cn.tannn.oasis.dao.NavigationDao;
+import cn.tannn.oasis.entity.NavVisitDaily;
+import cn.tannn.oasis.service.NavVisitService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 导航项访问统计
+ *
+ * @author tan
+ * @version 0.0.1
+ * @date 2026-10-18
+ */
+@Slf4j
+@Service
+public class NavVisitServiceImpl extends J2ServiceImpl<NavVisitDailyDao, NavVisitDaily, Integer> implements NavVisitService {
+
+    private final NavigationDao navigationDao;
+
+    public NavVisitServiceImpl(NavigationDao navigationDao) {
+        super(NavVisitDaily.class);
+        this.navigationDao = navigationDao;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int accumulate(List<NavVisitDaily> deltas) {
+        Set<LocalDate> dates = new HashSet<>();
+        Set<Integer> navIds = new HashSet<>();
+        for (NavVisitDaily delta : deltas) {
+            dates.add(delta.getVisitDate());
+            navIds.add(delta.getNavId());
+        }
+        // 写入前导航项已被删除的，丢弃它的增量，不再生成统计行
+        Set<Integer> existing = new HashSet<>(navigationDao.findExistingIds(navIds));
+        if (existing.isEmpty()) {
+            return 0;
+        }
+        // 一次查出涉及的已有统计行（同一批一般只有今天、最多加上昨天）
+        Map<VisitKey, NavVisitDaily> stored = new HashMap<>();
+        for (NavVisitDaily row : getJpaBasicsDao().findByVisitDateInAndNavIdIn(dates, existing)) {
+            stored.put(new VisitKey(row.getVisitDate(), row.getNavId(), row.getRoutePath()), row);
+        }
+        List<NavVisitDaily> rows = new ArrayList<>(deltas.size());
+        for (NavVisitDaily delta : deltas) {
+            if (!existing.contains(delta.getNavId())) {
+                continue;
+            }
+            NavVisitDaily row = stored.get(new VisitKey(delta.getVisitDate(), delta.getNavId(), delta.getRoutePath()));
+            if (row == null) {
+                rows.add(delta);
+            } else {
+                row.setHits(row.getHits() + delta.getHits());
+                rows.add(row);
+            }
+        }
+        getJpaBasicsDao().saveAll(rows);
+        return rows.size();
+    }
+
+    @Override
+    public Map<String, Map<Integer, Double>> decayedHits(double halfLifeDays, int windowDays) {
+        LocalDate today = LocalDate.now();
+        Map<String, Map<Integer, Double>> decayed = new HashMap<>();
+        for (NavVisitDaily row : getJpaBasicsDao().findByVisitDateGreaterThanEqual(today.minusDays(windowDays))) {
+            long age = ChronoUnit.DAYS.between(row.getVisitDate(), today);
+            double weight = Math.pow(0.5, age / halfLifeDays);
+            decayed.computeIfAbsent(row.getRoutePath(), k -> new HashMap<>())
+                    .merge(row.getNavId(), row.getHits() * weight, Double::sum);
+        }
+        return decayed;
+    }
+
+    @Override
+    public Map<String, Map<Integer, Long>> totals() {
+        Map<String, Map<Integer, Long>> totals = new HashMap<>();
+        for (Object[] row : getJpaBasicsDao().sumGroupByNavAndRoute()) {
+            totals.computeIfAbsent((String) row[1], k -> new HashMap<>())
+                    .put((Integer) row[0], ((Number) row[2]).longValue());
+        }
+        return totals;
+    }
+
+    private record VisitKey(LocalDate visitDate, Integer navId, String routePath) {
+    }
+}
@@ -2,13 +2,34 @@ package cn.tannn.oasis.service.impl;
 
 import cn.tannn.jdevelops.jpa.service.J2ServiceImpl;
 import cn.tannn.oasis.controller.dto.NavigationAdd;
+import cn.tannn.oasis.controller.dto.NavigationEdit;
+import cn.tannn.oasis.controller.vo.NavigationExport;
+import cn.tannn.oasis.controller.vo.NavigationUrl;
+import cn.tannn.oasis.dao.NavCategoryDao;
+import cn.tannn.oasis.dao.NavItemCategoryDao;
+import cn.tannn.oasis.dao.NavLinkHealthDao;
+import cn.tannn.oasis.dao.NavPlatformDao;
+import cn.tannn.oasis.dao.NavVisitDailyDao;
 import cn.tannn.oasis.dao.NavigationDao;
+import cn.tannn.oasis.entity.NavCategory;
+import cn.tannn.oasis.entity.NavChangeLog;
+import cn.tannn.oasis.entity.NavItemCategory;
+import cn.tannn.oasis.entity.NavPlatform;
 import cn.tannn.oasis.entity.Navigation;
+import cn.tannn.oasis.service.NavChangeLogService;
+import cn.tannn.oasis.service.NavIconService;
 import cn.tannn.oasis.service.NavigationService;
+import cn.tannn.oasis.utils.ImageUtils;
+import cn.tannn.oasis.utils.NavCursor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 导航项表
@@ -21,20 +42,324 @@ import java.util.List;
 @Service
 public class NavigationServiceImpl extends J2ServiceImpl<NavigationDao, Navigation, Integer> implements NavigationService {
 
-    public NavigationServiceImpl() {
+    private final NavIconService navIconService;
+    private final NavPlatformDao navPlatformDao;
+    private final NavItemCategoryDao navItemCategoryDao;
+    private final NavCategoryDao navCategoryDao;
+    private final NavVisitDailyDao navVisitDailyDao;
+    private final NavLinkHealthDao navLinkHealthDao;
+    private final NavChangeLogService navChangeLogService;
+
+    public NavigationServiceImpl(NavIconService navIconService,
+                                 NavPlatformDao navPlatformDao,
+                                 NavItemCategoryDao navItemCategoryDao,
+                                 NavCategoryDao navCategoryDao,
+                                 NavVisitDailyDao navVisitDailyDao,
+                                 NavLinkHealthDao navLinkHealthDao,
+                                 NavChangeLogService navChangeLogService) {
         super(Navigation.class);
+        this.navIconService = navIconService;
+        this.navPlatformDao = navPlatformDao;
+        this.navItemCategoryDao = navItemCategoryDao;
+        this.navCategoryDao = navCategoryDao;
+        this.navVisitDailyDao = navVisitDailyDao;
+        this.navLinkHealthDao = navLinkHealthDao;
+        this.navChangeLogService = navChangeLogService;
     }
 
     @Override
     public boolean categoryUse(String category) {
-        return this.getJpaBasicsDao().existsByCategory(category);
+        return navCategoryDao.findByCategoryName(category)
+                .map(bean -> navItemCategoryDao.existsByCategoryId(bean.getId()))
+                .orElse(false);
+    }
+
+    @Override
+    public Map<String, Long> categoryCounts() {
+        Map<Integer, String> names = categoryNames();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : navItemCategoryDao.countGroupByCategory()) {
+            String name = names.get((Integer) row[0]);
+            if (name != null) {
+                counts.put(name, (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Integer, Set<String>> categoryIndex() {
+        Map<Integer, String> names = categoryNames();
+        Map<Integer, Set<String>> index = new HashMap<>();
+        for (NavItemCategory member : navItemCategoryDao.findAll()) {
+            String name = names.get(member.getCategoryId());
+            if (name != null) {
+                index.computeIfAbsent(member.getNavId(), k -> new HashSet<>()).add(name);
+            }
+        }
+        return index;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int syncCategories() {
+        navItemCategoryDao.deleteAllInBatch();
+        Map<String, Integer> categoryIds = navCategoryDao.findAll().stream()
+                .collect(Collectors.toMap(NavCategory::getCategoryName, NavCategory::getId, (a, b) -> a));
+        int synced = 0;
+        for (Navigation navigation : getJpaBasicsDao().findAll()) {
+            if (saveCategories(navigation, categoryIds)) {
+                synced++;
+            }
+        }
+        return synced;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int syncCategory(String categoryName) {
+        NavCategory category = navCategoryDao.findByCategoryName(categoryName).orElse(null);
+        if (category == null) {
+            return 0;
+        }
+        navItemCategoryDao.deleteByCategoryId(category.getId());
+        List<NavItemCategory> members = new ArrayList<>();
+        for (Object[] row : getJpaBasicsDao().findCategoryContaining(category.getCategoryName())) {
+            if (splitCategory((String) row[1]).contains(category.getCategoryName())) {
+                members.add(new NavItemCategory((Integer) row[0], category.getId()));
+            }
+        }
+        navItemCategoryDao.saveAll(members);
+        return members.size();
     }
 
     @Override
-    public void create(NavigationAdd append) {
+    @Transactional(rollbackFor = Exception.class)
+    public Navigation create(NavigationAdd append) {
         if (this.getJpaBasicsDao().existsByName(append.getName())) {
             throw new IllegalArgumentException("名称已存在");
         }
-        getJpaBasicsDao().save(append.to(Navigation.class));
+        Navigation navigation = append.to(Navigation.class);
+        navigation.setIcon(navIconService.store(navigation.getIcon()));
+        navigation.setIconStatus(Boolean.TRUE.equals(append.getAutoIcon()) ? Navigation.ICON_PENDING : null);
+        getJpaBasicsDao().save(navigation);
+        savePlatforms(navigation);
+        saveCategories(navigation, null);
+        navChangeLogService.record(NavChangeLog.TYPE_NAV, List.of(navigation.getId()));
+        return navigation;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void update(NavigationEdit edit) {
+        getJpaBasicsDao().findById(edit.getId()).ifPresent(jpaBasics -> {
+            // 通用字段更新（只更新非 null 值）
+            if (edit.getName() != null) jpaBasics.setName(edit.getName());
+            if (edit.getUrl() != null) jpaBasics.setUrl(edit.getUrl());
+            if (edit.getSort() != null) jpaBasics.setSort(edit.getSort());
+            if (edit.getCategory() != null) jpaBasics.setCategory(edit.getCategory());
+            if (edit.getIcon() != null) jpaBasics.setIcon(navIconService.store(edit.getIcon()));
+            if (Boolean.TRUE.equals(edit.getAutoIcon())) {
+                jpaBasics.setIconStatus(Navigation.ICON_PENDING);
+            } else if (edit.getIcon() != null) {
+                // 手动设置了图标
+                jpaBasics.setIconStatus(null);
+            }
+            if (edit.getRemark() != null) jpaBasics.setRemark(edit.getRemark());
+            if (edit.getAccount() != null) jpaBasics.setAccount(edit.getAccount());
+            if (edit.getPassword() != null) jpaBasics.setPassword(edit.getPassword());
+            if (edit.getNvaAccessSecret() != null) jpaBasics.setNvaAccessSecret(edit.getNvaAccessSecret());
+            if (edit.getLookAccount() != null) jpaBasics.setLookAccount(edit.getLookAccount());
+            if (edit.getStatus() != null) jpaBasics.setStatus(edit.getStatus());
+            if(edit.getShowPlatform() == null || edit.getShowPlatform().isBlank()){
+                jpaBasics.setShowPlatform(null);
+            }else {
+                jpaBasics.setShowPlatform(edit.getShowPlatform());
+            }
+            getJpaBasicsDao().save(jpaBasics);
+            navPlatformDao.deleteByNavId(jpaBasics.getId());
+            savePlatforms(jpaBasics);
+            navItemCategoryDao.deleteByNavId(jpaBasics.getId());
+            saveCategories(jpaBasics, null);
+            navChangeLogService.record(NavChangeLog.TYPE_NAV, List.of(jpaBasics.getId()));
+        });
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void delete(Integer id) {
+        getJpaBasicsDao().deleteById(id);
+        navPlatformDao.deleteByNavId(id);
+        navItemCategoryDao.deleteByNavId(id);
+        navVisitDailyDao.deleteByNavId(id);
+        navLinkHealthDao.deleteByNavId(id);
+        navChangeLogService.record(NavChangeLog.TYPE_NAV, List.of(id));
+    }
+
+    @Override
+    public Map<Integer, Set<String>> platformIndex() {
+        Map<Integer, Set<String>> index = new HashMap<>();
+        for (NavPlatform platform : navPlatformDao.findAll()) {
+            index.computeIfAbsent(platform.getNavId(), k -> new HashSet<>()).add(platform.getRoutePath());
+        }
+        return index;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int syncPlatforms() {
+        navPlatformDao.deleteAllInBatch();
+        int synced = 0;
+        for (Navigation navigation : getJpaBasicsDao().findAll()) {
+            if (savePlatforms(navigation)) {
+                synced++;
+            }
+        }
+        return synced;
+    }
+
+    /**
+     * 按 category 保存导航项的分类关联，不存在的分类忽略
+     * @param categoryIds 分类名称 -> 分类ID，为 null 时按导航项的分类查询
+     * @return 是否有分类关联
+     */
+    private boolean saveCategories(Navigation navigation, Map<String, Integer> categoryIds) {
+        Set<String> names = splitCategory(navigation.getCategory());
+        if (names.isEmpty()) {
+            return false;
+        }
+        if (categoryIds == null) {
+            categoryIds = navCategoryDao.findByCategoryNameIn(names).stream()
+                    .collect(Collectors.toMap(NavCategory::getCategoryName, NavCategory::getId, (a, b) -> a));
+        }
+        List<NavItemCategory> members = new ArrayList<>();
+        for (String name : names) {
+            Integer categoryId = categoryIds.get(name);
+            if (categoryId != null) {
+                members.add(new NavItemCategory(navigation.getId(), categoryId));
+            }
+        }
+        navItemCategoryDao.saveAll(members);
+        return !members.isEmpty();
+    }
+
+    /**
+     * 分类ID -> 分类名称
+     */
+    private Map<Integer, String> categoryNames() {
+        return navCategoryDao.findAll().stream()
+                .collect(Collectors.toMap(NavCategory::getId, NavCategory::getCategoryName));
+    }
+
+    /**
+     * 拆分逗号隔开的分类
+     */
+    private static Set<String> splitCategory(String category) {
+        Set<String> names = new LinkedHashSet<>();
+        if (category == null) {
+            return names;
+        }
+        for (String name : category.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 按 showPlatform 保存导航项的发布页面关联
+     * @return 是否有发布页面
+     */
+    private boolean savePlatforms(Navigation navigation) {
+        Set<String> routePaths = new LinkedHashSet<>();
+        for (String routePath : navigation.getShowPlatformList()) {
+            if (!routePath.isBlank()) {
+                routePaths.add(routePath.trim());
+            }
+        }
+        if (routePaths.isEmpty()) {
+            return false;
+        }
+        navPlatformDao.saveAll(routePaths.stream()
+                .map(routePath -> new NavPlatform(navigation.getId(), routePath))
+                .toList());
+        return true;
+    }
+
+    @Override
+    public List<Integer> migrateIcons() {
+        List<Integer> migrated = new ArrayList<>();
+        for (Navigation navigation : getJpaBasicsDao().findAll()) {
+            String icon = navigation.getIcon();
+            if (icon == null || !"base64".equals(ImageUtils.checkType(icon))) {
+                continue;
+            }
+            try {
+                navigation.setIcon(navIconService.store(icon));
+                getJpaBasicsDao().save(navigation);
+                migrated.add(navigation.getId());
+            } catch (Exception e) {
+                // svg 等不能从本站输出的图标保留 base64 原样
+                log.warn("导航项 [{}] 图标迁移失败，保留原样: {}", navigation.getName(), e.getMessage());
+            }
+        }
+        navChangeLogService.record(NavChangeLog.TYPE_NAV, migrated);
+        return migrated;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean attachIcon(Integer id, String url, String icon) {
+        Navigation navigation = getJpaBasicsDao().findById(id).orElse(null);
+        if (navigation == null || !Navigation.ICON_PENDING.equals(navigation.getIconStatus())
+                || !Objects.equals(navigation.getUrl(), url)) {
+            return false;
+        }
+        if (icon == null) {
+            navigation.setIconStatus(Navigation.ICON_FAILED);
+        } else {
+            navigation.setIcon(icon);
+            navigation.setIconStatus(Navigation.ICON_DONE);
+            navChangeLogService.record(NavChangeLog.TYPE_NAV, List.of(id));
+        }
+        getJpaBasicsDao().save(navigation);
+        return true;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean replaceIcon(Integer id, String icon, String replacement) {
+        Navigation navigation = getJpaBasicsDao().findById(id).orElse(null);
+        if (navigation == null || !Objects.equals(navigation.getIcon(), icon)) {
+            return false;
+        }
+        navigation.setIcon(replacement);
+        getJpaBasicsDao().save(navigation);
+        navChangeLogService.record(NavChangeLog.TYPE_NAV, List.of(id));
+        return true;
+    }
+
+    @Override
+    public List<Navigation> findAfter(Specification<Navigation> where, NavCursor.Key after, int limit) {
+        Specification<Navigation> spec = after == null ? where : where.and(NavigationDao.after(after));
+        return getJpaBasicsDao().findBy(spec, query -> query.sortBy(NavigationDao.SEEK_ORDER).limit(limit).all());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int export(Consumer<NavigationExport> consumer) {
+        int count = 0;
+        try (Stream<NavigationExport> rows = getJpaBasicsDao().streamExport()) {
+            for (Iterator<NavigationExport> it = rows.iterator(); it.hasNext(); count++) {
+                consumer.accept(it.next());
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<NavigationUrl> findUrls() {
+        return getJpaBasicsDao().findUrls();
     }
 }
@@ -5,12 +5,15 @@ import cn.tannn.jdevelops.jpa.service.J2ServiceImpl;
 import cn.tannn.oasis.controller.dto.SitePublishAdd;
 import cn.tannn.oasis.controller.dto.SitePublishEdit;
 import cn.tannn.oasis.dao.SitePublishDao;
+import cn.tannn.oasis.entity.NavChangeLog;
 import cn.tannn.oasis.entity.SitePublish;
+import cn.tannn.oasis.service.NavChangeLogService;
 import cn.tannn.oasis.service.SitePublishService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,8 +27,11 @@ import java.util.List;
 @Service
 public class SitePublishServiceImpl extends J2ServiceImpl<SitePublishDao, SitePublish, Integer> implements SitePublishService {
 
-    public SitePublishServiceImpl() {
+    private final NavChangeLogService navChangeLogService;
+
+    public SitePublishServiceImpl(NavChangeLogService navChangeLogService) {
         super(SitePublish.class);
+        this.navChangeLogService = navChangeLogService;
     }
 
     @Override
@@ -42,6 +48,7 @@ public class SitePublishServiceImpl extends J2ServiceImpl<SitePublishDao, SitePu
 
         SitePublish entity = add.to(SitePublish.class);
         getJpaBasicsDao().save(entity);
+        navChangeLogService.record(NavChangeLog.TYPE_SITE, List.of(entity.getId()));
     }
 
     @Override
@@ -74,6 +81,13 @@ public class SitePublishServiceImpl extends J2ServiceImpl<SitePublishDao, SitePu
         entity.setDescription(edit.getDescription());
 
         getJpaBasicsDao().save(entity);
+        navChangeLogService.record(NavChangeLog.TYPE_SITE, List.of(entity.getId()));
+    }
+
+    @Override
+    public void delete(Integer id) {
+        getJpaBasicsDao().deleteById(id);
+        navChangeLogService.record(NavChangeLog.TYPE_SITE, List.of(id));
     }
 
     @Override
@@ -115,10 +129,12 @@ public class SitePublishServiceImpl extends J2ServiceImpl<SitePublishDao, SitePu
         List<SitePublish> currentDefaults = getJpaBasicsDao().findAllByDefPageTrue();
 
         // 将所有默认页设为非默认
+        List<Integer> changed = new ArrayList<>();
         for (SitePublish defPage : currentDefaults) {
             if (!defPage.getId().equals(id)) {
                 defPage.setDefPage(false);
                 getJpaBasicsDao().save(defPage);
+                changed.add(defPage.getId());
                 log.info("将站点 [{}] 设置为非默认页", defPage.getName());
             }
         }
@@ -126,6 +142,8 @@ public class SitePublishServiceImpl extends J2ServiceImpl<SitePublishDao, SitePu
         // 设置目标配置为默认页
         target.setDefPage(true);
         getJpaBasicsDao().save(target);
+        changed.add(target.getId());
+        navChangeLogService.record(NavChangeLog.TYPE_SITE, changed);
         log.info("将站点 [{}] 设置为默认页", target.getName());
     }
 
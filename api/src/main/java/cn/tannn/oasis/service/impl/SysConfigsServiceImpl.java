@@ -6,6 +6,9 @@ import cn.tannn.oasis.entity.SysConfigs;
 import cn.tannn.oasis.service.SysConfigsService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
 
 /**
  * 系统配置表
@@ -32,4 +35,17 @@ public class SysConfigsServiceImpl extends J2ServiceImpl<SysConfigsDao, SysConfi
             throw new RuntimeException("用户名或密码错误");
         }
     }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean replaceSiteLogo(String configKey, String logo, String replacement) {
+        SysConfigs config = getJpaBasicsDao().findOne((root, query, cb) ->
+                cb.equal(root.get("configKey"), configKey)).orElse(null);
+        if (config == null || !Objects.equals(config.getSiteLogo(), logo)) {
+            return false;
+        }
+        config.setSiteLogo(replacement);
+        getJpaBasicsDao().save(config);
+        return true;
+    }
 }
@@ -0,0 +1,94 @@
+package cn.tannn.oasis.timer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 一次备份（或恢复）的汇总结果
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Schema(description = "备份结果")
+@Getter
+@ToString
+public class BackupResult {
+
+    @Schema(description = "开始时间")
+    @JsonFormat(locale = "zh", timezone = "GMT+8", pattern = "yyyy-MM-dd HH:mm:ss")
+    private final LocalDateTime startTime;
+
+    @Schema(description = "总耗时(ms)，并行执行时约等于最慢的表")
+    private final long costTime;
+
+    @Schema(description = "是否全部成功")
+    private final boolean success;
+
+    @Schema(description = "成功的表数")
+    private final int successTables;
+
+    @Schema(description = "失败的表数")
+    private final int failedTables;
+
+    @Schema(description = "总行数")
+    private final long totalRows;
+
+    @Schema(description = "每张表的结果")
+    private final List<TableResult> tables;
+
+    public BackupResult(LocalDateTime startTime, long costTime, List<TableResult> tables) {
+        this.startTime = startTime;
+        this.costTime = costTime;
+        this.tables = tables;
+        this.successTables = (int) tables.stream().filter(TableResult::isSuccess).count();
+        this.failedTables = tables.size() - successTables;
+        this.totalRows = tables.stream().mapToLong(TableResult::getRows).sum();
+        this.success = failedTables == 0;
+    }
+
+    /**
+     * 单表结果
+     */
+    @Schema(description = "单表备份结果")
+    @Getter
+    @ToString
+    public static class TableResult {
+
+        @Schema(description = "表名")
+        private final String tableName;
+
+        @Schema(description = "是否成功")
+        private final boolean success;
+
+        @Schema(description = "行数")
+        private final long rows;
+
+        @Schema(description = "耗时(ms)")
+        private final long costTime;
+
+        @Schema(description = "失败原因")
+        private final String error;
+
+        private TableResult(String tableName, boolean success, long rows, long costTime, String error) {
+            this.tableName = tableName;
+            this.success = success;
+            this.rows = rows;
+            this.costTime = costTime;
+            this.error = error;
+        }
+
+        public static TableResult success(String tableName, long rows, long costTime) {
+            return new TableResult(tableName, true, rows, costTime, null);
+        }
+
+        public static TableResult fail(String tableName, long costTime, String error) {
+            return new TableResult(tableName, false, 0, costTime, error);
+        }
+    }
+}
@@ -2,17 +2,20 @@ package cn.tannn.oasis.timer;
 
 import cn.tannn.oasis.entity.BackupConfig;
 import cn.tannn.oasis.utils.DatabaseConfig;
+import cn.tannn.oasis.utils.DbConnectionPool;
 import cn.tannn.oasis.utils.DbTransferUtil;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
@@ -22,6 +25,52 @@ public class DataBackupScheduler {
     private ScheduledFuture<?> scheduledFuture;
     private BackupConfig currentConfig;
     private volatile boolean isRunning = false;
+    /**
+     * 最近一次备份结果
+     */
+    private volatile BackupResult lastResult;
+    /**
+     * 定时备份启动期间持有的目标库连接池引用，让连接池在两次备份之间常驻
+     */
+    private DbConnectionPool.Lease poolLease;
+
+    /**
+     * 同时迁移的最大表数，每张表占用源库、目标库各一个连接
+     */
+    private static final int MAX_PARALLEL_TABLES = 4;
+
+    /**
+     * 增量备份的对账间隔：比较两边全部主键，清理没有变更记录的表（如 nav_icon、nav_visit_daily）中已删除的行
+     */
+    private static final long RECONCILE_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    /**
+     * 最近一次增量对账的时间，0 表示启动后还没有对账过
+     */
+    private volatile long lastReconcileTime;
+
+    /**
+     * 表迁移线程池（有界），各表之间相互独立，并行迁移
+     */
+    private final ExecutorService transferExecutor = Executors.newFixedThreadPool(MAX_PARALLEL_TABLES, new ThreadFactory() {
+        private final AtomicInteger index = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "DataBackupTransfer-" + index.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    /**
+     * 游标读取每批行数
+     */
+    private final int fetchSize;
+
+    public DataBackupScheduler(@Value("${oasis.backup.fetch-size:500}") int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
 
     /**
      * 需要备份的表名列表
@@ -29,9 +78,11 @@ public class DataBackupScheduler {
     public static final String[] BACKUP_TABLES = {
             "nav_category",
             "nav_item",
+            "nav_icon",
             "backup_config",
             "system_config",
-            "site_publish"
+            "site_publish",
+            "nav_visit_daily"
     };
 
     /**
@@ -50,6 +101,7 @@ public class DataBackupScheduler {
         }
 
         this.currentConfig = config;
+        this.poolLease = DbConnectionPool.acquire(DatabaseConfig.createMysqlConfig(config, fetchSize));
         this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "DataBackupScheduler");
             t.setDaemon(true);
@@ -73,10 +125,12 @@ public class DataBackupScheduler {
     private void startWithFixedRate(BackupConfig config, DatabaseConfig h2Config) {
         try {
             long intervalSeconds = Long.parseLong(config.getSchedule());
-            DatabaseConfig mysqlConfig = DatabaseConfig.createMysqlConfig(config);
+            DatabaseConfig mysqlConfig = DatabaseConfig.createMysqlConfig(config, fetchSize);
+
+            boolean incremental = config.isIncrementalBackup();
 
             this.scheduledFuture = executor.scheduleAtFixedRate(
-                    () -> executeBackup(h2Config, mysqlConfig),
+                    () -> executeBackup(h2Config, mysqlConfig, incremental),
                     0,
                     intervalSeconds,
                     TimeUnit.SECONDS
@@ -95,10 +149,10 @@ public class DataBackupScheduler {
     private void startWithCron(BackupConfig config, DatabaseConfig h2Config) {
         try {
             CronExpression cronExpression = CronExpression.parse(config.getSchedule());
-            DatabaseConfig mysqlConfig = DatabaseConfig.createMysqlConfig(config);
+            DatabaseConfig mysqlConfig = DatabaseConfig.createMysqlConfig(config, fetchSize);
 
             // 计算下次执行时间
-            scheduleNextExecution(cronExpression, h2Config, mysqlConfig);
+            scheduleNextExecution(cronExpression, h2Config, mysqlConfig, config.isIncrementalBackup());
             log.info("使用Cron表达式模式: {}", config.getSchedule());
 
         } catch (Exception e) {
@@ -112,7 +166,8 @@ public class DataBackupScheduler {
      */
     private void scheduleNextExecution(CronExpression cronExpression,
                                        DatabaseConfig h2Config,
-                                       DatabaseConfig mysqlConfig) {
+                                       DatabaseConfig mysqlConfig,
+                                       boolean incremental) {
         if (executor.isShutdown()) {
             return;
         }
@@ -125,9 +180,9 @@ public class DataBackupScheduler {
                     - now.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
 
             this.scheduledFuture = executor.schedule(() -> {
-                executeBackup(h2Config, mysqlConfig);
+                executeBackup(h2Config, mysqlConfig, incremental);
                 // 调度下次执行
-                scheduleNextExecution(cronExpression, h2Config, mysqlConfig);
+                scheduleNextExecution(cronExpression, h2Config, mysqlConfig, incremental);
             }, delayMillis, TimeUnit.MILLISECONDS);
 
             log.debug("下次备份时间: {}", nextExecution);
@@ -136,26 +191,75 @@ public class DataBackupScheduler {
 
     /**
      * 执行备份任务
+     * @param incremental true 增量同步变更的行，false 删表重建全量导入
      */
-    private void executeBackup(DatabaseConfig h2Config, DatabaseConfig mysqlConfig) {
-        try {
-            log.info("开始执行数据备份...");
-            long startTime = System.currentTimeMillis();
-
-            for (String tableName : BACKUP_TABLES) {
-                try {
-                    DbTransferUtil.transferTable(h2Config, mysqlConfig, tableName);
-                    log.debug("表 {} 备份完成", tableName);
-                } catch (Exception e) {
-                    log.error("表 {} 备份失败", tableName, e);
-                }
+    private void executeBackup(DatabaseConfig h2Config, DatabaseConfig mysqlConfig, boolean incremental) {
+        // 备份期间持有连接池引用，期间停止定时任务、切换配置都不会关闭正在使用的连接池
+        try (DbConnectionPool.Lease lease = DbConnectionPool.acquire(mysqlConfig)) {
+            long now = System.currentTimeMillis();
+            boolean reconcile = incremental && now - lastReconcileTime >= RECONCILE_INTERVAL_MILLIS;
+            log.info("开始执行数据备份，模式: {}", !incremental ? "全量" : reconcile ? "增量（对账）" : "增量");
+            BackupResult result = transferTables(h2Config, mysqlConfig, incremental, reconcile);
+            if (reconcile && result.isSuccess()) {
+                lastReconcileTime = now;
             }
+            this.lastResult = result;
+            log.info("定时备份完成，成功: {}，失败: {}，行数: {}，耗时: {} ms",
+                    result.getSuccessTables(), result.getFailedTables(), result.getTotalRows(), result.getCostTime());
+        } catch (Exception e) {
+            log.error("定时备份失败", e);
+        }
+    }
 
-            long costTime = System.currentTimeMillis() - startTime;
-            log.info("定时备份完成，耗时: {} ms", costTime);
+    /**
+     * 并行迁移 {@link #BACKUP_TABLES}
+     * <p> 每张表在有界线程池中独立迁移，单表失败不影响其他表，总耗时约等于最慢的那张表 </p>
+     *
+     * @param source 源库
+     * @param target 目标库
+     * @param incremental true 增量同步变更的行，false 删表重建全量导入
+     * @param reconcile   增量时是否比较两边全部主键清理已删除的行
+     * @return 汇总结果
+     */
+    public BackupResult transferTables(DatabaseConfig source, DatabaseConfig target,
+                                       boolean incremental, boolean reconcile) {
+        LocalDateTime startTime = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+
+        List<Future<BackupResult.TableResult>> futures = new ArrayList<>(BACKUP_TABLES.length);
+        for (String tableName : BACKUP_TABLES) {
+            futures.add(transferExecutor.submit(() -> transferTable(source, target, tableName, incremental, reconcile)));
+        }
 
+        List<BackupResult.TableResult> tables = new ArrayList<>(BACKUP_TABLES.length);
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                tables.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                tables.add(BackupResult.TableResult.fail(BACKUP_TABLES[i], 0, "备份被中断"));
+            } catch (ExecutionException e) {
+                tables.add(BackupResult.TableResult.fail(BACKUP_TABLES[i], 0, e.getCause().getMessage()));
+            }
+        }
+        return new BackupResult(startTime, System.currentTimeMillis() - start, tables);
+    }
+
+    /**
+     * 迁移单张表
+     */
+    private BackupResult.TableResult transferTable(DatabaseConfig source, DatabaseConfig target,
+                                                   String tableName, boolean incremental, boolean reconcile) {
+        long start = System.currentTimeMillis();
+        try {
+            long rows = incremental
+                    ? DbTransferUtil.syncTable(source, target, tableName, reconcile)
+                    : DbTransferUtil.transferTable(source, target, tableName);
+            log.debug("表 {} 备份完成", tableName);
+            return BackupResult.TableResult.success(tableName, rows, System.currentTimeMillis() - start);
         } catch (Exception e) {
-            log.error("定时备份失败", e);
+            log.error("表 {} 备份失败", tableName, e);
+            return BackupResult.TableResult.fail(tableName, System.currentTimeMillis() - start, e.getMessage());
         }
     }
 
@@ -181,6 +285,10 @@ public class DataBackupScheduler {
             executor = null;
         }
 
+        if (poolLease != null) {
+            poolLease.close();
+            poolLease = null;
+        }
         this.isRunning = false;
         this.currentConfig = null;
         log.info("定时备份任务已停止");
@@ -193,6 +301,13 @@ public class DataBackupScheduler {
         return isRunning && scheduledFuture != null && !scheduledFuture.isCancelled();
     }
 
+    /**
+     * 获取最近一次备份结果，未执行过为 null
+     */
+    public BackupResult getLastResult() {
+        return lastResult;
+    }
+
     /**
      * 获取当前配置
      */
@@ -202,22 +317,44 @@ public class DataBackupScheduler {
 
     /**
      * 立即执行一次备份（不影响定时任务）
+     * @param full true 强制删表重建全量导入，false 按配置的模式执行
      */
-    public void executeOnce(BackupConfig config, DatabaseConfig h2Config) {
+    public void executeOnce(BackupConfig config, DatabaseConfig h2Config, boolean full) {
         if (config == null) {
             throw new IllegalArgumentException("备份配置不能为空");
         }
 
-        DatabaseConfig mysqlConfig = DatabaseConfig.createMysqlConfig(config);
+        DatabaseConfig mysqlConfig = DatabaseConfig.createMysqlConfig(config, fetchSize);
 
-        // 使用独立的线程执行
-        Thread backupThread = new Thread(() -> executeBackup(h2Config, mysqlConfig), "ManualBackup");
+        // 使用独立的线程执行，连接池在备份结束后释放
+        boolean incremental = !full && config.isIncrementalBackup();
+        Thread backupThread = new Thread(() -> executeBackup(h2Config, mysqlConfig, incremental), "ManualBackup");
         backupThread.setDaemon(true);
         backupThread.start();
     }
 
 
 
+    /**
+     * 从备份库全量恢复到 H2（保留主键写入，导入后重置 H2 的自增序列）
+     * <p> 恢复期间持有目标库连接池引用，结束后释放 </p>
+     *
+     * @param config   备份配置
+     * @param h2Config H2数据库配置
+     * @return 汇总结果
+     */
+    public BackupResult restore(BackupConfig config, DatabaseConfig h2Config) {
+        try (DbConnectionPool.Lease lease = DbConnectionPool.acquire(DatabaseConfig.createMysqlConfig(config, fetchSize))) {
+            return transferTables(lease.config(), h2Config, false, false);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stop();
+        transferExecutor.shutdownNow();
+    }
+
     /**
      * 判断是否为 Cron 表达式
      * 简单判断：包含空格且有多个字段的可能是cron表达式
@@ -0,0 +1,179 @@
+package cn.tannn.oasis.timer;
+
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
+import cn.tannn.oasis.entity.Navigation;
+import cn.tannn.oasis.service.NavIconService;
+import cn.tannn.oasis.service.NavigationService;
+import cn.tannn.oasis.utils.FaviconFetcher;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 网站图标后台获取
+ * <p> 保存导航项时勾选自动获取图标，iconStatus 置为 PENDING 后提交到这里，保存请求直接返回 </p>
+ * <p> 有界线程池 + 有界队列执行 {@link FaviconFetcher}，失败按指数退避重试，最终失败置为 FAILED；
+ * 队列满了的任务保持 PENDING，下次启动时重新排队 </p>
+ * <p> 图标写入后合并刷新导航快照，批量获取时不会每个图标都重建一次 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Slf4j
+@Component
+public class FaviconWorker {
+
+    /**
+     * 等待获取的最大任务数
+     */
+    private static final int QUEUE_CAPACITY = 1000;
+
+    /**
+     * 图标写入后延迟多久刷新快照（合并同一时间段内的多次写入）
+     */
+    private static final long REBUILD_DELAY_MILLIS = 1000;
+
+    private final NavigationService navigationService;
+    private final NavIconService navIconService;
+    private final NavigationSnapshotCache navigationSnapshotCache;
+    private final FaviconFetcher fetcher;
+    private final int retries;
+    private final long retrySeconds;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService scheduler;
+    /**
+     * 已排队（含等待重试）的导航项，避免重复提交
+     */
+    private final Set<Integer> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    public FaviconWorker(NavigationService navigationService,
+                         NavIconService navIconService,
+                         NavigationSnapshotCache navigationSnapshotCache,
+                         @Value("${oasis.favicon.workers:2}") int workers,
+                         @Value("${oasis.favicon.timeout-seconds:10}") long timeoutSeconds,
+                         @Value("${oasis.favicon.retries:3}") int retries,
+                         @Value("${oasis.favicon.retry-seconds:30}") long retrySeconds) {
+        this.navigationService = navigationService;
+        this.navIconService = navIconService;
+        this.navigationSnapshotCache = navigationSnapshotCache;
+        this.fetcher = new FaviconFetcher(Duration.ofSeconds(timeoutSeconds));
+        this.retries = retries;
+        this.retrySeconds = retrySeconds;
+        AtomicInteger index = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+            Thread t = new Thread(r, "FaviconWorker-" + index.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "FaviconWorker-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 启动时重新提交上次没有完成的任务
+     */
+    public void start() {
+        int pending = 0;
+        for (Navigation navigation : navigationService.finds()) {
+            if (Navigation.ICON_PENDING.equals(navigation.getIconStatus())) {
+                submit(navigation.getId());
+                pending++;
+            }
+        }
+        if (pending > 0) {
+            log.info("待获取图标的导航项: {}", pending);
+        }
+    }
+
+    /**
+     * 提交获取任务（导航项需已置为 PENDING），已在队列中的忽略
+     *
+     * @param navId 导航项ID
+     */
+    public void submit(Integer navId) {
+        if (navId != null && queued.add(navId)) {
+            enqueue(navId, 0);
+        }
+    }
+
+    private void enqueue(Integer navId, int attempt) {
+        try {
+            workers.execute(() -> fetch(navId, attempt));
+        } catch (RejectedExecutionException e) {
+            queued.remove(navId);
+            log.warn("图标获取队列已满，导航项 [{}] 保持等待状态，下次启动时重新获取", navId);
+        }
+    }
+
+    private void fetch(Integer navId, int attempt) {
+        Navigation navigation = navigationService.findOnly("id", navId).orElse(null);
+        if (navigation == null || !Navigation.ICON_PENDING.equals(navigation.getIconStatus())) {
+            // 已删除或期间手动设置了图标
+            queued.remove(navId);
+            return;
+        }
+        String url = navigation.getUrl();
+        String icon;
+        try {
+            FaviconFetcher.Icon fetched = fetcher.fetch(url);
+            icon = navIconService.store(fetched.data(), fetched.contentType());
+        } catch (Exception e) {
+            if (attempt < retries) {
+                long delay = retrySeconds << attempt;
+                log.debug("导航项 [{}] 图标获取失败，{} 秒后重试: {}", navId, delay, e.getMessage());
+                scheduler.schedule(() -> enqueue(navId, attempt + 1), delay, TimeUnit.SECONDS);
+                return;
+            }
+            log.warn("导航项 [{}] 图标获取失败: {}", navId, e.getMessage());
+            icon = null;
+        }
+        queued.remove(navId);
+        if (navigationService.attachIcon(navId, url, icon)) {
+            if (icon != null) {
+                scheduleRebuild();
+            }
+        } else {
+            // 获取期间地址被修改，按新地址重新获取
+            submit(navId);
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                rebuildScheduled.set(false);
+                try {
+                    navigationSnapshotCache.rebuild();
+                } catch (Exception e) {
+                    log.error("图标写入后刷新导航快照失败", e);
+                }
+            }, REBUILD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        workers.shutdownNow();
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,154 @@
+package cn.tannn.oasis.timer;
+
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
+import cn.tannn.oasis.entity.NavIcon;
+import cn.tannn.oasis.entity.Navigation;
+import cn.tannn.oasis.service.ImageProcessService;
+import cn.tannn.oasis.service.NavIconService;
+import cn.tannn.oasis.service.NavigationService;
+import cn.tannn.oasis.utils.ImageUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 上传图标后台压缩
+ * <p> 保存导航项时 base64 图标先按原图存入图标存储，保存请求直接返回；提交到这里后交给 {@link ImageProcessService} 压缩，
+ * 压缩结果更小时存入图标存储并替换导航项的图标，期间图标被修改过的不替换 </p>
+ * <p> 单线程逐个处理，压缩本身在图片处理线程池中执行；队列满了或重启丢失的任务保留原图，仍可正常显示 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Slf4j
+@Component
+public class IconCompressWorker {
+
+    /**
+     * 等待压缩的最大任务数
+     */
+    private static final int QUEUE_CAPACITY = 1000;
+
+    /**
+     * 图标替换后延迟多久刷新快照（合并同一时间段内的多次替换）
+     */
+    private static final long REBUILD_DELAY_MILLIS = 1000;
+
+    private final NavigationService navigationService;
+    private final NavIconService navIconService;
+    private final ImageProcessService imageProcessService;
+    private final NavigationSnapshotCache navigationSnapshotCache;
+
+    private final ThreadPoolExecutor worker;
+    private final ScheduledExecutorService scheduler;
+    /**
+     * 已排队的导航项，避免重复提交
+     */
+    private final Set<Integer> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    public IconCompressWorker(NavigationService navigationService,
+                              NavIconService navIconService,
+                              ImageProcessService imageProcessService,
+                              NavigationSnapshotCache navigationSnapshotCache) {
+        this.navigationService = navigationService;
+        this.navIconService = navIconService;
+        this.imageProcessService = imageProcessService;
+        this.navigationSnapshotCache = navigationSnapshotCache;
+        this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+            Thread t = new Thread(r, "IconCompressWorker");
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "IconCompressWorker-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 提交压缩任务（导航项的图标需已存入图标存储），已在队列中的忽略
+     *
+     * @param navId 导航项ID
+     */
+    public void submit(Integer navId) {
+        if (navId == null || !queued.add(navId)) {
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                queued.remove(navId);
+                compress(navId);
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(navId);
+            log.warn("图标压缩队列已满，导航项 [{}] 保留原图", navId);
+        }
+    }
+
+    private void compress(Integer navId) {
+        Navigation navigation = navigationService.findOnly("id", navId).orElse(null);
+        String icon = navigation == null ? null : navigation.getIcon();
+        if (!NavIcon.isIconUrl(icon)) {
+            return;
+        }
+        NavIcon original = navIconService.findByHash(icon.substring(NavIcon.URL_PREFIX.length())).orElse(null);
+        if (original == null) {
+            return;
+        }
+        try {
+            String image = "data:" + original.getContentType() + ";base64,"
+                    + Base64.getEncoder().encodeToString(original.getData());
+            String compressed = imageProcessService.compress(image).get();
+            byte[] data = ImageUtils.decodeBase64(compressed);
+            if (data.length >= original.getData().length) {
+                return;
+            }
+            String replacement = navIconService.store(data, ImageUtils.contentType(data));
+            if (navigationService.replaceIcon(navId, icon, replacement)) {
+                log.debug("导航项 [{}] 图标已压缩: {} -> {} 字节", navId, original.getData().length, data.length);
+                scheduleRebuild();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("导航项 [{}] 图标压缩失败，保留原图: {}", navId, e.getCause().getMessage());
+        } catch (Exception e) {
+            log.warn("导航项 [{}] 图标压缩失败，保留原图: {}", navId, e.getMessage());
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                rebuildScheduled.set(false);
+                try {
+                    navigationSnapshotCache.rebuild();
+                } catch (Exception e) {
+                    log.error("图标压缩后刷新导航快照失败", e);
+                }
+            }, REBUILD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        worker.shutdownNow();
+        scheduler.shutdownNow();
+    }
+}
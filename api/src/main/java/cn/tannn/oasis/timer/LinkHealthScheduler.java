@@ -0,0 +1,130 @@
+package cn.tannn.oasis.timer;
+
+import cn.tannn.oasis.controller.vo.NavigationUrl;
+import cn.tannn.oasis.service.NavLinkHealthService;
+import cn.tannn.oasis.service.NavigationService;
+import cn.tannn.oasis.utils.LinkChecker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 链接定时检测
+ * <p> 每隔 oasis.link-check.interval-minutes 分钟用 {@link LinkChecker} 探测所有导航项地址，结果写入 nav_link_health </p>
+ * <p> 同一时间只跑一轮，管理端手动触发时如果正在检测直接忽略 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Slf4j
+@Component
+public class LinkHealthScheduler {
+
+    private final NavigationService navigationService;
+    private final NavLinkHealthService navLinkHealthService;
+    private final LinkChecker linkChecker;
+    private final long intervalMinutes;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private ScheduledExecutorService executor;
+
+    public LinkHealthScheduler(NavigationService navigationService,
+                               NavLinkHealthService navLinkHealthService,
+                               @Value("${oasis.link-check.interval-minutes:360}") long intervalMinutes,
+                               @Value("${oasis.link-check.max-concurrent:64}") int maxConcurrent,
+                               @Value("${oasis.link-check.per-host:4}") int perHost,
+                               @Value("${oasis.link-check.timeout-seconds:5}") long timeoutSeconds,
+                               @Value("${oasis.link-check.retries:1}") int retries) {
+        this.navigationService = navigationService;
+        this.navLinkHealthService = navLinkHealthService;
+        this.intervalMinutes = intervalMinutes;
+        this.linkChecker = new LinkChecker(maxConcurrent, perHost, Duration.ofSeconds(timeoutSeconds),
+                retries, Duration.ofMillis(500));
+    }
+
+    /**
+     * 启动定时检测，启动后先等一个间隔，不拖慢启动
+     */
+    public synchronized void start() {
+        if (executor != null || intervalMinutes <= 0) {
+            return;
+        }
+        executor = newExecutor();
+        executor.scheduleWithFixedDelay(this::check, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        log.info("链接定时检测已启动，间隔: {} 分钟", intervalMinutes);
+    }
+
+    /**
+     * 立即在后台检测一轮
+     *
+     * @return false 已经在检测中
+     */
+    public synchronized boolean checkNow() {
+        if (running.get()) {
+            return false;
+        }
+        if (executor == null) {
+            executor = newExecutor();
+        }
+        executor.execute(this::check);
+        return true;
+    }
+
+    /**
+     * 是否正在检测
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void check() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Map<Integer, String> urls = new HashMap<>();
+            for (NavigationUrl navigation : navigationService.findUrls()) {
+                if (StringUtils.hasText(navigation.getUrl())) {
+                    urls.put(navigation.getId(), navigation.getUrl().trim());
+                }
+            }
+            long start = System.currentTimeMillis();
+            Map<Integer, LinkChecker.LinkProbe> results = linkChecker.checkAll(urls);
+            int broken = navLinkHealthService.record(urls, results);
+            log.info("链接检测完成，链接: {}，不可用: {}，耗时: {} ms", urls.size(), broken,
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("链接检测失败", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private static ScheduledExecutorService newExecutor() {
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "LinkHealthScheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        linkChecker.close();
+    }
+}
@@ -0,0 +1,85 @@
+package cn.tannn.oasis.timer;
+
+import cn.tannn.oasis.cache.NavRankingCache;
+import cn.tannn.oasis.cache.NavVisitCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 点击统计定时写入
+ * <p> 每隔 oasis.visit.flush-seconds 秒把 {@link NavVisitCounter} 中的增量批量写入 nav_visit_daily，停机前再写一次 </p>
+ * <p> 每隔 oasis.visit.rank-minutes 分钟重新统计近期热度，刷新 {@link NavRankingCache} 智能排序 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NavVisitFlusher {
+
+    private final NavVisitCounter navVisitCounter;
+    private final NavRankingCache navRankingCache;
+
+    @Value("${oasis.visit.flush-seconds:30}")
+    private long flushSeconds;
+
+    @Value("${oasis.visit.rank-minutes:10}")
+    private long rankMinutes;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * 启动定时写入
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "NavVisitFlusher");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::flush, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+        executor.scheduleWithFixedDelay(this::rank, 0, rankMinutes, TimeUnit.MINUTES);
+        log.info("点击统计定时写入已启动，写入间隔: {} 秒，热度统计间隔: {} 分钟", flushSeconds, rankMinutes);
+    }
+
+    private void rank() {
+        try {
+            navRankingCache.refresh();
+        } catch (Exception e) {
+            log.error("智能排序刷新失败", e);
+        }
+    }
+
+    private void flush() {
+        try {
+            int rows = navVisitCounter.flush();
+            if (rows > 0) {
+                log.debug("点击统计已写入，行数: {}", rows);
+            }
+        } catch (Exception e) {
+            // 已写入值没有推进，下次重试
+            log.error("点击统计写入失败", e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        flush();
+    }
+}
@@ -0,0 +1,136 @@
+package cn.tannn.oasis.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 列式 JSON：对象列表只写一次字段名
+ * <p> 元素都是同一个 bean 类型的集合写成 {@code {"columns":["id","name"],"rows":[[1,"a"],[2,"b"]]}}，
+ * 其余（空集合、基本类型、Map、混合类型）保持原样 </p>
+ * <p> 字段顺序、命名、日期格式、null 值都沿用 bean 原本的序列化配置，客户端按 columns 还原即可 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+public class ColumnarModule extends SimpleModule {
+
+    public static final String COLUMNS = "columns";
+    public static final String ROWS = "rows";
+
+    public ColumnarModule() {
+        super("ColumnarModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType valueType,
+                                                                BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                return new ColumnarSerializer(serializer);
+            }
+        });
+    }
+
+    /**
+     * 集合序列化：元素类型在运行时判断（ResultPageVO、ResultVO 中的泛型集合声明类型都是 Object）
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static final class ColumnarSerializer extends StdSerializer<Collection<?>>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer delegate;
+
+        ColumnarSerializer(JsonSerializer<?> delegate) {
+            super((Class) Collection.class);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                return new ColumnarSerializer(contextual.createContextual(provider, property));
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Collection<?> value) {
+            return value.isEmpty();
+        }
+
+        @Override
+        public void serialize(Collection<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Class<?> type = elementType(value);
+            JsonSerializer<Object> serializer = type == null ? null : provider.findValueSerializer(type);
+            if (!(serializer instanceof BeanSerializerBase bean)) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+            List<PropertyWriter> properties = new ArrayList<>();
+            Iterator<PropertyWriter> iterator = bean.properties();
+            iterator.forEachRemaining(properties::add);
+
+            gen.writeStartObject(value);
+            gen.writeArrayFieldStart(COLUMNS);
+            for (PropertyWriter property : properties) {
+                gen.writeString(property.getName());
+            }
+            gen.writeEndArray();
+            gen.writeArrayFieldStart(ROWS);
+            for (Object element : value) {
+                gen.writeStartArray();
+                for (PropertyWriter property : properties) {
+                    try {
+                        // 值为 null 或按配置省略时写占位 null，保证每行与 columns 对齐
+                        property.serializeAsElement(element, gen, provider);
+                    } catch (IOException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw JsonMappingException.from(gen, "列式序列化失败: " + property.getName(), e);
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+
+        /**
+         * 所有元素的公共类型，有 null 或类型不一致时返回 null
+         */
+        private static Class<?> elementType(Collection<?> value) {
+            Class<?> type = null;
+            for (Object element : value) {
+                if (element == null || (type != null && element.getClass() != type)) {
+                    return null;
+                }
+                type = element.getClass();
+            }
+            return type;
+        }
+    }
+}
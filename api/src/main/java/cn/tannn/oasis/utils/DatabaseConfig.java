@@ -6,10 +6,25 @@ import org.springframework.core.env.ConfigurableEnvironment;
 
 @Data
 public class DatabaseConfig {
+
+    /**
+     * 默认游标读取的每批行数
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    /**
+     * 游标读取每批行数的配置项
+     */
+    public static final String FETCH_SIZE_PROPERTY = "oasis.backup.fetch-size";
+
     private String url;
     private String username;
     private String password;
     private String driverClassName;
+    /**
+     * 流式读取时每次从数据库拉取的行数
+     */
+    private int fetchSize = DEFAULT_FETCH_SIZE;
 
     public DatabaseConfig( String url, String username, String password, String driverClassName) {
         this.url = url;
@@ -45,25 +60,31 @@ public class DatabaseConfig {
             driverClassName = env.getProperty("spring.datasource.driver-class-name");
         }
 
-        return new DatabaseConfig(
+        DatabaseConfig config = new DatabaseConfig(
                 url,
                 username,
                 password,
                 driverClassName
         );
+        config.setFetchSize(env.getProperty(FETCH_SIZE_PROPERTY, Integer.class, DEFAULT_FETCH_SIZE));
+        return config;
     }
 
 
     /**
      * 创建 MySQL 数据库配置
+     * @param config 备份配置
+     * @param fetchSize 游标读取每批行数
      */
-    public static DatabaseConfig createMysqlConfig(BackupConfig config) {
-        return new DatabaseConfig(
+    public static DatabaseConfig createMysqlConfig(BackupConfig config, int fetchSize) {
+        DatabaseConfig mysqlConfig = new DatabaseConfig(
                 config.getUrl(),
                 config.getUsername(),
                 config.getPassword(),
                 config.getDriverClassName()
         );
+        mysqlConfig.setFetchSize(fetchSize);
+        return mysqlConfig;
     }
 
 }
@@ -0,0 +1,180 @@
+package cn.tannn.oasis.utils;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 备份数据库连接池
+ * <p> 按数据源（url + 账户）维护 HikariCP 连接池，引用计数：每次使用前 {@link #acquire(DatabaseConfig)}，
+ * 用完关闭返回的 {@link Lease}，最后一个使用方释放后关闭连接池。定时备份在启动期间持有一个引用让连接池常驻，
+ * 每次备份、立即备份、恢复各自再持有一个引用，正在使用的连接池不会被别人关闭，一次性的连接池用完即关闭。
+ * 已创建连接池的数据源，{@link DbTransferUtil} 会从池中取连接，避免每张表都重新握手、认证 </p>
+ * <p> 创建连接池不连接数据库，校验在后台进行，不阻塞调用方 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@Slf4j
+public class DbConnectionPool {
+
+    /**
+     * 每个连接池的最大连接数，与并行迁移的表数保持一致
+     */
+    private static final int MAX_POOL_SIZE = 4;
+
+    /**
+     * 获取连接的等待时间：数据库不可用时尽快失败，不让备份线程长时间挂起
+     */
+    private static final long CONNECTION_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * 数据源 -> 连接池，读写都在 POOLS 上同步
+     */
+    private static final Map<String, Pooled> POOLS = new HashMap<>();
+    private static final AtomicInteger POOL_INDEX = new AtomicInteger();
+
+    private DbConnectionPool() {
+    }
+
+    /**
+     * 引用连接池（不存在则创建），用完需关闭返回的 Lease
+     *
+     * @param cfg 数据库配置
+     * @return 连接池引用
+     */
+    public static Lease acquire(DatabaseConfig cfg) {
+        String key = key(cfg);
+        HikariDataSource created = null;
+        synchronized (POOLS) {
+            Pooled pooled = POOLS.get(key);
+            if (pooled == null) {
+                created = create(cfg);
+                pooled = new Pooled(created);
+                POOLS.put(key, pooled);
+            }
+            pooled.refs++;
+        }
+        if (created != null) {
+            validate(created);
+        }
+        return new Lease(cfg, key);
+    }
+
+    /**
+     * 从连接池获取连接
+     *
+     * @param cfg 数据库配置
+     * @return 连接，数据源没有连接池时返回 null
+     */
+    static Connection getConnection(DatabaseConfig cfg) throws SQLException {
+        HikariDataSource pool;
+        synchronized (POOLS) {
+            Pooled pooled = POOLS.get(key(cfg));
+            pool = pooled == null ? null : pooled.pool;
+        }
+        return pool == null ? null : pool.getConnection();
+    }
+
+    private static void release(String key) {
+        HikariDataSource closing = null;
+        synchronized (POOLS) {
+            Pooled pooled = POOLS.get(key);
+            if (pooled != null && --pooled.refs <= 0) {
+                POOLS.remove(key);
+                closing = pooled.pool;
+            }
+        }
+        if (closing != null) {
+            closing.close();
+            log.info("备份连接池已关闭: {}", closing.getPoolName());
+        }
+    }
+
+    /**
+     * 后台取一次连接做校验，失败只记录日志，数据库恢复后可继续使用
+     */
+    private static void validate(HikariDataSource pool) {
+        CompletableFuture.runAsync(() -> {
+            try (Connection conn = pool.getConnection()) {
+                log.info("备份连接池已就绪: {}", pool.getPoolName());
+            } catch (SQLException e) {
+                log.warn("备份连接池校验失败: {}, error={}", pool.getPoolName(), e.getMessage());
+            }
+        });
+    }
+
+    private static HikariDataSource create(DatabaseConfig cfg) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("backup-" + POOL_INDEX.getAndIncrement());
+        config.setJdbcUrl(DbTransferUtil.jdbcUrl(cfg));
+        config.setUsername(cfg.getUsername());
+        config.setPassword(cfg.getPassword());
+        if (cfg.getDriverClassName() != null) {
+            config.setDriverClassName(cfg.getDriverClassName());
+        }
+        config.setMaximumPoolSize(MAX_POOL_SIZE);
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(CONNECTION_TIMEOUT_MILLIS);
+        config.setTransactionIsolation("TRANSACTION_READ_COMMITTED");
+        // 备份是定时任务，空闲连接不必一直占着共享的 MySQL
+        config.setIdleTimeout(10 * 60 * 1000L);
+        // 创建时不连接数据库，数据库不可用不影响创建，后续取连接时再重试
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    private static String key(DatabaseConfig cfg) {
+        return cfg.getUrl() + "|" + cfg.getUsername() + "|" + cfg.getPassword();
+    }
+
+    private static final class Pooled {
+        private final HikariDataSource pool;
+        /**
+         * 引用数，只在 POOLS 同步块中读写
+         */
+        private int refs;
+
+        private Pooled(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * 连接池引用，关闭时释放（重复关闭无影响）
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final DatabaseConfig config;
+        private final String key;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(DatabaseConfig config, String key) {
+            this.config = config;
+            this.key = key;
+        }
+
+        /**
+         * 引用的数据库配置
+         */
+        public DatabaseConfig config() {
+            return config;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(key);
+            }
+        }
+    }
+}
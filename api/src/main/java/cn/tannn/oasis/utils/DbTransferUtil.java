@@ -1,15 +1,79 @@
 package cn.tannn.oasis.utils;
 
+import cn.tannn.oasis.entity.NavChangeLog;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
 
 @Slf4j
 public class DbTransferUtil {
 
     private static final int BATCH_SIZE = 1000; // 批处理大小
 
+    /**
+     * 增量备份使用的行变更标记列，按顺序取第一个存在的列
+     * <p> update_time 由实体的 @UpdateTimestamp 维护；只写不改的表（如 nav_icon）用 create_time </p>
+     */
+    private static final String[] CHANGE_MARKER_COLUMNS = {"update_time", "create_time"};
+
+    /**
+     * 增量水位回退的毫秒数
+     * <p> MySQL datetime 不保留毫秒（四舍五入到秒），与水位同一秒内更新的行比较时可能被当作已同步，
+     * 水位回退一秒重新写入这些边界行，重复写入由 upsert 保证幂等 </p>
+     */
+    private static final long WATERMARK_SLACK_MILLIS = 1000;
+
+    /**
+     * 数据变更记录表（{@link NavChangeLog}），增量同步时用作删除标记
+     */
+    private static final String CHANGE_LOG_TABLE = "nav_change_log";
+
+    /**
+     * 有变更记录的表：表名 -> 变更记录的数据类型
+     * <p> 这些表增量同步时只检查变更记录中出现过的主键，不用比较整张表的主键 </p>
+     */
+    private static final Map<String, String> CHANGE_LOG_TYPES = Map.of(
+            "nav_item", NavChangeLog.TYPE_NAV,
+            "nav_category", NavChangeLog.TYPE_CATEGORY,
+            "site_publish", NavChangeLog.TYPE_SITE
+    );
+
+    /**
+     * 表结构缓存：数据源 + 表名 -> 结构指纹和表结构
+     * <p> 表结构很少变化，指纹一致时直接复用，省去列、主键、索引等多次元数据查询 </p>
+     */
+    private static final Map<String, CachedStructure> STRUCTURE_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 目标表建表记录：目标库 + 表名 -> 建表时的源表指纹和建好后的目标表指纹
+     * <p> 两个指纹都没变，说明目标表就是按当前结构建的，全量迁移时不需要删表重建 </p>
+     */
+    private static final Map<String, BuiltTable> BUILT_TABLE_CACHE = new ConcurrentHashMap<>();
+
+    private record CachedStructure(String fingerprint, TableStructure structure) {
+    }
+
+    private record BuiltTable(String sourceFingerprint, String targetFingerprint) {
+    }
+
+    /**
+     * 行写入方式
+     */
+    private enum WriteMode {
+        /**
+         * 插入并保留主键：其他表按主键引用（如 nav_visit_daily.navId），恢复、增量备份都需要两边主键一致
+         */
+        INSERT_WITH_KEYS,
+        /**
+         * 按主键插入或更新
+         */
+        UPSERT
+    }
+
     /**
      * 列信息实体类
      */
@@ -46,6 +110,10 @@ public class DbTransferUtil {
         public Map<String, List<String>> indexes;
         public String engine;
         public String charset;
+        /**
+         * 结构指纹，见 {@link #schemaFingerprint(Connection, String, DatabaseConfig)}
+         */
+        public String fingerprint;
 
         public TableStructure(String tableName) {
             this.tableName = tableName;
@@ -61,8 +129,9 @@ public class DbTransferUtil {
      * @param sourceCfg 源数据库配置
      * @param targetCfg 目标数据库配置
      * @param tableName 表名
+     * @return 迁移的行数
      */
-    public static void transferTable(DatabaseConfig sourceCfg, DatabaseConfig targetCfg, String tableName) throws Exception {
+    public static long transferTable(DatabaseConfig sourceCfg, DatabaseConfig targetCfg, String tableName) throws Exception {
         log.info("开始迁移表: {} 从 {} 到 {}", tableName, sourceCfg.getDriverClassName(), targetCfg.getDriverClassName());
         long startTime = System.currentTimeMillis();
 
@@ -75,30 +144,86 @@ public class DbTransferUtil {
 
             try {
                 // 1. 获取完整的表结构
-                TableStructure tableStructure = getCompleteTableStructure(sourceConn, tableName, sourceCfg);
+                TableStructure tableStructure = getTableStructure(sourceConn, tableName, sourceCfg);
                 if (tableStructure == null) {
                     throw new RuntimeException("未找到表结构: " + tableName);
                 }
 
-                // 2. 目标库删表重建
-                dropTableIfExists(targetConn, tableName);
-                createTableFromStructure(targetConn, tableStructure, targetCfg);
+                // 2. 目标库删表重建，并导入数据
+                long totalRows = rebuildTable(sourceConn, targetConn, tableStructure, sourceCfg, targetCfg);
+
+                // 提交事务
+                targetConn.commit();
 
-                // 3. 查询源库数据并获取列信息
-                List<List<Object>> data = new ArrayList<>();
-                List<String> columns = new ArrayList<>();
-                int totalRows = queryTableData(sourceConn, tableName, data, columns);
+                long costTime = System.currentTimeMillis() - startTime;
+                log.info("表 {} 迁移完成，行数: {}，耗时: {} ms", tableName, totalRows, costTime);
+                return totalRows;
 
-                // 4. 批量插入数据 - 传递表结构信息
-                if (!data.isEmpty()) {
-                    insertDataInBatch(targetConn, tableName, columns, data, tableStructure);
+            } catch (Exception e) {
+                targetConn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 从 sourceDb 增量同步表到 targetDb，只写入变更的行
+     * <p> 1. 表没有变更标记列（{@link #CHANGE_MARKER_COLUMNS}）或不是单列主键，退回全量迁移 </p>
+     * <p> 2. 目标表不存在或列不一致，删表重建并保留主键，作为后续增量的基线 </p>
+     * <p> 3. 否则：以目标库标记列的最大值为水位，删除水位之后源库已删除的行，
+     *        再把源库中标记列 >= 水位的行按主键 upsert 到目标库 </p>
+     * <p> 删除的行按变更记录（{@link #CHANGE_LOG_TYPES}）查找，开销与变更数量相关；
+     *     没有变更记录的表只在 reconcile 时比较两边全部主键 </p>
+     *
+     * @param sourceCfg 源数据库配置
+     * @param targetCfg 目标数据库配置
+     * @param tableName 表名
+     * @param reconcile 是否比较两边全部主键，清理所有源库已删除的行
+     * @return 写入（新增、更新、删除）的行数
+     */
+    public static long syncTable(DatabaseConfig sourceCfg, DatabaseConfig targetCfg, String tableName,
+                                 boolean reconcile) throws Exception {
+        log.info("开始增量同步表: {} 从 {} 到 {}", tableName, sourceCfg.getDriverClassName(), targetCfg.getDriverClassName());
+        long startTime = System.currentTimeMillis();
+
+        try (
+                Connection sourceConn = getConnection(sourceCfg);
+                Connection targetConn = getConnection(targetCfg)
+        ) {
+            targetConn.setAutoCommit(false);
+
+            try {
+                TableStructure tableStructure = getTableStructure(sourceConn, tableName, sourceCfg);
+                if (tableStructure == null) {
+                    throw new RuntimeException("未找到表结构: " + tableName);
+                }
+
+                String marker = findChangeMarker(tableStructure);
+                long changedRows;
+                if (marker == null || tableStructure.primaryKeys.size() != 1) {
+                    log.info("表 {} 没有变更标记列或单列主键，使用全量迁移", tableName);
+                    changedRows = rebuildTable(sourceConn, targetConn, tableStructure, sourceCfg, targetCfg);
+                } else if ((!tableExists(targetConn, tableName) && !tableExists(targetConn, tableName.toUpperCase()))
+                        || !sameColumns(targetConn, tableStructure)) {
+                    log.info("表 {} 在目标库不存在或结构不一致，重建基线", tableName);
+                    changedRows = rebuildTable(sourceConn, targetConn, tableStructure, sourceCfg, targetCfg);
+                } else {
+                    String primaryKey = tableStructure.primaryKeys.get(0);
+                    Timestamp since = watermark(targetConn, tableName, marker);
+                    long deleted = reconcile
+                            ? deleteRemovedRows(sourceConn, targetConn, sourceCfg, targetCfg, tableName, primaryKey)
+                            : deleteLoggedRows(sourceConn, targetConn, tableName, primaryKey, since);
+                    long upserted = upsertChangedRows(sourceConn, targetConn, tableStructure, marker, since,
+                            sourceCfg, targetCfg);
+                    changedRows = deleted + upserted;
+                    log.debug("表 {} 增量：删除 {} 行，写入 {} 行", tableName, deleted, upserted);
                 }
 
-                // 提交事务
                 targetConn.commit();
 
                 long costTime = System.currentTimeMillis() - startTime;
-                log.info("表 {} 迁移完成，行数: {}，耗时: {} ms", tableName, totalRows, costTime);
+                log.info("表 {} 增量同步完成，变更行数: {}，耗时: {} ms", tableName, changedRows, costTime);
+                return changedRows;
 
             } catch (Exception e) {
                 targetConn.rollback();
@@ -107,6 +232,368 @@ public class DbTransferUtil {
         }
     }
 
+    /**
+     * 补齐变更标记列为空的行
+     * <p> 变更标记列由 ddl-auto 后加时，历史行为空，增量同步按水位永远查不到它们；
+     * 启动时统一设为当前时间，下一次增量同步把这些行同步一次 </p>
+     *
+     * @param config 数据库配置
+     * @return 补齐的行数
+     */
+    public static long fillChangeMarkers(DatabaseConfig config) throws Exception {
+        long filled = 0;
+        try (Connection conn = getConnection(config)) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            for (String tableName : getTableNames(config)) {
+                Set<String> columns = new HashSet<>();
+                try (ResultSet rs = metaData.getColumns(null, null, tableName, null)) {
+                    while (rs.next()) {
+                        columns.add(rs.getString("COLUMN_NAME").toLowerCase());
+                    }
+                }
+                for (String marker : CHANGE_MARKER_COLUMNS) {
+                    if (columns.contains(marker)) {
+                        try (Statement stmt = conn.createStatement()) {
+                            int rows = stmt.executeUpdate("UPDATE " + tableName + " SET " + marker
+                                    + " = CURRENT_TIMESTAMP WHERE " + marker + " IS NULL");
+                            if (rows > 0) {
+                                log.info("表 {} 补齐变更标记 {}: {} 行", tableName, marker, rows);
+                            }
+                            filled += rows;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        return filled;
+    }
+
+    /**
+     * 目标库删表重建并导入全部数据
+     * <p> 目标表是按当前源表结构建的（指纹未变）时跳过删表建表，只清空数据 </p>
+     * <p> 保留主键写入，保证增量同步、恢复后其他表按主键的引用仍然有效；
+     * MySQL 会自动推进自增值，H2 不会，导入后把自增序列重置到最大主键之后 </p>
+     *
+     * @return 导入的行数
+     */
+    private static long rebuildTable(Connection sourceConn, Connection targetConn, TableStructure tableStructure,
+                                     DatabaseConfig sourceCfg, DatabaseConfig targetCfg) throws SQLException {
+        String tableName = tableStructure.tableName;
+        String builtKey = cacheKey(targetCfg, tableName);
+        BuiltTable built = BUILT_TABLE_CACHE.get(builtKey);
+        String targetFingerprint = built == null ? null : schemaFingerprint(targetConn, tableName, targetCfg);
+
+        if (built != null && tableStructure.fingerprint != null
+                && tableStructure.fingerprint.equals(built.sourceFingerprint())
+                && built.targetFingerprint().equals(targetFingerprint)) {
+            // 结构未变化，清空数据即可，在事务内执行，导入失败可以回滚
+            log.debug("表 {} 结构未变化，跳过删表建表", tableName);
+            executeSql(targetConn, "DELETE FROM " + tableName);
+        } else {
+            dropTableIfExists(targetConn, tableName);
+            createTableFromStructure(targetConn, tableStructure, targetCfg);
+            targetFingerprint = schemaFingerprint(targetConn, tableName, targetCfg);
+            if (tableStructure.fingerprint != null && targetFingerprint != null) {
+                BUILT_TABLE_CACHE.put(builtKey, new BuiltTable(tableStructure.fingerprint, targetFingerprint));
+            } else {
+                BUILT_TABLE_CACHE.remove(builtKey);
+            }
+        }
+
+        // 流式读取源库数据，边读边批量写入目标库（内存中最多只有一个批次）
+        long rows = copyTableData(sourceConn, targetConn, "SELECT * FROM " + tableStructure.tableName,
+                tableStructure, sourceCfg, targetCfg, WriteMode.INSERT_WITH_KEYS);
+        if (!isMySQL(targetCfg)) {
+            restartIdentity(targetConn, tableStructure);
+        }
+        return rows;
+    }
+
+    /**
+     * 把自增列的序列重置到当前最大值之后（H2 插入显式主键不会推进序列）
+     */
+    private static void restartIdentity(Connection conn, TableStructure structure) throws SQLException {
+        for (ColumnInfo column : structure.columns) {
+            if (!column.autoIncrement) {
+                continue;
+            }
+            long next = 1;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MAX(" + column.columnName + ") FROM " + structure.tableName)) {
+                if (rs.next()) {
+                    next = rs.getLong(1) + 1;
+                }
+            }
+            executeSql(conn, "ALTER TABLE " + structure.tableName + " ALTER COLUMN " + column.columnName
+                    + " RESTART WITH " + next);
+        }
+    }
+
+    /**
+     * 删除目标库中源库已经不存在的行
+     * <p> 比较两边全部主键，开销与表大小相关，只在对账（reconcile）时执行 </p>
+     *
+     * @return 删除的行数
+     */
+    private static long deleteRemovedRows(Connection sourceConn, Connection targetConn,
+                                          DatabaseConfig sourceCfg, DatabaseConfig targetCfg,
+                                          String tableName, String primaryKey) throws SQLException {
+        Set<Object> sourceKeys = queryKeys(sourceConn, tableName, primaryKey, sourceCfg.getFetchSize());
+        Set<Object> targetKeys = queryKeys(targetConn, tableName, primaryKey, targetCfg.getFetchSize());
+        targetKeys.removeAll(sourceKeys);
+        return deleteKeys(targetConn, tableName, primaryKey, targetKeys);
+    }
+
+    /**
+     * 按变更记录删除目标库中源库已经不存在的行
+     * <p> 导航项、分类、发布页面删除时会写变更记录，只需检查水位之后变更过的主键在源库是否还存在 </p>
+     * <p> 表没有变更记录，或水位之后变更记录被重置过（恢复数据）时不处理，留给对账 </p>
+     *
+     * @param since 水位，null 表示目标表为空
+     * @return 删除的行数
+     */
+    private static long deleteLoggedRows(Connection sourceConn, Connection targetConn, String tableName,
+                                         String primaryKey, Timestamp since) throws SQLException {
+        String entityType = CHANGE_LOG_TYPES.get(tableName.toLowerCase());
+        if (entityType == null || since == null
+                || (!tableExists(sourceConn, CHANGE_LOG_TABLE) && !tableExists(sourceConn, CHANGE_LOG_TABLE.toUpperCase()))) {
+            return 0;
+        }
+
+        Set<Object> changedKeys = new HashSet<>();
+        boolean reset = false;
+        try (PreparedStatement ps = sourceConn.prepareStatement("SELECT entity_type, entity_id FROM " + CHANGE_LOG_TABLE
+                + " WHERE (entity_type = ? OR entity_type = ?) AND change_time >= ?")) {
+            ps.setString(1, entityType);
+            ps.setString(2, NavChangeLog.TYPE_RESET);
+            ps.setTimestamp(3, since);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (NavChangeLog.TYPE_RESET.equals(rs.getString(1))) {
+                        reset = true;
+                    } else {
+                        changedKeys.add(rs.getLong(2));
+                    }
+                }
+            }
+        }
+        if (reset) {
+            log.info("表 {} 的变更记录在水位之后被重置，删除的行留给对账处理", tableName);
+            return 0;
+        }
+        if (changedKeys.isEmpty()) {
+            return 0;
+        }
+
+        // 变更过但源库还存在的是新增、修改，剩下的才是删除
+        List<Object> keys = new ArrayList<>(changedKeys);
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<Object> chunk = keys.subList(from, Math.min(from + BATCH_SIZE, keys.size()));
+            String sql = "SELECT " + primaryKey + " FROM " + tableName + " WHERE " + primaryKey
+                    + " IN (" + "?,".repeat(chunk.size() - 1) + "?)";
+            try (PreparedStatement ps = sourceConn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setObject(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        changedKeys.remove(rs.getLong(1));
+                    }
+                }
+            }
+        }
+        return deleteKeys(targetConn, tableName, primaryKey, changedKeys);
+    }
+
+    /**
+     * 按主键批量删除
+     *
+     * @return 删除的行数
+     */
+    private static long deleteKeys(Connection conn, String tableName, String primaryKey,
+                                   Collection<Object> keys) throws SQLException {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        String sql = "DELETE FROM " + tableName + " WHERE " + primaryKey + " = ?";
+        log.debug("删除SQL: {}, 行数: {}", sql, keys.size());
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int batchCount = 0;
+            for (Object key : keys) {
+                ps.setObject(1, key);
+                ps.addBatch();
+                if (++batchCount >= BATCH_SIZE) {
+                    ps.executeBatch();
+                    ps.clearBatch();
+                    batchCount = 0;
+                }
+            }
+            if (batchCount > 0) {
+                ps.executeBatch();
+            }
+        }
+        return keys.size();
+    }
+
+    /**
+     * 增量水位：目标库变更标记列的最大值回退 {@link #WATERMARK_SLACK_MILLIS}
+     *
+     * @return 水位，目标表为空时返回 null
+     */
+    private static Timestamp watermark(Connection targetConn, String tableName, String marker) throws SQLException {
+        try (Statement stmt = targetConn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(" + marker + ") FROM " + tableName)) {
+            Timestamp max = rs.next() ? rs.getTimestamp(1) : null;
+            return max == null ? null : new Timestamp(max.getTime() - WATERMARK_SLACK_MILLIS);
+        }
+    }
+
+    /**
+     * 把源库中变更标记 >= 水位的行 upsert 到目标库
+     * <p> 用 >= 而不是 >，并且水位已回退，同一时刻写入的多行、精度截断的边界行都会重新写入，重复写入由 upsert 保证幂等 </p>
+     *
+     * @param since 水位，null 时同步全部行
+     * @return 写入的行数
+     */
+    private static long upsertChangedRows(Connection sourceConn, Connection targetConn, TableStructure structure,
+                                          String marker, Timestamp since,
+                                          DatabaseConfig sourceCfg, DatabaseConfig targetCfg) throws SQLException {
+        String tableName = structure.tableName;
+        if (since == null) {
+            return copyTableData(sourceConn, targetConn, "SELECT * FROM " + tableName,
+                    structure, sourceCfg, targetCfg, WriteMode.UPSERT);
+        }
+        // 标记列为空的历史行由启动时的 fillChangeMarkers 补齐，这里不再每次重复同步
+        String sql = "SELECT * FROM " + tableName + " WHERE " + marker + " >= ?";
+        return copyTableData(sourceConn, targetConn, sql, structure, sourceCfg, targetCfg, WriteMode.UPSERT, since);
+    }
+
+    /**
+     * 查询表的全部主键
+     */
+    private static Set<Object> queryKeys(Connection conn, String tableName, String primaryKey,
+                                         int fetchSize) throws SQLException {
+        Set<Object> keys = new HashSet<>();
+        try (Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet rs = stmt.executeQuery("SELECT " + primaryKey + " FROM " + tableName)) {
+                while (rs.next()) {
+                    // 统一成 Long，避免两边驱动返回 Integer/Long 不一致导致比较失败
+                    Object key = rs.getObject(1);
+                    keys.add(key instanceof Number number ? (Object) number.longValue() : key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 查找表的变更标记列
+     *
+     * @return 列名，没有返回 null
+     */
+    private static String findChangeMarker(TableStructure structure) {
+        for (String marker : CHANGE_MARKER_COLUMNS) {
+            for (ColumnInfo column : structure.columns) {
+                if (column.columnName.equalsIgnoreCase(marker)) {
+                    return column.columnName;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 目标表的列是否与源表一致（只比较列名）
+     */
+    private static boolean sameColumns(Connection targetConn, TableStructure structure) throws SQLException {
+        Set<String> targetColumns = new HashSet<>();
+        try (Statement stmt = targetConn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + structure.tableName + " WHERE 1 = 0")) {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                targetColumns.add(meta.getColumnName(i).toLowerCase());
+            }
+        }
+        Set<String> sourceColumns = new HashSet<>();
+        for (ColumnInfo column : structure.columns) {
+            sourceColumns.add(column.columnName.toLowerCase());
+        }
+        return sourceColumns.equals(targetColumns);
+    }
+
+    private static boolean isMySQL(DatabaseConfig config) {
+        return config.getDriverClassName() != null && config.getDriverClassName().toLowerCase().contains("mysql");
+    }
+
+    /**
+     * 获取表结构，优先使用缓存
+     * <p> 先用一次查询算出结构指纹，与缓存一致直接返回缓存的结构，否则重新读取完整的表结构 </p>
+     */
+    private static TableStructure getTableStructure(Connection conn, String tableName, DatabaseConfig config) throws SQLException {
+        String key = cacheKey(config, tableName);
+        String fingerprint = schemaFingerprint(conn, tableName, config);
+        CachedStructure cached = STRUCTURE_CACHE.get(key);
+        if (fingerprint != null && cached != null && fingerprint.equals(cached.fingerprint())) {
+            log.debug("表 {} 结构未变化，使用缓存的表结构", tableName);
+            return cached.structure();
+        }
+
+        TableStructure structure = getCompleteTableStructure(conn, tableName, config);
+        if (structure != null && fingerprint != null) {
+            structure.fingerprint = fingerprint;
+            STRUCTURE_CACHE.put(key, new CachedStructure(fingerprint, structure));
+        } else {
+            STRUCTURE_CACHE.remove(key);
+        }
+        return structure;
+    }
+
+    /**
+     * 计算表结构指纹
+     * <p> 只查一次 INFORMATION_SCHEMA.COLUMNS，对列名、类型、长度、精度、可空、默认值做 CRC32。
+     * 索引不参与计算：源库（H2）的索引只会在应用启动时由 Hibernate 调整，而缓存本身随应用重启失效 </p>
+     *
+     * @return 指纹，表不存在或数据库不支持时返回 null（不使用缓存）
+     */
+    private static String schemaFingerprint(Connection conn, String tableName, DatabaseConfig config) {
+        String schema = isMySQL(config) ? "DATABASE()" : "CURRENT_SCHEMA";
+        String sql = "SELECT COLUMN_NAME, DATA_TYPE, CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, NUMERIC_SCALE, "
+                + "IS_NULLABLE, COLUMN_DEFAULT FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE UPPER(TABLE_NAME) = UPPER(?) AND TABLE_SCHEMA = " + schema + " ORDER BY ORDINAL_POSITION";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                StringBuilder columns = new StringBuilder();
+                int columnCount = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    for (int i = 1; i <= columnCount; i++) {
+                        columns.append(rs.getString(i)).append('|');
+                    }
+                    columns.append('\n');
+                }
+                if (columns.isEmpty()) {
+                    return null;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(columns.toString().getBytes(StandardCharsets.UTF_8));
+                return Long.toHexString(crc.getValue()) + "-" + columns.length();
+            }
+        } catch (SQLException e) {
+            log.debug("计算表 {} 结构指纹失败，不使用结构缓存: {}", tableName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 缓存键：数据源 + 表名
+     */
+    private static String cacheKey(DatabaseConfig config, String tableName) {
+        return config.getUrl() + "|" + config.getUsername() + "|" + tableName.toLowerCase();
+    }
+
     /**
      * 获取完整的表结构信息
      */
@@ -849,6 +1336,9 @@ public class DbTransferUtil {
                     }
                 case "BLOB":
                     return "BLOB";
+                case "BINARY LARGE OBJECT":
+                    // H2 2.x 中 blob 列的类型名
+                    return "MEDIUMBLOB";
                 case "DATE":
                     return "DATE";
                 case "TIME":
@@ -963,13 +1453,39 @@ public class DbTransferUtil {
 
     /**
      * 获取数据库连接
+     * <p> 数据源已创建连接池（{@link DbConnectionPool#acquire(DatabaseConfig)}）时从池中获取，否则新建连接 </p>
      */
     private static Connection getConnection(DatabaseConfig cfg) throws Exception {
+        Connection pooled = DbConnectionPool.getConnection(cfg);
+        if (pooled != null) {
+            return pooled;
+        }
+
         if (cfg.getDriverClassName() != null) {
             Class.forName(cfg.getDriverClassName());
         }
 
-        // 优化 MySQL 连接 URL，添加必要的参数
+        String url = jdbcUrl(cfg);
+        log.debug("尝试连接数据库: {}", maskPassword(url));
+
+        try {
+            Connection conn = DriverManager.getConnection(url, cfg.getUsername(), cfg.getPassword());
+            conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            log.debug("数据库连接成功");
+            return conn;
+        } catch (Exception e) {
+            log.error("数据库连接失败: url={}, username={}, error={}",
+                    maskPassword(url), cfg.getUsername(), e.getMessage());
+            throw new Exception("数据库连接失败: " + e.getMessage() +
+                    "\n请检查：\n1. 数据库服务是否启动\n2. URL、端口是否正确\n3. 用户名密码是否正确\n4. 网络是否可达", e);
+        }
+    }
+
+    /**
+     * 获取连接 URL
+     * <p> 优化 MySQL 连接 URL，添加必要的参数 </p>
+     */
+    static String jdbcUrl(DatabaseConfig cfg) {
         String url = cfg.getUrl();
         if (url.contains("mysql")) {
             if (!url.contains("?")) {
@@ -990,23 +1506,14 @@ public class DbTransferUtil {
             if (!url.contains("socketTimeout")) {
                 url += "&socketTimeout=30000";
             }
+            // 服务端游标，配合 fetchSize 分批拉取，避免驱动把整个结果集读进内存
+            if (!url.contains("useCursorFetch")) {
+                url += "&useCursorFetch=true";
+            }
             // 清理开头可能多余的 &
             url = url.replace("?&", "?");
         }
-
-        log.debug("尝试连接数据库: {}", maskPassword(url));
-
-        try {
-            Connection conn = DriverManager.getConnection(url, cfg.getUsername(), cfg.getPassword());
-            conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-            log.debug("数据库连接成功");
-            return conn;
-        } catch (Exception e) {
-            log.error("数据库连接失败: url={}, username={}, error={}",
-                    maskPassword(url), cfg.getUsername(), e.getMessage());
-            throw new Exception("数据库连接失败: " + e.getMessage() +
-                    "\n请检查：\n1. 数据库服务是否启动\n2. URL、端口是否正确\n3. 用户名密码是否正确\n4. 网络是否可达", e);
-        }
+        return url;
     }
 
     /**
@@ -1018,108 +1525,109 @@ public class DbTransferUtil {
     }
 
     /**
-     * 查询表数据
+     * 流式复制表数据
+     * <p> 源库使用只进游标 + fetchSize 逐批拉取（MySQL: useCursorFetch，H2: LAZY_QUERY_EXECUTION），
+     * 每读一行直接写入目标库的 PreparedStatement 批次，满 {@link #BATCH_SIZE} 条执行一次，
+     * 因此不管表有多少行、单行（如 base64 图标）有多大，内存中都只保留一个批次的数据 </p>
+     *
+     * @param params 查询参数
+     * @return 复制的行数
      */
-    private static int queryTableData(Connection sourceConn, String tableName,
-                                      List<List<Object>> data, List<String> columns) throws SQLException {
-        String sql = "SELECT * FROM " + tableName;
-        log.debug("查询SQL: {}", sql);
-
-        try (Statement stmt = sourceConn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            ResultSetMetaData meta = rs.getMetaData();
-            int columnCount = meta.getColumnCount();
-
-            // 获取列名
-            for (int i = 1; i <= columnCount; i++) {
-                columns.add(meta.getColumnName(i));
+    private static long copyTableData(Connection sourceConn, Connection targetConn, String sql,
+                                      TableStructure structure, DatabaseConfig sourceCfg,
+                                      DatabaseConfig targetCfg, WriteMode mode, Object... params) throws SQLException {
+        log.debug("查询SQL: {}, 参数: {}, fetchSize: {}", sql, params, sourceCfg.getFetchSize());
+
+        enableStreamingRead(sourceConn, sourceCfg);
+        try (PreparedStatement stmt = sourceConn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(sourceCfg.getFetchSize());
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
             }
-
-            // 读取数据
-            int rowCount = 0;
-            while (rs.next()) {
-                List<Object> row = new ArrayList<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    Object value = rs.getObject(i);
-                    row.add(value);
-                }
-                data.add(row);
-                rowCount++;
+            try (ResultSet rs = stmt.executeQuery()) {
+                return insertDataInBatch(targetConn, rs, structure, mode, isMySQL(targetCfg));
             }
-
-            return rowCount;
         }
     }
 
     /**
-     * 批量插入数据
+     * 开启源库的流式读取
+     * <p> MySQL 的游标读取由连接参数 useCursorFetch 控制（见 {@link #getConnection(DatabaseConfig)}），
+     * H2 需要开启延迟执行，否则会先把整个结果集物化再返回 </p>
      */
-    private static void insertDataInBatch(Connection targetConn, String tableName,
-                                          List<String> columns, List<List<Object>> data,
-                                          TableStructure structure) throws SQLException {
-        if (data.isEmpty()) {
+    private static void enableStreamingRead(Connection conn, DatabaseConfig cfg) {
+        if (cfg.getDriverClassName() == null || !cfg.getDriverClassName().toLowerCase().contains("h2")) {
             return;
         }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET LAZY_QUERY_EXECUTION TRUE");
+        } catch (SQLException e) {
+            log.warn("H2 开启延迟执行失败，将使用默认的结果集读取: {}", e.getMessage());
+        }
+    }
 
-        // 找出自增列的索引
-        Set<Integer> autoIncrementColumns = new HashSet<>();
+    /**
+     * 批量插入数据
+     * <p> 逐行读取结果集写入批次，不缓存整表数据 </p>
+     *
+     * @param mode        写入方式
+     * @param mysqlTarget 目标库是否为 MySQL，决定 upsert 语法
+     * @return 插入的行数
+     */
+    private static long insertDataInBatch(Connection targetConn, ResultSet rs, TableStructure structure,
+                                          WriteMode mode, boolean mysqlTarget) throws SQLException {
+        String tableName = structure.tableName;
+        ResultSetMetaData meta = rs.getMetaData();
+        int columnCount = meta.getColumnCount();
+
+        // 全部列都按原值写入（含自增主键）
         List<String> insertColumns = new ArrayList<>();
         List<Integer> insertColumnIndices = new ArrayList<>();
-
-        for (int i = 0; i < columns.size(); i++) {
-            String columnName = columns.get(i);
-            boolean isAutoIncrement = false;
-
-            // 检查是否为自增列
-            for (ColumnInfo columnInfo : structure.columns) {
-                if (columnInfo.columnName.equalsIgnoreCase(columnName) && columnInfo.autoIncrement) {
-                    isAutoIncrement = true;
-                    autoIncrementColumns.add(i);
-                    break;
-                }
-            }
-
-            // 非自增列才加入插入列表
-            if (!isAutoIncrement) {
-                insertColumns.add(columnName);
-                insertColumnIndices.add(i);
-            }
+        for (int i = 1; i <= columnCount; i++) {
+            insertColumns.add(meta.getColumnName(i));
+            insertColumnIndices.add(i);
         }
 
-        // 如果没有非自增列，说明表只有自增列，这种情况很少见
-        if (insertColumns.isEmpty()) {
-            log.warn("表 {} 只包含自增列，跳过数据插入", tableName);
-            return;
+        // 构建INSERT SQL
+        StringBuilder sql = new StringBuilder(mode == WriteMode.UPSERT && !mysqlTarget ? "MERGE INTO " : "INSERT INTO ");
+        sql.append(tableName).append(" (");
+        sql.append(String.join(",", insertColumns)).append(")");
+        if (mode == WriteMode.UPSERT && !mysqlTarget) {
+            sql.append(" KEY(").append(String.join(",", structure.primaryKeys)).append(")");
         }
-
-        // 构建INSERT SQL，只包含非自增列
-        StringBuilder sql = new StringBuilder("INSERT INTO " + tableName + " (");
-        sql.append(String.join(",", insertColumns)).append(") VALUES (");
+        sql.append(" VALUES (");
         sql.append("?,".repeat(insertColumns.size()));
         sql.setLength(sql.length() - 1);
         sql.append(")");
+        if (mode == WriteMode.UPSERT && mysqlTarget) {
+            StringJoiner updates = new StringJoiner(",", " ON DUPLICATE KEY UPDATE ", "");
+            for (String column : insertColumns) {
+                if (structure.primaryKeys.stream().noneMatch(column::equalsIgnoreCase)) {
+                    updates.add(column + "=VALUES(" + column + ")");
+                }
+            }
+            sql.append(updates);
+        }
 
         log.debug("修正后的插入SQL: {}", sql);
 
         try (PreparedStatement ps = targetConn.prepareStatement(sql.toString())) {
+            long rowCount = 0;
             int batchCount = 0;
 
-            for (List<Object> row : data) {
-                // 只设置非自增列的值
+            while (rs.next()) {
                 for (int i = 0; i < insertColumnIndices.size(); i++) {
-                    int originalIndex = insertColumnIndices.get(i);
-                    Object value = row.get(originalIndex);
-                    ps.setObject(i + 1, value);
+                    ps.setObject(i + 1, rs.getObject(insertColumnIndices.get(i)));
                 }
                 ps.addBatch();
                 batchCount++;
+                rowCount++;
 
                 if (batchCount >= BATCH_SIZE) {
                     ps.executeBatch();
                     ps.clearBatch();
                     batchCount = 0;
-                    log.debug("已批量插入 {} 条记录", BATCH_SIZE);
+                    log.debug("已批量插入 {} 条记录", rowCount);
                 }
             }
 
@@ -1127,6 +1635,7 @@ public class DbTransferUtil {
                 ps.executeBatch();
                 log.debug("已批量插入剩余 {} 条记录", batchCount);
             }
+            return rowCount;
         }
     }
 
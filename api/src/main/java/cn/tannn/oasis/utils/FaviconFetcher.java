@@ -0,0 +1,513 @@
+package cn.tannn.oasis.utils;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 网站图标抓取
+ * <p> 读取页面 head 中的 {@code <link rel="icon">}、apple-touch-icon，按尺寸从大到小尝试，最后尝试站点根目录的 /favicon.ico </p>
+ * <p> 位图（含 ico）统一缩放为 {@link #SIZE} 像素的正方形 PNG；解码不了的 ico 原样保留 </p>
+ * <p> svg 跳过：无法栅格化，且第三方 svg 可带脚本，不能放在本站域名下提供 </p>
+ * <p> 页面和图标地址都来自第三方，每次请求前解析主机并拒绝非公网地址（回环、内网、链路本地等）；
+ * 连接直接使用检查过的地址，不再二次解析（防止 DNS 重绑定），https 仍按主机名做 SNI 和证书校验；
+ * 不自动跟随重定向，每一跳的 Location 都重新检查，最多 {@link #MAX_REDIRECTS} 跳 </p>
+ * <p> 同步阻塞调用，由调用方放到后台线程执行 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+public class FaviconFetcher {
+
+    /**
+     * 输出图标边长：前台最大按 32px 显示，64px 覆盖高分屏
+     */
+    public static final int SIZE = 64;
+
+    private static final int MAX_HTML_BYTES = 512 * 1024;
+    private static final int MAX_ICON_BYTES = 1024 * 1024;
+    private static final int MAX_REDIRECTS = 5;
+    private static final int MAX_HEADER_LINE = 8192;
+    private static final int MAX_HEADERS = 100;
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; OasisFaviconFetcher/1.0)";
+
+    private static final Pattern LINK_TAG = Pattern.compile("<link\\b[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTRIBUTE = Pattern.compile(
+            "([a-zA-Z-]+)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s\"'>]+))");
+    private static final Pattern ICON_SIZE = Pattern.compile("(\\d+)[xX](\\d+)");
+
+    private final Duration timeout;
+
+    public FaviconFetcher(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * 抓取网站图标
+     *
+     * @param pageUrl 网站地址
+     * @return 处理后的图标
+     * @throws IOException 地址无效或所有候选都获取失败
+     */
+    public Icon fetch(String pageUrl) throws IOException {
+        URI page;
+        try {
+            page = URI.create(pageUrl == null ? "" : pageUrl.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("地址格式错误: " + pageUrl);
+        }
+        checkAddress(page);
+
+        Set<URI> candidates = new LinkedHashSet<>();
+        URI origin = page.resolve("/");
+        try {
+            Response response = send(page);
+            // 重定向后以最终地址解析相对路径
+            URI base = response.uri();
+            origin = base.resolve("/");
+            candidates.addAll(iconLinks(new String(read(response, MAX_HTML_BYTES, false), StandardCharsets.UTF_8), base));
+        } catch (IOException e) {
+            // 页面打不开还可以试试 /favicon.ico
+        }
+        candidates.add(origin.resolve("/favicon.ico"));
+
+        IOException last = null;
+        for (URI candidate : candidates) {
+            try {
+                byte[] data = "data".equalsIgnoreCase(candidate.getScheme())
+                        ? ImageUtils.decodeBase64(candidate.toString())
+                        : read(send(candidate), MAX_ICON_BYTES, true);
+                Icon icon = normalize(data);
+                if (icon != null) {
+                    return icon;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                last = e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+            }
+        }
+        throw last != null ? last : new IOException("未找到可用的图标");
+    }
+
+    /**
+     * 页面中声明的图标地址，按尺寸从大到小
+     *
+     * @param html 页面内容
+     * @param base 页面地址
+     * @return 图标地址
+     */
+    static List<URI> iconLinks(String html, URI base) {
+        // 图标只会在 head 里
+        int headEnd = html.toLowerCase(Locale.ROOT).indexOf("</head>");
+        String head = headEnd > 0 ? html.substring(0, headEnd) : html;
+        List<long[]> ranked = new ArrayList<>();
+        List<URI> links = new ArrayList<>();
+        Matcher tag = LINK_TAG.matcher(head);
+        while (tag.find()) {
+            String rel = null;
+            String href = null;
+            String sizes = null;
+            Matcher attribute = ATTRIBUTE.matcher(tag.group());
+            while (attribute.find()) {
+                String value = attribute.group(2) != null ? attribute.group(2)
+                        : attribute.group(3) != null ? attribute.group(3) : attribute.group(4);
+                switch (attribute.group(1).toLowerCase(Locale.ROOT)) {
+                    case "rel" -> rel = value.toLowerCase(Locale.ROOT);
+                    case "href" -> href = value.trim();
+                    case "sizes" -> sizes = value.toLowerCase(Locale.ROOT);
+                    default -> {
+                    }
+                }
+            }
+            if (rel == null || href == null || href.isEmpty() || !rel.contains("icon") || rel.contains("mask-icon")) {
+                continue;
+            }
+            try {
+                links.add(base.resolve(href.replace("&amp;", "&").replace(" ", "%20")));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            ranked.add(new long[]{declaredSize(rel, sizes), links.size() - 1});
+        }
+        // 尺寸大的优先，相同尺寸保持页面中的顺序
+        ranked.sort(Comparator.<long[]>comparingLong(r -> -r[0]).thenComparingLong(r -> r[1]));
+        List<URI> result = new ArrayList<>(ranked.size());
+        for (long[] r : ranked) {
+            result.add(links.get((int) r[1]));
+        }
+        return result;
+    }
+
+    /**
+     * 规范化图标
+     *
+     * @param data 原始字节
+     * @return 图标，不是位图（例如 /favicon.ico 返回了 html）返回 null
+     */
+    static Icon normalize(byte[] data) throws IOException {
+        if (data.length == 0) {
+            return null;
+        }
+        String contentType = ImageUtils.contentType(data);
+        if ("image/svg+xml".equals(contentType)) {
+            return null;
+        }
+        BufferedImage image;
+        try {
+            image = ImageUtils.decode(data);
+        } catch (IOException | RuntimeException e) {
+            image = null;
+        }
+        if (image == null) {
+            // 浏览器能显示的 ico 不能解码也保留原样
+            return "image/x-icon".equals(contentType) ? new Icon(data, contentType) : null;
+        }
+        return new Icon(ImageUtils.encodePng(ImageUtils.squareThumbnail(image, SIZE)), "image/png");
+    }
+
+    private static long declaredSize(String rel, String sizes) {
+        if (sizes != null) {
+            if (sizes.contains("any")) {
+                return 512;
+            }
+            long max = 0;
+            Matcher size = ICON_SIZE.matcher(sizes);
+            while (size.find()) {
+                max = Math.max(max, Long.parseLong(size.group(1)));
+            }
+            if (max > 0) {
+                return max;
+            }
+        }
+        // 没有声明尺寸：apple-touch-icon 通常是 180px，普通 icon 通常是 16/32px
+        return rel.contains("apple-touch-icon") ? 180 : 32;
+    }
+
+    /**
+     * 检查地址：只允许 http(s)，且主机解析出的所有地址都是公网地址
+     *
+     * @param uri 地址
+     * @return 检查过的地址，连接时直接使用
+     * @throws IOException 地址不允许访问
+     */
+    static InetAddress checkAddress(URI uri) throws IOException {
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!("http".equals(scheme) || "https".equals(scheme)) || uri.getHost() == null) {
+            throw new IOException("不支持的地址: " + uri);
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(uri.getHost());
+        } catch (UnknownHostException e) {
+            throw new IOException("无法解析主机: " + uri.getHost(), e);
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new IOException("禁止访问非公网地址: " + uri.getHost() + " -> " + address.getHostAddress());
+            }
+        }
+        return addresses[0];
+    }
+
+    /**
+     * 是否公网地址
+     *
+     * @param address 地址
+     * @return 回环、任意、内网、链路本地、组播、IPv6 唯一本地（fc00::/7）地址返回 false
+     */
+    static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isSiteLocalAddress()
+                || address.isLinkLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] raw = address.getAddress();
+        if (address instanceof Inet6Address) {
+            return (raw[0] & 0xfe) != 0xfc;
+        }
+        // 100.64.0.0/10 运营商级 NAT，0.0.0.0/8 本网络
+        return !((raw[0] & 0xff) == 100 && (raw[1] & 0xc0) == 64) && raw[0] != 0;
+    }
+
+    /**
+     * 请求地址，逐跳检查并跟随重定向
+     *
+     * @param uri 地址
+     * @return 最终响应，{@link Response#uri()} 为最后一跳的地址
+     */
+    private Response send(URI uri) throws IOException {
+        for (int hop = 0; ; hop++) {
+            Response response = request(uri, checkAddress(uri));
+            int status = response.status();
+            if (status < 300 || status >= 400 || status == 304) {
+                return response;
+            }
+            response.body().close();
+            String location = response.headers().get("location");
+            if (location == null) {
+                throw new IOException("HTTP " + status + " 缺少 Location: " + uri);
+            }
+            if (hop >= MAX_REDIRECTS) {
+                throw new IOException("重定向次数过多: " + uri);
+            }
+            try {
+                uri = uri.resolve(location.trim().replace(" ", "%20"));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("重定向地址格式错误: " + location);
+            }
+        }
+    }
+
+    /**
+     * 连接指定地址发送 GET 请求
+     * <p> 不经过 HttpClient：它会按主机名重新解析，两次解析之间 DNS 可以换成内网地址 </p>
+     *
+     * @param uri     地址，Host 头、SNI 和证书校验使用其中的主机名
+     * @param address 连接的地址
+     * @return 响应，读完后关闭 {@link Response#body()} 释放连接
+     */
+    Response request(URI uri, InetAddress address) throws IOException {
+        boolean https = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : https ? 443 : 80;
+        int millis = (int) timeout.toMillis();
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(address, port), millis);
+            socket.setSoTimeout(millis);
+            if (https) {
+                SSLSocket ssl = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                        .createSocket(socket, uri.getHost(), port, true);
+                SSLParameters parameters = ssl.getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                ssl.setSSLParameters(parameters);
+                ssl.startHandshake();
+                socket = ssl;
+            }
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            if (uri.getRawQuery() != null) {
+                path += "?" + uri.getRawQuery();
+            }
+            String host = uri.getPort() > 0 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + path + " HTTP/1.1\r\n"
+                    + "Host: " + host + "\r\n"
+                    + "User-Agent: " + USER_AGENT + "\r\n"
+                    + "Accept: text/html,image/*,*/*;q=0.8\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            String[] statusLine = readLine(in).split(" ", 3);
+            int status;
+            try {
+                status = statusLine.length >= 2 && statusLine[0].startsWith("HTTP/") ? Integer.parseInt(statusLine[1]) : -1;
+            } catch (NumberFormatException e) {
+                status = -1;
+            }
+            if (status < 100) {
+                throw new IOException("响应格式错误: " + uri);
+            }
+            Map<String, String> headers = new HashMap<>();
+            for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.putIfAbsent(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+                }
+                if (headers.size() > MAX_HEADERS) {
+                    throw new IOException("响应头过多: " + uri);
+                }
+            }
+            InputStream body;
+            if (headers.getOrDefault("transfer-encoding", "").toLowerCase(Locale.ROOT).contains("chunked")) {
+                body = new ChunkedInputStream(in);
+            } else if (headers.containsKey("content-length")) {
+                try {
+                    body = new LimitedInputStream(in, Long.parseLong(headers.get("content-length")));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Content-Length 格式错误: " + uri);
+                }
+            } else {
+                body = in;
+            }
+            return new Response(uri, status, headers, body);
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取一行（CRLF 结尾，不含换行符）
+     */
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c == -1) {
+                throw new IOException("连接已关闭");
+            }
+            if (line.length() >= MAX_HEADER_LINE) {
+                throw new IOException("响应行过长");
+            }
+            line.append((char) c);
+        }
+        int length = line.length();
+        return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+    }
+
+    /**
+     * 读取响应内容
+     *
+     * @param limit  最多读取的字节数
+     * @param strict 超过上限是否报错（页面只需要开头的 head，图标不完整则没有意义）
+     */
+    private static byte[] read(Response response, int limit, boolean strict) throws IOException {
+        try (InputStream in = response.body()) {
+            if (response.status() < 200 || response.status() >= 300) {
+                throw new IOException("HTTP " + response.status() + ": " + response.uri());
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                if (out.size() + n > limit) {
+                    if (strict) {
+                        throw new IOException("内容过大: " + response.uri());
+                    }
+                    out.write(buffer, 0, limit - out.size());
+                    break;
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 响应
+     *
+     * @param uri     请求地址
+     * @param status  状态码
+     * @param headers 响应头，名称小写，同名只保留第一个
+     * @param body    响应内容，关闭时关闭连接
+     */
+    record Response(URI uri, int status, Map<String, String> headers, InputStream body) {
+    }
+
+    /**
+     * 按 Content-Length 读取，读够后返回结束
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int c = super.read();
+            if (c != -1) {
+                remaining--;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * 解码 chunked 传输编码，忽略 chunk 扩展和结尾的 trailer
+     */
+    private static class ChunkedInputStream extends FilterInputStream {
+        private long remaining;
+        private boolean eof;
+
+        ChunkedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (eof) {
+                return -1;
+            }
+            if (remaining == 0) {
+                String size = readLine(in);
+                int extension = size.indexOf(';');
+                try {
+                    remaining = Long.parseLong((extension >= 0 ? size.substring(0, extension) : size).trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new IOException("chunk 格式错误: " + size);
+                }
+                if (remaining == 0) {
+                    eof = true;
+                    return -1;
+                }
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n == -1) {
+                throw new IOException("连接已关闭");
+            }
+            remaining -= n;
+            if (remaining == 0) {
+                // chunk 数据后的 CRLF
+                readLine(in);
+            }
+            return n;
+        }
+    }
+
+    /**
+     * 图标
+     *
+     * @param data        图标字节
+     * @param contentType 图片类型
+     */
+    public record Icon(byte[] data, String contentType) {
+    }
+}
@@ -0,0 +1,60 @@
+package cn.tannn.oasis.utils;
+
+import java.util.Locale;
+
+/**
+ * 内容编码协商
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+public class HttpEncodings {
+
+    private HttpEncodings() {
+    }
+
+    /**
+     * 客户端是否接受 gzip
+     * <p> 按 Accept-Encoding 的 q 值判断：gzip 显式给出时以它为准，否则看 *；q=0 表示不接受 </p>
+     *
+     * @param acceptEncoding Accept-Encoding 请求头
+     * @return true 可以返回 gzip
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if ("gzip".equals(name) || "x-gzip".equals(name)) {
+                gzip = gzip == null ? quality(parts) : Math.max(gzip, quality(parts));
+            } else if ("*".equals(name)) {
+                any = quality(parts);
+            }
+        }
+        Double q = gzip != null ? gzip : any;
+        return q != null && q > 0;
+    }
+
+    /**
+     * q 参数，缺省为 1，格式错误按 0 处理
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            int eq = param.indexOf('=');
+            if (eq > 0 && "q".equalsIgnoreCase(param.substring(0, eq).trim())) {
+                try {
+                    return Double.parseDouble(param.substring(eq + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -1,6 +1,25 @@
 package cn.tannn.oasis.utils;
 
-import cn.tannn.jdevelops.utils.core.file.ImageBase64Compressed;
+import cn.tannn.oasis.entity.NavIcon;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Set;
 
 /**
  * 图片处理
@@ -26,40 +45,325 @@ public class ImageUtils {
         if (str.startsWith("http://") || str.startsWith("https://")) {
             return "url";
         }
-        // 判断是否为 base64（简单判断）
-        String base64Pattern = "^[A-Za-z0-9+/=\\s]+$";
-        if (str.matches(base64Pattern) && str.length() > 100) { // base64 通常较长
-            return "base64";
+        // 图标存储的访问路径
+        if (NavIcon.isIconUrl(str)) {
+            return "url";
         }
         // data:image/png;base64,xxxx
         if (str.startsWith("data:")) {
             return "base64";
         }
+        // 纯 base64：只包含字母、数字、+、/、= 和空白，逐字符判断，遇到其他字符立即结束
+        if (str.length() > 100 && isBase64(str)) { // base64 通常较长
+            return "base64";
+        }
         return "unknown";
     }
 
+    private static boolean isBase64(String str) {
+        for (int i = 0, length = str.length(); i < length; i++) {
+            char c = str.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '+' || c == '/' || c == '=' || Character.isWhitespace(c);
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * 解码 base64 图片
+     * <p> 支持 data:image/png;base64,xxxx 和纯 base64 两种格式 </p>
+     * @param image base64 图片字符串
+     * @return 图片字节
+     */
+    public static byte[] decodeBase64(String image) {
+        int start = 0;
+        int comma = image.indexOf(',');
+        if (image.startsWith("data:") && comma > 0) {
+            start = comma + 1;
+        }
+        // 直接从字符串流式解码，不再复制出 payload 子串；MIME 解码器会忽略换行等非 base64 字符
+        try (InputStream in = Base64.getMimeDecoder().wrap(new CharSequenceInputStream(image, start))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("base64 解码失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 可以从本站直接输出的图标类型，svg 等可执行脚本的类型不在其中
+     */
+    private static final Set<String> ICON_TYPES = Set.of(
+            "image/png", "image/jpeg", "image/gif", "image/webp", "image/x-icon");
+
+    /**
+     * 是否是可以从本站直接输出的图标类型
+     * @param contentType 图片类型
+     * @return png/jpeg/gif/webp/ico 返回 true
+     */
+    public static boolean isIconType(String contentType) {
+        return contentType != null && ICON_TYPES.contains(contentType);
+    }
+
+    /**
+     * 获取图片类型
+     * <p> 只根据文件头判断，不信任 data URI 中声明的类型 </p>
+     * @param data 图片字节
+     * @return 图片类型，如：image/png，无法识别返回 application/octet-stream
+     */
+    public static String contentType(byte[] data) {
+        if (startsWith(data, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(data, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(data, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(data, 0x00, 0x00, 0x01, 0x00)) {
+            return "image/x-icon";
+        }
+        if (data.length > 12 && startsWith(data, 'R', 'I', 'F', 'F')
+                && data[8] == 'W' && data[9] == 'E' && data[10] == 'B' && data[11] == 'P') {
+            return "image/webp";
+        }
+        String head = new String(data, 0, Math.min(data.length, 256), StandardCharsets.UTF_8);
+        if (head.contains("<svg") || head.startsWith("<?xml")) {
+            return "image/svg+xml";
+        }
+        return "application/octet-stream";
+    }
+
+    /**
+     * 计算内容哈希（SHA-256，十六进制小写）
+     * @param data 内容
+     * @return 哈希
+     */
+    public static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 解码图片，除 ImageIO 支持的格式外还支持 ico
+     * @param data 图片字节
+     * @return 图片，无法解码（svg、非图片内容等）返回 null
+     */
+    public static BufferedImage decode(byte[] data) throws IOException {
+        if (startsWith(data, 0x00, 0x00, 0x01, 0x00)) {
+            return decodeIco(data);
+        }
+        return ImageIO.read(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * 缩放为正方形（保持比例居中，空白透明）
+     * <p> 大图先逐次减半再缩放到目标尺寸，比一次缩放更清晰 </p>
+     * @param image 原图
+     * @param size 边长
+     * @return 缩放后的图片
+     */
+    public static BufferedImage squareThumbnail(BufferedImage image, int size) {
+        BufferedImage current = image;
+        while (current.getWidth() >= size * 2 && current.getHeight() >= size * 2) {
+            current = scale(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        double ratio = Math.min((double) size / current.getWidth(), (double) size / current.getHeight());
+        int width = Math.max(1, (int) Math.round(current.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(current.getHeight() * ratio));
+        BufferedImage square = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = square.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, (size - width) / 2, (size - height) / 2, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return square;
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * 编码为 PNG
+     * @param image 图片
+     * @return PNG 字节
+     */
+    public static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "png", out)) {
+            throw new IOException("PNG 编码器不可用");
+        }
+        return out.toByteArray();
+    }
 
     /**
-     * 处理图片字符串
-     * <p> 如果是 URL，直接返回；如果是 base64，进行压缩后返回。</p>
-     * @param image 图片字符串
-     * @return 处理后的图片字符串
+     * 解码 ico，取尺寸最大（相同取色深最高）的一张
+     * <p> 图像可能是内嵌 PNG，也可能是 BMP（1/4/8 位调色板或 24/32 位，带 AND 透明遮罩） </p>
      */
-    public static String processImage(String image) {
-        if(image == null || image.isEmpty()){
-            return image;
-        }
-        String type = checkType(image);
-        if ("url".equals(type)) {
-            // 处理 URL 图片
-            return image;
-        } else if ("base64".equals(type)) {
-            // 处理 base64 图片
-            return ImageBase64Compressed.compressImageToBase64(image
-                    , ImageBase64Compressed.DatabaseType.MYSQL_TEXT);
-        } else {
-            throw new IllegalArgumentException("Unsupported image format");
+    static BufferedImage decodeIco(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        int count = buffer.getShort(4) & 0xFFFF;
+        int best = -1;
+        int bestWidth = 0;
+        int bestBits = 0;
+        for (int i = 0; i < count && 6 + i * 16 + 16 <= data.length; i++) {
+            int entry = 6 + i * 16;
+            int width = data[entry] == 0 ? 256 : data[entry] & 0xFF;
+            int bits = buffer.getShort(entry + 6) & 0xFFFF;
+            if (width > bestWidth || (width == bestWidth && bits > bestBits)) {
+                best = entry;
+                bestWidth = width;
+                bestBits = bits;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+        int size = buffer.getInt(best + 8);
+        int offset = buffer.getInt(best + 12);
+        if (offset < 0 || size <= 0 || offset + size > data.length) {
+            throw new IOException("ico 数据不完整");
+        }
+        if (startsWith(Arrays.copyOfRange(data, offset, offset + 8), 0x89, 'P', 'N', 'G')) {
+            return ImageIO.read(new ByteArrayInputStream(data, offset, size));
+        }
+        return decodeDib(buffer, offset);
+    }
+
+    private static BufferedImage decodeDib(ByteBuffer buffer, int offset) throws IOException {
+        int headerSize = buffer.getInt(offset);
+        int width = buffer.getInt(offset + 4);
+        // ico 中的高度包含 AND 遮罩，是实际的两倍
+        int height = Math.abs(buffer.getInt(offset + 8)) / 2;
+        int bits = buffer.getShort(offset + 14) & 0xFFFF;
+        int compression = buffer.getInt(offset + 16);
+        if (width <= 0 || height <= 0 || width > 1024 || height > 1024 || compression != 0) {
+            throw new IOException("不支持的 ico 图像");
+        }
+        int paletteSize = 0;
+        if (bits <= 8) {
+            int colorsUsed = buffer.getInt(offset + 32);
+            paletteSize = colorsUsed > 0 ? colorsUsed : 1 << bits;
+        } else if (bits != 24 && bits != 32) {
+            throw new IOException("不支持的 ico 色深: " + bits);
+        }
+        int palette = offset + headerSize;
+        int pixels = palette + paletteSize * 4;
+        int stride = ((width * bits + 31) / 32) * 4;
+        int maskStride = ((width + 31) / 32) * 4;
+        int mask = pixels + stride * height;
+        if (mask + maskStride * height > buffer.limit()) {
+            // 部分 ico 省略了遮罩
+            mask = -1;
+        }
+        if (pixels + stride * height > buffer.limit()) {
+            throw new IOException("ico 数据不完整");
+        }
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        boolean hasAlpha = false;
+        for (int y = 0; y < height; y++) {
+            // 行从下往上存放
+            int row = pixels + (height - 1 - y) * stride;
+            for (int x = 0; x < width; x++) {
+                int argb;
+                if (bits == 32) {
+                    int p = row + x * 4;
+                    argb = (buffer.get(p + 3) & 0xFF) << 24 | (buffer.get(p + 2) & 0xFF) << 16
+                            | (buffer.get(p + 1) & 0xFF) << 8 | (buffer.get(p) & 0xFF);
+                    hasAlpha |= (argb >>> 24) != 0;
+                } else if (bits == 24) {
+                    int p = row + x * 3;
+                    argb = 0xFF000000 | (buffer.get(p + 2) & 0xFF) << 16
+                            | (buffer.get(p + 1) & 0xFF) << 8 | (buffer.get(p) & 0xFF);
+                } else {
+                    int bit = x * bits;
+                    int value = (buffer.get(row + bit / 8) & 0xFF) >> (8 - bits - bit % 8) & ((1 << bits) - 1);
+                    int color = palette + Math.min(value, paletteSize - 1) * 4;
+                    argb = 0xFF000000 | (buffer.get(color + 2) & 0xFF) << 16
+                            | (buffer.get(color + 1) & 0xFF) << 8 | (buffer.get(color) & 0xFF);
+                }
+                image.setRGB(x, y, argb);
+            }
+        }
+        // 32 位图自带透明度；其余（以及透明度全为 0 的 32 位图）按 AND 遮罩处理，1 为透明，没有遮罩视为不透明
+        if (!(bits == 32 && hasAlpha)) {
+            for (int y = 0; y < height; y++) {
+                int row = mask + (height - 1 - y) * maskStride;
+                for (int x = 0; x < width; x++) {
+                    boolean transparent = mask >= 0 && ((buffer.get(row + x / 8) >> (7 - x % 8)) & 1) == 1;
+                    int rgb = image.getRGB(x, y) & 0x00FFFFFF;
+                    image.setRGB(x, y, transparent ? rgb : 0xFF000000 | rgb);
+                }
+            }
+        }
+        return image;
+    }
+
+    private static boolean startsWith(byte[] data, int... magic) {
+        if (data.length < magic.length) {
+            return false;
         }
+        for (int i = 0; i < magic.length; i++) {
+            if ((data[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
+    /**
+     * 按字节读取 ASCII 字符序列（base64 只有 ASCII 字符）
+     */
+    private static final class CharSequenceInputStream extends InputStream {
+        private final CharSequence text;
+        private int position;
+
+        CharSequenceInputStream(CharSequence text, int start) {
+            this.text = text;
+            this.position = start;
+        }
+
+        @Override
+        public int read() {
+            return position < text.length() ? text.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int remaining = text.length() - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = Math.min(length, remaining);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) text.charAt(position++);
+            }
+            return count;
+        }
+    }
 }
@@ -0,0 +1,277 @@
+package cn.tannn.oasis.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 链接可用性探测
+ * <p> 基于 {@link HttpClient#sendAsync} 的非阻塞探测，请求在等待响应时不占用线程，几个线程就能同时探测成百上千个地址 </p>
+ * <ul>
+ *     <li>并发：全局最多 maxConcurrent 个请求，同一域名最多 perHost 个，超出的排队，不会把单个站点打爆</li>
+ *     <li>请求：先 HEAD，返回 4xx/5xx 或连接异常时再用 GET 确认（很多站点不支持 HEAD），GET 只读响应头</li>
+ *     <li>重试：超时、连接失败、429/502/503/504 按指数退避重试，退避期间释放并发名额</li>
+ * </ul>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+public class LinkChecker implements AutoCloseable {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; OasisLinkChecker/1.0)";
+
+    private final Duration timeout;
+    private final int perHost;
+    private final int retries;
+    private final Duration backoff;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final Gate global;
+    private final Map<String, Gate> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxConcurrent 全局最大并发请求数
+     * @param perHost       同一域名最大并发请求数
+     * @param timeout       连接、响应超时
+     * @param retries       失败后的重试次数
+     * @param backoff       第一次重试的等待时间，之后每次翻倍
+     */
+    public LinkChecker(int maxConcurrent, int perHost, Duration timeout, int retries, Duration backoff) {
+        this.timeout = timeout;
+        this.perHost = perHost;
+        this.retries = retries;
+        this.backoff = backoff;
+        AtomicInteger index = new AtomicInteger();
+        // 只处理回调，不阻塞等待响应，线程数不需要跟并发数一致
+        this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread t = new Thread(r, "LinkChecker-" + index.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+        this.global = new Gate(maxConcurrent, executor);
+    }
+
+    /**
+     * 批量探测，等待全部完成
+     *
+     * @param urls 标识 -> 地址
+     * @param <K>  标识类型
+     * @return 标识 -> 探测结果
+     */
+    public <K> Map<K, LinkProbe> checkAll(Map<K, String> urls) {
+        Map<K, CompletableFuture<LinkProbe>> futures = new HashMap<>(urls.size() * 2);
+        urls.forEach((key, url) -> futures.put(key, probe(url)));
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        Map<K, LinkProbe> results = new HashMap<>(futures.size() * 2);
+        futures.forEach((key, future) -> results.put(key, future.join()));
+        return results;
+    }
+
+    /**
+     * 探测单个地址（异常会转成失败结果，返回的 future 不会异常结束）
+     *
+     * @param url 地址
+     * @return 探测结果
+     */
+    public CompletableFuture<LinkProbe> probe(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url == null ? "" : url.trim());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(LinkProbe.failed("地址格式错误"));
+        }
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!("http".equals(scheme) || "https".equals(scheme)) || uri.getHost() == null) {
+            return CompletableFuture.completedFuture(LinkProbe.failed("不支持的地址"));
+        }
+        return attempt(uri, 0);
+    }
+
+    private CompletableFuture<LinkProbe> attempt(URI uri, int attempt) {
+        Gate host = hosts.computeIfAbsent(uri.getHost().toLowerCase(Locale.ROOT), k -> new Gate(perHost, executor));
+        // 先占域名名额再占全局名额，排队等域名的请求不会占着全局名额
+        return host.submit(() -> global.submit(() -> headThenGet(uri)))
+                .thenCompose(probe -> {
+                    if (attempt >= retries || !probe.retryable()) {
+                        return CompletableFuture.completedFuture(probe);
+                    }
+                    Executor delayed = CompletableFuture.delayedExecutor(
+                            backoff.toMillis() << attempt, TimeUnit.MILLISECONDS, executor);
+                    return CompletableFuture.supplyAsync(() -> uri, delayed)
+                            .thenCompose(next -> attempt(next, attempt + 1));
+                });
+    }
+
+    private CompletableFuture<LinkProbe> headThenGet(URI uri) {
+        return send(uri, "HEAD").thenCompose(head -> {
+            // 超时说明站点没响应，GET 也一样，不再浪费时间
+            if (head.status() >= 400 || (head.status() == 0 && !head.timedOut())) {
+                return send(uri, "GET");
+            }
+            return CompletableFuture.completedFuture(head);
+        });
+    }
+
+    private CompletableFuture<LinkProbe> send(URI uri, String method) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .timeout(timeout)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "*/*")
+                .build();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<InputStream>> future;
+        try {
+            future = client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(LinkProbe.failed(method, e));
+        }
+        return future.handle((response, e) -> {
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (e != null) {
+                return LinkProbe.failed(method, e);
+            }
+            // 只需要状态码，关闭响应体，GET 不下载页面内容
+            try (InputStream ignored = response.body()) {
+                return new LinkProbe(response.statusCode(), latency, method, null);
+            } catch (IOException closeError) {
+                return new LinkProbe(response.statusCode(), latency, method, null);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 探测结果
+     *
+     * @param status  HTTP 状态码，没有拿到响应为 0
+     * @param latency 最后一次请求的耗时（毫秒）
+     * @param method  最后一次请求的方法
+     * @param error   没有拿到响应时的原因
+     */
+    public record LinkProbe(int status, long latency, String method, String error) {
+
+        private static final String TIMEOUT = "请求超时";
+
+        static LinkProbe failed(String error) {
+            return new LinkProbe(0, 0, null, error);
+        }
+
+        static LinkProbe failed(String method, Throwable e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof HttpTimeoutException) {
+                return new LinkProbe(0, 0, method, TIMEOUT);
+            }
+            String message = cause.getMessage();
+            String error = cause.getClass().getSimpleName() + (message == null ? "" : ": " + message);
+            return new LinkProbe(0, 0, method, error.length() > 200 ? error.substring(0, 200) : error);
+        }
+
+        /**
+         * 2xx、3xx 视为正常（3xx 是跟随重定向后仍然没有落地的情况）
+         */
+        public boolean healthy() {
+            return status >= 200 && status < 400;
+        }
+
+        boolean timedOut() {
+            return TIMEOUT.equals(error);
+        }
+
+        boolean retryable() {
+            return status == 0 ? error != null : List.of(429, 502, 503, 504).contains(status);
+        }
+    }
+
+    /**
+     * 异步并发闸门：名额用完时任务排队，任务完成后从队列取下一个，排队期间不占线程
+     */
+    static final class Gate {
+        private final int permits;
+        private final Executor executor;
+        private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+
+        Gate(int permits, Executor executor) {
+            this.permits = Math.max(1, permits);
+            this.executor = executor;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> {
+                CompletableFuture<T> running;
+                try {
+                    running = task.get();
+                } catch (RuntimeException e) {
+                    running = CompletableFuture.failedFuture(e);
+                }
+                running.whenComplete((value, e) -> {
+                    release();
+                    if (e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            };
+            boolean now;
+            synchronized (this) {
+                now = active < permits;
+                if (now) {
+                    active++;
+                } else {
+                    waiting.add(start);
+                }
+            }
+            if (now) {
+                start.run();
+            }
+            return result;
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    active--;
+                }
+            }
+            // 名额直接转给下一个，交给线程池执行，避免同步完成的任务层层递归
+            if (next != null) {
+                executor.execute(next);
+            }
+        }
+    }
+}
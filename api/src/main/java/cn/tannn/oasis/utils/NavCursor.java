@@ -0,0 +1,113 @@
+package cn.tannn.oasis.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 导航项游标分页的游标
+ * <p> 导航项固定按 (sort 正序、null 在后, id 正序) 排列，游标记录上一页最后一项的 (sort, id)，
+ * 下一页从它之后开始：不用 offset 跳过前面的行，也不统计总数，每页的开销与翻到第几页无关 </p>
+ * <p> 对外是不透明的字符串（base64url），客户端原样回传即可 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+public final class NavCursor {
+
+    private static final String VERSION = "1";
+
+    private NavCursor() {
+    }
+
+    /**
+     * 游标位置
+     *
+     * @param sort 排序值，可能为 null（排在最后）
+     * @param id   导航项ID
+     */
+    public record Key(Integer sort, int id) {
+    }
+
+    /**
+     * 生成游标
+     *
+     * @param sort 上一页最后一项的排序值
+     * @param id   上一页最后一项的ID
+     * @return 游标
+     */
+    public static String encode(Integer sort, Integer id) {
+        String raw = VERSION + ":" + (sort == null ? "" : sort) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标，为空表示第一页
+     * @return 游标位置，第一页返回 null
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static Key decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII)
+                    .split(":", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("游标无效");
+            }
+            Integer sort = parts[1].isEmpty() ? null : Integer.valueOf(parts[1]);
+            return new Key(sort, Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("游标无效", e);
+        }
+    }
+
+    /**
+     * 在已按 (sort, id) 排好序的列表中定位游标之后的第一项（二分查找）
+     *
+     * @param sorted 已排序的列表
+     * @param sort   取排序值
+     * @param id     取ID
+     * @param after  游标位置，null 为第一页
+     * @return 下标
+     */
+    public static <T> int seek(List<T> sorted, Function<T, Integer> sort, Function<T, Integer> id, Key after) {
+        if (after == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            T item = sorted.get(mid);
+            if (compare(sort.apply(item), id.apply(item), after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * (sort, id) 与游标位置比较，sort 为 null 排在最后
+     */
+    private static int compare(Integer sort, Integer id, Key key) {
+        if (sort == null || key.sort() == null) {
+            if (sort != null) {
+                return -1;
+            }
+            if (key.sort() != null) {
+                return 1;
+            }
+        } else if (!sort.equals(key.sort())) {
+            return Integer.compare(sort, key.sort());
+        }
+        return Integer.compare(id == null ? Integer.MAX_VALUE : id, key.id());
+    }
+}
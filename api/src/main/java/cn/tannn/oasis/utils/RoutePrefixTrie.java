@@ -0,0 +1,111 @@
+package cn.tannn.oasis.utils;
+
+import java.util.Arrays;
+
+/**
+ * 路由前缀树（按字符）
+ * <p> 存放后端路由前缀（如 navigation、webs、v3/api-docs），判断请求路径是否落在某个前缀下。
+ * 匹配时直接在原始路径上逐字符走树，不切分字符串、不用正则，不产生临时对象 </p>
+ * <p> 前缀必须按路径段完整匹配：前缀 webs 匹配 /webs、/webs/navs，不匹配 /website </p>
+ * <p> 构建完成后只读，可多线程共享 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+public class RoutePrefixTrie {
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * 添加前缀
+     *
+     * @param prefix 前缀，首尾的 / 会被忽略，如 "webs"、"/v3/api-docs/"
+     */
+    public void add(String prefix) {
+        int start = 0;
+        int end = prefix.length();
+        while (start < end && prefix.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && prefix.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (start == end) {
+            return;
+        }
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        if (!node.terminal) {
+            node.terminal = true;
+            size++;
+        }
+    }
+
+    /**
+     * 路径是否落在任一前缀下
+     *
+     * @param path 请求路径（不含 context path），如 /webs/navs
+     * @return true 命中
+     */
+    public boolean matches(String path) {
+        int length = path.length();
+        int i = 0;
+        while (i < length && path.charAt(i) == '/') {
+            i++;
+        }
+        Node node = root;
+        for (; i < length; i++) {
+            char c = path.charAt(i);
+            if (c == '/' && node.terminal) {
+                return true;
+            }
+            node = node.child(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    /**
+     * 前缀数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        /**
+         * 子节点很少（路由前缀的分叉有限），线性查找比哈希更快
+         */
+        Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node node = child(c);
+            if (node == null) {
+                node = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = c;
+                children[children.length - 1] = node;
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package cn.tannn.oasis.utils;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * 搜索分词
+ * <p> 索引和查询使用同一套规则，保证能对上：</p>
+ * <ul>
+ *     <li>字母数字：按连续片段切词，索引时写入所有前缀（输入 git 能匹配 github）</li>
+ *     <li>中文：单字 + 相邻两字（bigram），查询时两字以上按 bigram 切分</li>
+ *     <li>拼音：中文写入从每个字开始的全拼与首字母前缀（baidu、bd 都能匹配 百度）</li>
+ *     <li>网址：只取域名，去掉 www.，按 . - 分段写入每一段的前缀</li>
+ *     <li>查询：同样按非字母数字切分，node.js、github.com 分别查各段</li>
+ * </ul>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+public class SearchTokenizer {
+
+    /**
+     * 前缀最长长度，更长的查询词会被截断
+     */
+    public static final int MAX_PREFIX = 24;
+
+    private static final HanyuPinyinOutputFormat PINYIN_FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        PINYIN_FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        PINYIN_FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        PINYIN_FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 普通文本的索引词
+     *
+     * @param text 文本
+     * @param sink 接收索引词（可能重复）
+     */
+    public static void textTerms(String text, Consumer<String> sink) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            char c = lower.charAt(i);
+            if (isWordChar(c)) {
+                int end = i;
+                while (end < length && isWordChar(lower.charAt(end))) {
+                    end++;
+                }
+                prefixes(lower, i, end, sink);
+                i = end;
+            } else if (isCjk(c)) {
+                sink.accept(String.valueOf(c));
+                if (i + 1 < length && isCjk(lower.charAt(i + 1))) {
+                    sink.accept(lower.substring(i, i + 2));
+                }
+                i++;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * 中文的拼音索引词：从每个字开始的全拼、首字母前缀（fanyi、fy 都能匹配 谷歌翻译），非中文的字母数字原样拼接
+     *
+     * @param text 文本
+     * @param sink 接收索引词（可能重复）
+     */
+    public static void pinyinTerms(String text, Consumer<String> sink) {
+        Pinyin pinyin = Pinyin.of(text);
+        if (pinyin == null) {
+            return;
+        }
+        for (int start : pinyin.syllables) {
+            prefixes(pinyin.full, start, pinyin.full.length(), sink);
+        }
+        for (int start = 0; start < pinyin.initials.length(); start++) {
+            prefixes(pinyin.initials, start, pinyin.initials.length(), sink);
+        }
+    }
+
+    /**
+     * 文本的全拼与首字母（非中文的字母数字原样保留）
+     *
+     * @param text 文本
+     * @return [全拼, 首字母]，不含中文时返回 null
+     */
+    public static String[] pinyinForms(String text) {
+        Pinyin pinyin = Pinyin.of(text);
+        return pinyin == null ? null : new String[]{pinyin.full, pinyin.initials};
+    }
+
+    /**
+     * 网址的索引词：域名（去掉 www.）每一段的前缀
+     *
+     * @param url  网址
+     * @param sink 接收索引词（可能重复）
+     */
+    public static void hostTerms(String url, Consumer<String> sink) {
+        String host = host(url);
+        if (host == null) {
+            return;
+        }
+        int start = 0;
+        for (int i = 0; i <= host.length(); i++) {
+            if (i == host.length() || host.charAt(i) == '.' || host.charAt(i) == '-') {
+                if (i > start) {
+                    prefixes(host, start, i, sink);
+                }
+                start = i + 1;
+            }
+        }
+    }
+
+    /**
+     * 查询词：与索引时相同按非字母数字切分（node.js 查 node、js，github.com 查 github、com），
+     * 每个字母数字片段整体作为一个词（匹配索引里的前缀），中文两字以上按 bigram 切分
+     *
+     * @param query 查询
+     * @return 查询词，没有可用的词时为空
+     */
+    public static List<String> queryTerms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        String lower = query.trim().toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            char c = lower.charAt(i);
+            if (isWordChar(c)) {
+                int end = i;
+                while (end < length && isWordChar(lower.charAt(end))) {
+                    end++;
+                }
+                terms.add(lower.substring(i, Math.min(end, i + MAX_PREFIX)));
+                i = end;
+            } else if (isCjk(c)) {
+                int end = i;
+                while (end < length && isCjk(lower.charAt(end))) {
+                    end++;
+                }
+                if (end - i == 1) {
+                    terms.add(String.valueOf(c));
+                } else {
+                    for (int j = i; j + 1 < end; j++) {
+                        terms.add(lower.substring(j, j + 2));
+                    }
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 网址的域名（小写，去掉 www.），解析不了返回 null
+     */
+    public static String host(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String value = url.trim();
+        if (!value.contains("://")) {
+            value = "http://" + value;
+        }
+        try {
+            String host = URI.create(value).getHost();
+            if (host == null || host.isEmpty()) {
+                return null;
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            return host.startsWith("www.") ? host.substring(4) : host;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String pinyin(char c) {
+        try {
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, PINYIN_FORMAT);
+            // 多音字取第一个读音
+            return readings == null || readings.length == 0 ? null : readings[0];
+        } catch (BadHanyuPinyinOutputFormatCombination e) {
+            return null;
+        }
+    }
+
+    private static void prefixes(CharSequence text, int start, int end, Consumer<String> sink) {
+        int limit = Math.min(end, start + MAX_PREFIX);
+        for (int i = start + 1; i <= limit; i++) {
+            sink.accept(text.subSequence(start, i).toString());
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isCjk(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+
+    /**
+     * 文本的拼音展开
+     *
+     * @param full      全拼（非中文的字母数字原样保留）
+     * @param initials  首字母
+     * @param syllables 每个字在全拼中的起始位置
+     */
+    private record Pinyin(String full, String initials, List<Integer> syllables) {
+
+        /**
+         * @return 不含中文时返回 null
+         */
+        static Pinyin of(String text) {
+            if (text == null || text.isEmpty() || text.chars().noneMatch(ch -> isCjk((char) ch))) {
+                return null;
+            }
+            StringBuilder full = new StringBuilder();
+            StringBuilder initials = new StringBuilder();
+            List<Integer> syllables = new ArrayList<>();
+            String lower = text.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < lower.length(); i++) {
+                char c = lower.charAt(i);
+                if (isWordChar(c)) {
+                    full.append(c);
+                    initials.append(c);
+                } else if (isCjk(c)) {
+                    String pinyin = pinyin(c);
+                    if (pinyin != null) {
+                        syllables.add(full.length());
+                        full.append(pinyin);
+                        initials.append(pinyin.charAt(0));
+                    }
+                }
+            }
+            return new Pinyin(full.toString(), initials.toString(), syllables);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.controller.vo.NavigationVO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 全文检索：中文、拼音、首字母、混合查询
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class NavigationSearchIndexTest {
+
+    private static final String[][] NAVS = {
+            {"谷歌翻译", "https://translate.google.com", "翻译"},
+            {"百度", "https://www.baidu.com", "搜索"},
+            {"Node.js", "https://nodejs.org", "开发"},
+            {"GitHub", "https://github.com", "开发"},
+    };
+
+    private static NavigationSearchIndex index;
+
+    @BeforeAll
+    static void build() {
+        List<NavigationSnapshot.Item> items = new ArrayList<>();
+        Map<Integer, Set<String>> categories = new HashMap<>();
+        for (int i = 0; i < NAVS.length; i++) {
+            NavigationVO vo = new NavigationVO();
+            vo.setId(i + 1);
+            vo.setName(NAVS[i][0]);
+            vo.setUrl(NAVS[i][1]);
+            items.add(new NavigationSnapshot.Item(vo, null));
+            categories.put(vo.getId(), Set.of(NAVS[i][2]));
+        }
+        index = NavigationSearchIndex.build(items, new HashMap<>(), categories);
+    }
+
+    @Test
+    void cjk() {
+        assertFound("谷歌", 0);
+        assertFound("翻译", 0);
+        assertFound("百", 1);
+        assertFound("开发", 2, 3);
+    }
+
+    @Test
+    void pinyin() {
+        assertFound("fanyi", 0);
+        assertFound("baidu", 1);
+        assertFound("bai", 1);
+    }
+
+    @Test
+    void initials() {
+        assertFound("ggfy", 0);
+        assertFound("bd", 1);
+    }
+
+    @Test
+    void mixed() {
+        assertFound("谷歌 fanyi", 0);
+        assertFound("node.js", 2);
+        assertFound("github.com", 3);
+        assertFound("git kaifa", 3);
+        assertFound("谷歌 baidu");
+    }
+
+    private static void assertFound(String query, int... expected) {
+        int[] docs = index.search(query, NAVS.length, doc -> true, 10);
+        Arrays.sort(docs);
+        assertArrayEquals(expected, docs, query);
+    }
+}
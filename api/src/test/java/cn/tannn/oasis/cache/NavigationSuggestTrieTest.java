@@ -0,0 +1,88 @@
+package cn.tannn.oasis.cache;
+
+import cn.tannn.oasis.controller.vo.NavigationVO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 输入联想：排序、前缀处理
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class NavigationSuggestTrieTest {
+
+    @Test
+    void rankedBySortOrder() {
+        NavigationSuggestTrie trie = build(doc -> true,
+                "GitHub", "https://github.com",
+                "码云 Gitee", "https://gitee.com",
+                "GitLab", "https://gitlab.com",
+                "百度", "https://www.baidu.com");
+        // 文档序号即 sort 顺序
+        assertEquals(List.of(0, 1, 2), suggest(trie, "git"));
+        assertEquals(List.of(1), suggest(trie, "gitee"));
+        // 名称中间的单词、拼音全拼、首字母、域名
+        assertEquals(List.of(1), suggest(trie, "码云"));
+        assertEquals(List.of(1), suggest(trie, "mayun"));
+        assertEquals(List.of(3), suggest(trie, "bd"));
+        assertEquals(List.of(3), suggest(trie, "baidu.c"));
+        assertEquals(List.of(), suggest(trie, "gitx"));
+    }
+
+    @Test
+    void sameDocOnceAndTopN() {
+        String[] navs = new String[(NavigationSuggestTrie.TOP_N * 2 + 5) * 2];
+        for (int i = 0; i < navs.length / 2; i++) {
+            // 名称和域名都以 tool 开头，同一文档只计一次
+            navs[i * 2] = "tool" + i;
+            navs[i * 2 + 1] = "https://tool" + i + ".dev";
+        }
+        NavigationSuggestTrie trie = build(doc -> doc % 2 == 0, navs);
+        List<Integer> docs = suggest(trie, "tool");
+        assertEquals(NavigationSuggestTrie.TOP_N, docs.size());
+        assertEquals(0, docs.get(0));
+        assertEquals(2, docs.get(1));
+        assertTrue(docs.stream().allMatch(doc -> doc % 2 == 0), "未收录的文档不出现");
+    }
+
+    @Test
+    void prefixLongerThanKeyLimit() {
+        String name = "a".repeat(NavigationSuggestTrie.MAX_KEY_LENGTH + 8);
+        NavigationSuggestTrie trie = build(doc -> true, name, null);
+        assertEquals(List.of(0), suggest(trie, name.substring(0, NavigationSuggestTrie.MAX_KEY_LENGTH)));
+        // 超过上限不截断匹配，哪怕后面的字符不同
+        assertEquals(-1, trie.find(name.substring(0, NavigationSuggestTrie.MAX_KEY_LENGTH) + "b"));
+        assertEquals(-1, trie.find(name));
+    }
+
+    /**
+     * @param navs 名称、网址交替
+     */
+    private static NavigationSuggestTrie build(IntPredicate include, String... navs) {
+        String[][] keys = new String[navs.length / 2][];
+        for (int i = 0; i < keys.length; i++) {
+            NavigationVO vo = new NavigationVO();
+            vo.setId(i + 1);
+            vo.setName(navs[i * 2]);
+            vo.setUrl(navs[i * 2 + 1]);
+            keys[i] = NavigationSuggestTrie.keys(vo);
+        }
+        return NavigationSuggestTrie.build(keys, include);
+    }
+
+    private static List<Integer> suggest(NavigationSuggestTrie trie, String prefix) {
+        List<Integer> docs = new ArrayList<>();
+        int node = trie.find(prefix);
+        for (int i = 0; node >= 0 && i < trie.topCount(node); i++) {
+            docs.add(trie.topDoc(node, i));
+        }
+        return docs;
+    }
+}
@@ -0,0 +1,77 @@
+package cn.tannn.oasis.config;
+
+import cn.tannn.oasis.utils.RoutePrefixTrie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
+
+import static cn.tannn.oasis.config.SpaForwardFilterTest.PATHS;
+import static cn.tannn.oasis.config.SpaForwardFilterTest.legacyForward;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SPA 路由判断基准：异常驱动的回退（旧） vs 前缀树过滤器（新）
+ * <p> 不启动容器，直接对比两种方式处理同一批路径的耗时；计时受机器负载影响，默认不运行，
+ * 需要时加 -Dbenchmark=true 执行，判断结果的正确性由 {@link SpaForwardFilterTest} 覆盖 </p>
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SpaForwardFilterBenchmarkTest {
+
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 50_000;
+
+    private static RoutePrefixTrie routes;
+
+    @BeforeAll
+    static void compileRoutes() throws NoSuchMethodException {
+        routes = SpaForwardFilterTest.routes();
+    }
+
+    @Test
+    void prefixTrieIsFasterThanExceptionFallback() {
+        run(true, WARMUP);
+        run(false, WARMUP);
+
+        long legacy = run(true, ITERATIONS);
+        long trie = run(false, ITERATIONS);
+
+        System.out.printf("SPA 路由判断 %d 次: 异常回退 %.1f ms, 前缀树 %.1f ms, 提升 %.1fx%n",
+                ITERATIONS * PATHS.length, legacy / 1e6, trie / 1e6, (double) legacy / trie);
+        assertTrue(trie < legacy, "前缀树应快于异常回退");
+    }
+
+    private static long run(boolean legacy, int iterations) {
+        int forwarded = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String path : PATHS) {
+                if (legacy ? legacyFallback(path) : SpaForwardFilter.isSpaPath(path, routes)) {
+                    forwarded++;
+                }
+            }
+        }
+        long cost = System.nanoTime() - start;
+        assertTrue(forwarded > 0);
+        return cost;
+    }
+
+    /**
+     * 旧流程：资源查找失败抛出 NoResourceFoundException（带异常栈），再由异常处理器判断
+     */
+    private static boolean legacyFallback(String path) {
+        if (path.length() <= 1) {
+            return false;
+        }
+        try {
+            throw new NoResourceFoundException(HttpMethod.GET, path);
+        } catch (NoResourceFoundException e) {
+            return legacyForward(path);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package cn.tannn.oasis.config;
+
+import cn.tannn.oasis.controller.SpaController;
+import cn.tannn.oasis.utils.RoutePrefixTrie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SPA 路由判断：从已注册的映射编译后端路由前缀，与原异常回退的判断结果保持一致
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class SpaForwardFilterTest {
+
+    static final String[] PATHS = {
+            "/admin/nav", "/admin/category", "/p/home", "/portal/tools/list",
+            "/webs/navs", "/navigation/page", "/login", "/v3/api-docs",
+            "/js/index-1a2b3c.js", "/favicon.ico", "/data/status", "/robots.txt"
+    };
+
+    private static RoutePrefixTrie routes;
+
+    @BeforeAll
+    static void compileRoutes() throws NoSuchMethodException {
+        routes = routes();
+    }
+
+    /**
+     * 按一组典型的映射编译后端路由前缀
+     */
+    static RoutePrefixTrie routes() throws NoSuchMethodException {
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = new LinkedHashMap<>();
+        HandlerMethod api = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        for (String pattern : new String[]{"/navigation/page", "/navCategory/lists", "/sysConfigs/edit",
+                "/webs/navs", "/data/status", "/sitePublish/{id}", "/login", "/init/**", "/v3/api-docs",
+                "/{id}/detail", "/**"}) {
+            handlerMethods.put(RequestMappingInfo.paths(pattern).build(), api);
+        }
+        handlerMethods.put(RequestMappingInfo.paths("/admin", "/admin/**").build(),
+                new HandlerMethod(new SpaController(null), Object.class.getMethod("toString")));
+        return SpaForwardFilter.compile(handlerMethods);
+    }
+
+    @Test
+    void compileCollectsRootSegments() {
+        assertFalse(SpaForwardFilter.isSpaPath("/navigation/page", routes));
+        assertFalse(SpaForwardFilter.isSpaPath("/sitePublish/3", routes));
+        assertFalse(SpaForwardFilter.isSpaPath("/init/db", routes));
+        // 静态资源目录、保留前缀
+        assertFalse(SpaForwardFilter.isSpaPath("/assets/logo", routes));
+        assertFalse(SpaForwardFilter.isSpaPath("/swagger-ui/index", routes));
+        // SpaController 自身的映射、路径变量和通配符开头的映射不算后端前缀
+        assertTrue(SpaForwardFilter.isSpaPath("/admin/nav", routes));
+        assertTrue(SpaForwardFilter.isSpaPath("/p/home", routes));
+    }
+
+    @Test
+    void sameDecisionsAsExceptionFallback() {
+        for (String path : PATHS) {
+            assertEquals(legacyForward(path), SpaForwardFilter.isSpaPath(path, routes), path);
+        }
+        assertTrue(SpaForwardFilter.isSpaPath("/website", routes), "前缀需按路径段匹配");
+        assertFalse(SpaForwardFilter.isSpaPath("/webs", routes));
+        assertFalse(SpaForwardFilter.isSpaPath("/", routes));
+    }
+
+    @Test
+    void onlyKnownExtensionsAreStaticFiles() {
+        assertTrue(SpaForwardFilter.isSpaPath("/docs/v1.2", routes));
+        assertTrue(SpaForwardFilter.isSpaPath("/p/node.js-guide", routes));
+        assertTrue(SpaForwardFilter.isSpaPath("/v1.2/docs", routes));
+        assertFalse(SpaForwardFilter.isSpaPath("/manifest.json", routes));
+        assertFalse(SpaForwardFilter.isSpaPath("/p/logo.PNG", routes));
+        assertFalse(SpaForwardFilter.isSpaPath("/missing.js", routes));
+    }
+
+    /**
+     * 原 SpaFallbackExceptionHandler 的判断逻辑
+     */
+    static boolean legacyForward(String path) {
+        if (path.length() <= 1) {
+            return false;
+        }
+        boolean api = path.startsWith("/navigation") || path.startsWith("/navCategory")
+                || path.startsWith("/sysConfigs") || path.startsWith("/webs") || path.startsWith("/data")
+                || path.startsWith("/sitePublish") || path.startsWith("/login") || path.startsWith("/init")
+                || path.startsWith("/api");
+        boolean staticResource = path.matches(".*\\.(js|css|png|jpg|jpeg|gif|svg|ico|woff|woff2|ttf|eot|map|json|txt|xml|html)$");
+        boolean doc = path.startsWith("/doc.html") || path.startsWith("/v3/api-docs")
+                || path.startsWith("/swagger") || path.startsWith("/webjars/");
+        return !api && !staticResource && !doc;
+    }
+}
@@ -0,0 +1,164 @@
+package cn.tannn.oasis.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 表迁移：内存 H2 模拟备份、恢复
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class DbTransferUtilTest {
+
+    private DatabaseConfig source;
+    private DatabaseConfig target;
+    private final List<Connection> keepAlive = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        source = database();
+        target = database();
+        execute(source, "CREATE TABLE nav_item (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100),"
+                + " update_time TIMESTAMP)");
+        execute(source, "CREATE TABLE nav_visit_daily (id INT AUTO_INCREMENT PRIMARY KEY, nav_id INT, hits INT,"
+                + " update_time TIMESTAMP)");
+        execute(source, "CREATE TABLE nav_change_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, entity_type VARCHAR(20),"
+                + " entity_id INT, change_time TIMESTAMP)");
+        for (int i = 1; i <= 5; i++) {
+            execute(source, "INSERT INTO nav_item (name, update_time) VALUES ('n" + i + "', TIMESTAMP '2026-10-18 10:00:00')");
+        }
+        // 主键不连续：恢复时如果重新生成自增值，引用它的 nav_visit_daily 会错位
+        execute(source, "DELETE FROM nav_item WHERE id IN (1, 3)");
+        execute(source, "INSERT INTO nav_visit_daily (nav_id, hits, update_time) VALUES (4, 7, TIMESTAMP '2026-10-18 10:00:00')");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection conn : keepAlive) {
+            conn.close();
+        }
+    }
+
+    @Test
+    void roundTripKeepsKeys() throws Exception {
+        DbTransferUtil.transferTable(source, target, "nav_item");
+        DbTransferUtil.transferTable(source, target, "nav_visit_daily");
+        assertEquals(List.of(2L, 4L, 5L), longs(target, "SELECT id FROM nav_item ORDER BY id"));
+        assertEquals(List.of("n4"), strings(target,
+                "SELECT i.name FROM nav_visit_daily v JOIN nav_item i ON i.id = v.nav_id"));
+
+        // 自增序列已重置到最大主键之后，新增不会冲突
+        execute(target, "INSERT INTO nav_item (name, update_time) VALUES ('n6', CURRENT_TIMESTAMP)");
+        assertEquals(List.of(6L), longs(target, "SELECT id FROM nav_item WHERE name = 'n6'"));
+
+        // 再迁回另一个库，主键依旧不变
+        DatabaseConfig back = database();
+        DbTransferUtil.transferTable(target, back, "nav_item");
+        assertEquals(List.of(2L, 4L, 5L, 6L), longs(back, "SELECT id FROM nav_item ORDER BY id"));
+    }
+
+    @Test
+    void incrementalCopiesRowsHiddenByRounding() throws Exception {
+        // 目标库精度只到秒（类似 MySQL datetime）
+        execute(target, "CREATE TABLE nav_item (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100),"
+                + " update_time TIMESTAMP(0))");
+        execute(source, "UPDATE nav_item SET update_time = TIMESTAMP '2026-10-18 10:00:00.600' WHERE id = 2");
+        DbTransferUtil.syncTable(source, target, "nav_item", false);
+        // 0.600 在目标库被进位成 10:00:01，同一秒内稍后的修改早于这个水位
+        execute(source, "UPDATE nav_item SET name = 'n4-edit', update_time = TIMESTAMP '2026-10-18 10:00:00.900' WHERE id = 4");
+        DbTransferUtil.syncTable(source, target, "nav_item", false);
+        assertEquals(List.of("n4-edit"), strings(target, "SELECT name FROM nav_item WHERE id = 4"));
+    }
+
+    @Test
+    void incrementalDeletesByChangeLog() throws Exception {
+        DbTransferUtil.transferTable(source, target, "nav_item");
+        DbTransferUtil.transferTable(source, target, "nav_visit_daily");
+
+        execute(source, "DELETE FROM nav_item WHERE id = 2");
+        execute(source, "INSERT INTO nav_change_log (entity_type, entity_id, change_time) VALUES ('nav', 2, CURRENT_TIMESTAMP)");
+        execute(source, "DELETE FROM nav_visit_daily");
+
+        DbTransferUtil.syncTable(source, target, "nav_item", false);
+        DbTransferUtil.syncTable(source, target, "nav_visit_daily", false);
+        assertEquals(List.of(4L, 5L), longs(target, "SELECT id FROM nav_item ORDER BY id"));
+        // 没有变更记录的表不比较全部主键，留给对账
+        assertEquals(List.of(1L), longs(target, "SELECT COUNT(*) FROM nav_visit_daily"));
+
+        DbTransferUtil.syncTable(source, target, "nav_visit_daily", true);
+        assertEquals(List.of(0L), longs(target, "SELECT COUNT(*) FROM nav_visit_daily"));
+    }
+
+    @Test
+    void nullMarkersAreFilledOnce() throws Exception {
+        DbTransferUtil.transferTable(source, target, "nav_item");
+        // ddl-auto 后加的 update_time，历史行为空
+        execute(source, "INSERT INTO nav_item (name) VALUES ('legacy')");
+
+        // 空标记不再每次都同步，只重写水位边界内的行
+        assertEquals(3, DbTransferUtil.syncTable(source, target, "nav_item", false));
+        assertEquals(List.of(0L), longs(target, "SELECT COUNT(*) FROM nav_item WHERE name = 'legacy'"));
+
+        assertEquals(1, DbTransferUtil.fillChangeMarkers(source));
+        assertEquals(0, DbTransferUtil.fillChangeMarkers(source));
+        assertEquals(List.of(0L), longs(source, "SELECT COUNT(*) FROM nav_item WHERE update_time IS NULL"));
+
+        // 补齐后的标记晚于水位，之后的增量同步把它同步过去
+        DbTransferUtil.syncTable(source, target, "nav_item", false);
+        assertEquals(List.of(1L), longs(target, "SELECT COUNT(*) FROM nav_item WHERE name = 'legacy'"));
+    }
+
+    /**
+     * 新建内存库，保持一个连接防止库被回收
+     */
+    private DatabaseConfig database() throws SQLException {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID().toString().replace("-", "");
+        keepAlive.add(DriverManager.getConnection(url, "sa", ""));
+        return new DatabaseConfig(url, "sa", "", "org.h2.Driver");
+    }
+
+    private static void execute(DatabaseConfig cfg, String sql) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(cfg.getUrl(), "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static List<Long> longs(DatabaseConfig cfg, String sql) throws SQLException {
+        List<Long> values = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(cfg.getUrl(), "sa", "");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getLong(1));
+            }
+        }
+        return values;
+    }
+
+    private static List<String> strings(DatabaseConfig cfg, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(cfg.getUrl(), "sa", "");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,100 @@
+package cn.tannn.oasis.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 图标抓取：非公网地址拦截、连接固定到检查过的地址
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class FaviconFetcherTest {
+
+    @Test
+    void rejectsNonPublicAddresses() throws Exception {
+        for (String host : new String[]{"127.0.0.1", "10.1.2.3", "172.16.0.1", "192.168.1.1", "169.254.169.254",
+                "100.64.0.1", "0.0.0.0", "224.0.0.1", "::1", "fe80::1", "fd00::1", "::ffff:127.0.0.1"}) {
+            assertFalse(FaviconFetcher.isPublic(InetAddress.getByName(host)), host);
+        }
+        for (String host : new String[]{"8.8.8.8", "1.1.1.1", "2606:4700:4700::1111"}) {
+            assertTrue(FaviconFetcher.isPublic(InetAddress.getByName(host)), host);
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedSchemes() {
+        assertThrows(IOException.class, () -> FaviconFetcher.checkAddress(URI.create("file:///etc/passwd")));
+        assertThrows(IOException.class, () -> FaviconFetcher.checkAddress(URI.create("ftp://8.8.8.8/favicon.ico")));
+    }
+
+    @Test
+    void neverRequestsLoopback() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            FaviconFetcher fetcher = new FaviconFetcher(Duration.ofSeconds(2));
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+            IOException e = assertThrows(IOException.class, () -> fetcher.fetch(url));
+            assertTrue(e.getMessage().contains("非公网"), e.getMessage());
+            assertEquals(0, requests.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void connectsToCheckedAddressWithOriginalHost() throws Exception {
+        AtomicReference<String> host = new AtomicReference<>();
+        AtomicReference<String> target = new AtomicReference<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            host.set(exchange.getRequestHeaders().getFirst("Host"));
+            target.set(exchange.getRequestURI().toString());
+            byte[] body = "x".repeat(20_000).getBytes(StandardCharsets.UTF_8);
+            // 长度 0 表示 chunked
+            exchange.sendResponseHeaders(200, target.get().contains("chunked") ? 0 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            FaviconFetcher fetcher = new FaviconFetcher(Duration.ofSeconds(2));
+            int port = server.getAddress().getPort();
+            // 主机名不需要能解析：连接只用传入的地址
+            for (String path : new String[]{"/icon.png?size=64", "/chunked"}) {
+                URI uri = URI.create("http://pinned.invalid:" + port + path);
+                FaviconFetcher.Response response = fetcher.request(uri, InetAddress.getByName("127.0.0.1"));
+                try (InputStream body = response.body()) {
+                    assertEquals(200, response.status());
+                    assertEquals(20_000, body.readAllBytes().length, path);
+                }
+                assertEquals("pinned.invalid:" + port, host.get());
+                assertEquals(path, target.get());
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package cn.tannn.oasis.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 内容编码协商
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class HttpEncodingsTest {
+
+    @Test
+    void acceptsGzip() {
+        assertTrue(HttpEncodings.acceptsGzip("gzip, deflate, br"));
+        assertTrue(HttpEncodings.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(HttpEncodings.acceptsGzip("*"));
+        assertTrue(HttpEncodings.acceptsGzip("x-gzip"));
+    }
+
+    @Test
+    void rejectsZeroQuality() {
+        assertFalse(HttpEncodings.acceptsGzip(null));
+        assertFalse(HttpEncodings.acceptsGzip(""));
+        assertFalse(HttpEncodings.acceptsGzip("identity"));
+        assertFalse(HttpEncodings.acceptsGzip("gzip;q=0"));
+        assertFalse(HttpEncodings.acceptsGzip("gzip; q=0.000"));
+        assertFalse(HttpEncodings.acceptsGzip("*;q=0"));
+        // 显式给出的 gzip 优先于 *
+        assertFalse(HttpEncodings.acceptsGzip("*, gzip;q=0"));
+        assertTrue(HttpEncodings.acceptsGzip("*;q=0, gzip"));
+        // 不是 gzip 的名字里带 gzip 也不算
+        assertFalse(HttpEncodings.acceptsGzip("notgzip"));
+    }
+}
@@ -0,0 +1,43 @@
+package cn.tannn.oasis.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 图片类型：只按文件头判断，不信任声明的类型
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class ImageUtilsTest {
+
+    @Test
+    void contentTypeIgnoresDeclaredType() throws Exception {
+        byte[] png = ImageUtils.encodePng(new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB));
+        byte[] html = "<script>alert(1)</script>".getBytes(StandardCharsets.UTF_8);
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>"
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("image/png", ImageUtils.contentType(
+                ImageUtils.decodeBase64("data:text/html;base64," + Base64.getEncoder().encodeToString(png))));
+        assertEquals("application/octet-stream", ImageUtils.contentType(
+                ImageUtils.decodeBase64("data:image/png;base64," + Base64.getEncoder().encodeToString(html))));
+        assertEquals("image/svg+xml", ImageUtils.contentType(svg));
+    }
+
+    @Test
+    void onlyRasterTypesAreServable() {
+        for (String type : new String[]{"image/png", "image/jpeg", "image/gif", "image/webp", "image/x-icon"}) {
+            assertTrue(ImageUtils.isIconType(type), type);
+        }
+        for (String type : new String[]{"image/svg+xml", "text/html", "image", "application/octet-stream", null}) {
+            assertFalse(ImageUtils.isIconType(type), String.valueOf(type));
+        }
+    }
+}
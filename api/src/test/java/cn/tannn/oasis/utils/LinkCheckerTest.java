@@ -0,0 +1,172 @@
+package cn.tannn.oasis.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 链接探测：本地桩服务器模拟各种站点行为
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class LinkCheckerTest {
+
+    private static HttpServer server;
+    private static ExecutorService serverExecutor;
+    private static String base;
+
+    private static final AtomicInteger slowActive = new AtomicInteger();
+    private static final AtomicInteger slowPeak = new AtomicInteger();
+    private static final AtomicInteger flakyCalls = new AtomicInteger();
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(128);
+        server.setExecutor(serverExecutor);
+        server.createContext("/ok", exchange -> reply(exchange, 200));
+        server.createContext("/missing", exchange -> reply(exchange, 404));
+        // 不支持 HEAD 的站点
+        server.createContext("/no-head", exchange ->
+                reply(exchange, "HEAD".equals(exchange.getRequestMethod()) ? 405 : 200));
+        server.createContext("/redirect", exchange -> {
+            exchange.getResponseHeaders().add("Location", base + "/ok");
+            reply(exchange, 302);
+        });
+        server.createContext("/hang", exchange -> {
+            sleep(3_000);
+            reply(exchange, 200);
+        });
+        // 前两次 503，之后正常
+        server.createContext("/flaky", exchange ->
+                reply(exchange, flakyCalls.getAndIncrement() < 2 ? 503 : 200));
+        server.createContext("/slow", exchange -> {
+            int active = slowActive.incrementAndGet();
+            slowPeak.accumulateAndGet(active, Math::max);
+            sleep(50);
+            slowActive.decrementAndGet();
+            reply(exchange, 200);
+        });
+        server.createContext("/bulk", exchange -> {
+            sleep(10);
+            reply(exchange, 200);
+        });
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void statusCodes() {
+        try (LinkChecker checker = new LinkChecker(16, 4, Duration.ofSeconds(2), 0, Duration.ofMillis(50))) {
+            LinkChecker.LinkProbe ok = checker.probe(base + "/ok").join();
+            assertTrue(ok.healthy());
+            assertEquals("HEAD", ok.method());
+
+            LinkChecker.LinkProbe missing = checker.probe(base + "/missing").join();
+            assertFalse(missing.healthy());
+            assertEquals(404, missing.status());
+            assertEquals("GET", missing.method(), "HEAD 失败后应使用 GET 确认");
+
+            LinkChecker.LinkProbe noHead = checker.probe(base + "/no-head").join();
+            assertTrue(noHead.healthy());
+            assertEquals("GET", noHead.method());
+
+            LinkChecker.LinkProbe redirect = checker.probe(base + "/redirect").join();
+            assertEquals(200, redirect.status());
+        }
+    }
+
+    @Test
+    void invalidAndUnreachable() {
+        try (LinkChecker checker = new LinkChecker(16, 4, Duration.ofSeconds(1), 0, Duration.ofMillis(50))) {
+            assertEquals("不支持的地址", checker.probe("ftp://example.com").join().error());
+            assertEquals("地址格式错误", checker.probe("http://exa mple.com").join().error());
+
+            LinkChecker.LinkProbe hang = checker.probe(base + "/hang").join();
+            assertFalse(hang.healthy());
+            assertEquals("请求超时", hang.error());
+        }
+    }
+
+    @Test
+    void retriesWithBackoff() {
+        try (LinkChecker checker = new LinkChecker(16, 4, Duration.ofSeconds(2), 2, Duration.ofMillis(50))) {
+            LinkChecker.LinkProbe flaky = checker.probe(base + "/flaky").join();
+            assertTrue(flaky.healthy());
+            // 第一次 HEAD 503 -> GET 503，重试时 HEAD 200
+            assertEquals(3, flakyCalls.get());
+        }
+    }
+
+    @Test
+    void perHostLimit() {
+        Map<Integer, String> urls = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            urls.put(i, base + "/slow?i=" + i);
+        }
+        try (LinkChecker checker = new LinkChecker(64, 3, Duration.ofSeconds(5), 0, Duration.ofMillis(50))) {
+            Map<Integer, LinkChecker.LinkProbe> results = checker.checkAll(urls);
+            assertEquals(40, results.size());
+            assertTrue(results.values().stream().allMatch(LinkChecker.LinkProbe::healthy));
+        }
+        assertTrue(slowPeak.get() <= 3, "同一域名并发超过限制: " + slowPeak.get());
+    }
+
+    @Test
+    void checkAllThousands() {
+        Map<Integer, String> urls = new HashMap<>();
+        for (int i = 0; i < 3_000; i++) {
+            urls.put(i, base + "/bulk?i=" + i);
+        }
+        Map<Integer, LinkChecker.LinkProbe> results;
+        try (LinkChecker checker = new LinkChecker(64, 64, Duration.ofSeconds(5), 0, Duration.ofMillis(50))) {
+            results = checker.checkAll(urls);
+        }
+        assertEquals(urls.keySet(), results.keySet());
+        assertEquals(3_000, results.values().stream().filter(LinkChecker.LinkProbe::healthy).count());
+    }
+
+    private static void reply(HttpExchange exchange, int status) throws IOException {
+        byte[] body = "oasis".getBytes(StandardCharsets.UTF_8);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
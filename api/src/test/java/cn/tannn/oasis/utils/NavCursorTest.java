@@ -0,0 +1,144 @@
+package cn.tannn.oasis.utils;
+
+import cn.tannn.oasis.cache.NavigationSnapshotCache;
+import cn.tannn.oasis.entity.Navigation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 导航项游标：null 排序值、相同排序值跨页，与快照排序、数据库游标查询一致
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class NavCursorTest {
+
+    /**
+     * (sort, id)：相同 sort 多行、null sort 多行，id 与 sort 顺序交错
+     */
+    private static final Integer[][] ROWS = {
+            {2, 3}, {null, 7}, {1, 5}, {2, 2}, {null, 1}, {3, 8}, {1, 9}, {2, 4}, {null, 6}, {0, 10}
+    };
+
+    private static final String SEEK_SQL = "SELECT id FROM nav_item WHERE %s ORDER BY sort ASC NULLS LAST, id ASC";
+
+    @Test
+    void pagesCoverEveryItemOnce() {
+        List<Navigation> sorted = sorted();
+        for (int pageSize = 1; pageSize <= sorted.size(); pageSize++) {
+            List<Integer> seen = new ArrayList<>();
+            String cursor = null;
+            while (true) {
+                int from = NavCursor.seek(sorted, Navigation::getSort, Navigation::getId, NavCursor.decode(cursor));
+                if (from >= sorted.size()) {
+                    break;
+                }
+                List<Navigation> page = sorted.subList(from, Math.min(from + pageSize, sorted.size()));
+                page.forEach(nav -> seen.add(nav.getId()));
+                Navigation last = page.get(page.size() - 1);
+                cursor = NavCursor.encode(last.getSort(), last.getId());
+            }
+            assertEquals(ids(sorted), seen, "pageSize=" + pageSize);
+        }
+    }
+
+    @Test
+    void nullSortsComeLast() {
+        List<Navigation> sorted = sorted();
+        // 最后一个非 null 之后是第一个 null
+        assertEquals(1, idAt(sorted, new NavCursor.Key(3, 8)));
+        // null 之间按 id
+        assertEquals(6, idAt(sorted, new NavCursor.Key(null, 1)));
+        assertEquals(sorted.size(), NavCursor.seek(sorted, Navigation::getSort, Navigation::getId,
+                new NavCursor.Key(null, 7)));
+        // 游标对应的项已被删除，仍从它之后继续
+        assertEquals(4, idAt(sorted, new NavCursor.Key(2, 3)));
+        assertEquals(8, idAt(sorted, new NavCursor.Key(2, 99)));
+        assertEquals(7, idAt(sorted, new NavCursor.Key(null, 6)));
+        // 空排序值经过编码解码仍是 null
+        assertNull(NavCursor.decode(NavCursor.encode(null, 7)).sort());
+    }
+
+    @Test
+    void sameOrderAsDatabaseSeek() throws Exception {
+        List<Navigation> sorted = sorted();
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:", "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE nav_item (id INT PRIMARY KEY, sort INT)");
+            try (PreparedStatement insert = conn.prepareStatement("INSERT INTO nav_item (id, sort) VALUES (?, ?)")) {
+                for (Integer[] row : ROWS) {
+                    insert.setInt(1, row[1]);
+                    insert.setObject(2, row[0], Types.INTEGER);
+                    insert.executeUpdate();
+                }
+            }
+            // NavigationDao.SEEK_ORDER：sort 正序 null 在后，再按 id
+            assertEquals(ids(sorted), query(conn, String.format(SEEK_SQL, "1 = 1"), null));
+            for (Navigation nav : sorted) {
+                NavCursor.Key key = new NavCursor.Key(nav.getSort(), nav.getId());
+                int from = NavCursor.seek(sorted, Navigation::getSort, Navigation::getId, key);
+                assertEquals(ids(sorted.subList(from, sorted.size())), query(conn, afterSql(key), key), key.toString());
+            }
+        }
+    }
+
+    /**
+     * 与 NavigationDao.after() 相同的条件
+     */
+    private static String afterSql(NavCursor.Key key) {
+        String where = key.sort() == null
+                ? "sort IS NULL AND id > ?"
+                : "sort > ? OR (sort = ? AND id > ?) OR sort IS NULL";
+        return String.format(SEEK_SQL, where);
+    }
+
+    private static List<Integer> query(Connection conn, String sql, NavCursor.Key key) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (key != null && key.sort() == null) {
+                stmt.setInt(1, key.id());
+            } else if (key != null) {
+                stmt.setInt(1, key.sort());
+                stmt.setInt(2, key.sort());
+                stmt.setInt(3, key.id());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static int idAt(List<Navigation> sorted, NavCursor.Key key) {
+        return sorted.get(NavCursor.seek(sorted, Navigation::getSort, Navigation::getId, key)).getId();
+    }
+
+    private static List<Navigation> sorted() {
+        List<Navigation> navs = new ArrayList<>();
+        for (Integer[] row : ROWS) {
+            Navigation nav = new Navigation();
+            nav.setSort(row[0]);
+            nav.setId(row[1]);
+            navs.add(nav);
+        }
+        navs.sort(NavigationSnapshotCache.NAV_ORDER);
+        return navs;
+    }
+
+    private static List<Integer> ids(List<Navigation> navs) {
+        return navs.stream().map(Navigation::getId).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package cn.tannn.oasis.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 搜索分词：索引词与查询词对得上
+ *
+ * @author tan
+ * @version V1.0
+ * @date 2026-10-18
+ */
+class SearchTokenizerTest {
+
+    @Test
+    void cjkBigrams() {
+        Set<String> terms = new HashSet<>();
+        SearchTokenizer.textTerms("谷歌翻译", terms::add);
+        assertTrue(terms.containsAll(Set.of("谷", "歌", "翻", "译", "谷歌", "歌翻", "翻译")));
+        assertEquals(List.of("谷歌", "歌翻", "翻译"), SearchTokenizer.queryTerms("谷歌翻译"));
+        assertEquals(List.of("谷"), SearchTokenizer.queryTerms("谷"));
+    }
+
+    @Test
+    void pinyinAndInitials() {
+        Set<String> terms = new HashSet<>();
+        SearchTokenizer.pinyinTerms("谷歌翻译", terms::add);
+        // 从每个字开始的全拼前缀、首字母前缀
+        assertTrue(terms.containsAll(Set.of("gugefanyi", "gug", "fanyi", "fan", "ggfy", "gg", "fy")));
+        assertFalse(terms.contains("anyi"), "全拼只从字的开头起");
+        assertArrayEquals(new String[]{"gugefanyi", "ggfy"}, SearchTokenizer.pinyinForms("谷歌翻译"));
+        assertArrayEquals(new String[]{"baiduyun", "bdyun"}, SearchTokenizer.pinyinForms("百度yun"));
+        assertNull(SearchTokenizer.pinyinForms("github"));
+    }
+
+    @Test
+    void mixedQuery() {
+        assertEquals(List.of("谷歌", "fanyi"), SearchTokenizer.queryTerms(" 谷歌 FanYi "));
+        assertEquals(List.of("百度", "yun"), SearchTokenizer.queryTerms("百度yun"));
+    }
+
+    @Test
+    void queryUsesIndexSeparators() {
+        Set<String> terms = new HashSet<>();
+        SearchTokenizer.textTerms("Node.js 中文文档", terms::add);
+        for (String term : SearchTokenizer.queryTerms("node.js")) {
+            assertTrue(terms.contains(term), term);
+        }
+        Set<String> host = new HashSet<>();
+        SearchTokenizer.hostTerms("https://www.github-cn.com/explore", host::add);
+        assertEquals(List.of("github", "com"), SearchTokenizer.queryTerms("github.com"));
+        for (String term : SearchTokenizer.queryTerms("github-cn.com")) {
+            assertTrue(host.contains(term), term);
+        }
+        assertTrue(SearchTokenizer.queryTerms("...").isEmpty());
+    }
+}
@@ -1,4 +1,5 @@
 import React from 'react';
+import { ICON_STORE_PREFIX, resolveIconSrc } from '@/utils/request';
 
 interface Props {
   iconData: string | null | undefined;
@@ -63,10 +64,10 @@ const IconDisplay: React.FC<Props> = ({ iconData, title, size = 'w-6 h-6', class
     );
   }
 
-  if (iconData.startsWith('http')) {
+  if (iconData.startsWith('http') || iconData.startsWith(ICON_STORE_PREFIX)) {
     return (
       <img
-        src={iconData}
+        src={resolveIconSrc(iconData)}
         alt={title}
         className={`${size} ${className}`}
         style={{ objectFit: 'cover' }}
@@ -11,10 +11,13 @@ interface Props {
   accountDataMap: Record<number, { account: string; password: string }>;
   onToggleAccount: (id: number) => void;
   jumpMethod: 'newTab' | 'currentTab';
+  // 打开链接时回调（记录点击）
+  onOpen?: (item: NavItem) => void;
 }
 
-const NavList: React.FC<Props> = ({ items, accountMap, accountDataMap, onToggleAccount, jumpMethod }) => {
+const NavList: React.FC<Props> = ({ items, accountMap, accountDataMap, onToggleAccount, jumpMethod, onOpen }) => {
   const handleItemClick = (item: NavItem) => {
+    onOpen?.(item);
     window.open(item.url, jumpMethod === 'currentTab' ? '_self' : '_blank');
   };
 
@@ -1,7 +1,7 @@
 import { useState, useEffect, useRef } from 'react';
 import { useLocation, useNavigate } from 'react-router-dom';
-import type { NavItem, NavCategory, SystemConfig, SitePublish } from '@/types';
-import { webApi, sitePublishApi } from '@/services/api';
+import type { NavItem, NavCategory, SystemConfig, SitePublish, SiteInfo, NavigationVO, NavBundle } from '@/types';
+import { webApi } from '@/services/api';
 
 const DEFAULT_SYSTEM_CONFIG: SystemConfig = {
   siteTitle: 'Oasis 导航',
@@ -31,109 +31,44 @@ export const useNavigation = () => {
     prevNavItemsRef.current = navItems;
   }, [navItems]);
 
-  const loadNavItems = async (routePath?: string) => {
-    try {
-      console.log('=== 开始调用导航接口 ===');
-      console.log('routePath:', routePath);
-
-      // 使用分页接口获取所有导航，传递 routePath 参数
-      const response = await webApi.getNavsPage({
-        page: { pageIndex: 1, pageSize: 100 }
-      }, routePath);
-
-      if (!response || response.code !== 200 || !response.data || !response.data.rows) {
-        console.error('导航接口响应结构异常:', response);
-        setNavItems([]);
-        return;
-      }
-
-      const navList = response.data.rows
-        .filter((nav: any) => nav.status === 1)
-        .map((nav: any) => ({
-          id: nav.id,
-          name: nav.name,
-          url: nav.url,
-          sort: nav.sort,
-          category: nav.category,
-          icon: nav.icon,
-          remark: nav.remark,
-          lookAccount: nav.lookAccount,
-          hasAccount: nav.hasAccount,
-          status: nav.status,
-          showPlatform: nav.showPlatform,
-        }));
-
-      setNavItems(navList);
-      console.log('导航数据加载成功，数量:', navList.length);
-
-    } catch (error) {
-      console.error('导航接口调用失败:', error);
-      setNavItems([]);
+  const applySiteInfo = (siteInfo?: SiteInfo | null) => {
+    if (!siteInfo) {
+      setSystemConfig(DEFAULT_SYSTEM_CONFIG);
+      return;
     }
+    // 转换为 SystemConfig 格式
+    // hideAdminEntry 已经由后端根据 routePath 处理好了
+    setSystemConfig({
+      siteTitle: siteInfo.siteTitle || DEFAULT_SYSTEM_CONFIG.siteTitle,
+      siteLogo: siteInfo.siteLogo || DEFAULT_SYSTEM_CONFIG.siteLogo,
+      defaultOpenMode: siteInfo.defaultOpenMode === 0 ? 'currentTab' : 'newTab',
+      hideAdminEntry: siteInfo.hideAdminEntry === 1,
+      adminUsername: DEFAULT_SYSTEM_CONFIG.adminUsername,
+      adminPassword: DEFAULT_SYSTEM_CONFIG.adminPassword,
+    });
   };
 
-  const loadCategories = async () => {
-    try {
-      console.log('=== 开始调用分类接口 ===');
-
-      const response = await webApi.getCategory();
-
-      // 检查响应结构
-      if (!response || response.code !== 200 || !response.data) {
-        console.error('分类接口响应结构异常:', response);
-        setCategories([]);
-        return;
-      }
-
-      // NavCategory 数组
-      const categoryList = response.data;
-
-      setCategories(categoryList);
-
-    } catch (error) {
-      console.error('分类接口调用失败:', error);
-      setCategories([]);
-    }
-  };
-
-  const loadSystemConfig = async (routePath?: string) => {
-    try {
-      console.log('=== 开始调用站点信息接口 ===');
-      console.log('传递 routePath:', routePath);
-
-      const response = await webApi.getSiteInfo(routePath);
-
-      // 检查响应结构
-      if (!response || response.code !== 200 || !response.data) {
-        setSystemConfig(DEFAULT_SYSTEM_CONFIG);
-        return;
-      }
-
-      // SiteInfo 对象
-      const siteInfo = response.data;
-
-      // 转换为 SystemConfig 格式
-      // hideAdminEntry 已经由后端根据 routePath 处理好了
-      setSystemConfig({
-        siteTitle: siteInfo.siteTitle || DEFAULT_SYSTEM_CONFIG.siteTitle,
-        siteLogo: siteInfo.siteLogo || DEFAULT_SYSTEM_CONFIG.siteLogo,
-        defaultOpenMode: siteInfo.defaultOpenMode === 0 ? 'currentTab' : 'newTab',
-        hideAdminEntry: siteInfo.hideAdminEntry === 1,
-        adminUsername: DEFAULT_SYSTEM_CONFIG.adminUsername,
-        adminPassword: DEFAULT_SYSTEM_CONFIG.adminPassword,
-      });
-
-      console.log('系统配置加载成功, hideAdminEntry:', siteInfo.hideAdminEntry);
-
-    } catch (error) {
-      console.error('站点信息接口调用失败:', error);
-      setSystemConfig(DEFAULT_SYSTEM_CONFIG);
-    }
+  const applyNavItems = (navs: NavigationVO[]) => {
+    const navList: NavItem[] = navs
+      .filter((nav) => nav.status === 1)
+      .map((nav) => ({
+        id: nav.id,
+        name: nav.name,
+        url: nav.url,
+        sort: nav.sort,
+        category: nav.category,
+        icon: nav.icon,
+        remark: nav.remark,
+        lookAccount: nav.lookAccount,
+        hasAccount: nav.hasAccount,
+        status: nav.status,
+      }));
+    setNavItems(navList);
+    console.log('导航数据加载成功，数量:', navList.length);
   };
 
   const loadData = async () => {
     console.log('=== loadData 函数被调用 ===');
-    console.log('isLoadingRef.current:', isLoadingRef.current);
     console.log('当前路径:', location.pathname);
 
     // 只防止并发调用，不阻止重新加载
@@ -142,75 +77,41 @@ export const useNavigation = () => {
       return;
     }
 
-    console.log('开始设置 loading 状态...');
     isLoadingRef.current = true;
     setLoading(true);
 
-    console.log('开始加载导航数据...');
-
-    // 1. 验证自定义页面路径（非根路径和非管理路径）
-    let sitePublish: SitePublish | null = null;
+    // 自定义页面路径（非根路径和非管理路径）
     const currentPath = location.pathname.startsWith('/') ? location.pathname.substring(1) : location.pathname;
+    const routePath = currentPath && currentPath !== 'admin' && !currentPath.startsWith('admin/')
+      ? currentPath
+      : undefined;
 
-    if (currentPath && currentPath !== 'admin' && !currentPath.startsWith('admin/')) {
-      try {
-        console.log('验证自定义页面路径:', currentPath);
-        const response = await sitePublishApi.getByRoutePath(currentPath);
-
-        if (response.code === 200 && response.data) {
-          // 检查配置是否启用
-          if (!response.data.enabled) {
-            console.warn(`路径 "${currentPath}" 的配置未启用，重定向到根路径`);
-            navigate('/', { replace: true });
-            isLoadingRef.current = false;
-            setLoading(false);
-            return;
-          }
-
-          sitePublish = response.data;
-          setSitePublishConfig(sitePublish);
-          console.log('SitePublish 配置验证成功:', sitePublish);
-        } else {
-          console.warn(`路径 "${currentPath}" 未配置或配置无效，重定向到根路径`);
-          navigate('/', { replace: true });
-          isLoadingRef.current = false;
-          setLoading(false);
-          return;
-        }
-      } catch (error) {
-        console.error('验证 SitePublish 配置失败，重定向到根路径:', error);
-        navigate('/', { replace: true });
-        isLoadingRef.current = false;
-        setLoading(false);
-        return;
-      }
-    } else {
-      setSitePublishConfig(null);
-    }
-
-    // 2. 加载导航数据（传入 routePath 进行过滤）
+    // 站点信息、发布页面、分类、导航项一次请求拿到
+    let bundle: NavBundle | null = null;
     try {
-      console.log('调用 loadNavItems...');
-      await loadNavItems(sitePublish?.routePath);
+      const response = await webApi.getBundle(routePath);
+      if (response && response.code === 200 && response.data) {
+        bundle = response.data;
+      } else {
+        console.error('首页数据接口响应结构异常:', response);
+      }
     } catch (error) {
-      console.error('loadNavItems 失败:', error);
+      console.error('首页数据接口调用失败:', error);
     }
 
-    // 3. 加载分类
-    try {
-      console.log('调用 loadCategories...');
-      await loadCategories();
-    } catch (error) {
-      console.error('loadCategories 失败:', error);
+    // 未配置或未启用的发布页面重定向到根路径
+    if (routePath && !bundle?.page) {
+      console.warn(`路径 "${routePath}" 未配置或未启用，重定向到根路径`);
+      navigate('/', { replace: true });
+      isLoadingRef.current = false;
+      setLoading(false);
+      return;
     }
 
-    // 4. 加载系统配置（传入 routePath 获取覆盖后的配置）
-    try {
-      console.log('调用 loadSystemConfig...');
-      await loadSystemConfig(sitePublish?.routePath);
-    } catch (error) {
-      console.error('loadSystemConfig 失败:', error);
-    }
+    setSitePublishConfig(bundle?.page ?? null);
+    applyNavItems(bundle?.navs ?? []);
+    setCategories(bundle?.categories ?? []);
+    applySiteInfo(bundle?.site);
 
     console.log('导航数据加载完成');
     isLoadingRef.current = false;
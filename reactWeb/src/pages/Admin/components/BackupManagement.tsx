@@ -173,10 +173,10 @@ const BackupManagement: React.FC = () => {
     }
   };
 
-  const handleExecuteOnce = async () => {
+  const handleExecuteOnce = async (full = false) => {
     setLoading(true);
     try {
-      const response = await backupApi.executeOnce();
+      const response = await backupApi.executeOnce(full);
       message.success(response.message || '备份任务已开始执行');
       setTimeout(() => {
         loadConfig();
@@ -271,6 +271,7 @@ const BackupManagement: React.FC = () => {
           initialValues={{
             schedule: '0 0 2 * * ?',
             enabled: false,
+            incremental: true,
             description: '数据备份到MySQL',
           }}
         >
@@ -374,6 +375,15 @@ const BackupManagement: React.FC = () => {
             <Switch />
           </Form.Item>
 
+          <Form.Item
+            label="增量备份"
+            name="incremental"
+            valuePropName="checked"
+            extra="开启后只同步变更的行，关闭则每次删表重建全量导入"
+          >
+            <Switch />
+          </Form.Item>
+
           <Form.Item>
             <Space>
               <Button
@@ -422,12 +432,20 @@ const BackupManagement: React.FC = () => {
             <Button
               type="primary"
               icon={<ThunderboltOutlined />}
-              onClick={handleExecuteOnce}
+              onClick={() => handleExecuteOnce()}
               loading={loading}
               disabled={!config?.url}
             >
               立即执行备份
             </Button>
+            <Button
+              icon={<ThunderboltOutlined />}
+              onClick={() => handleExecuteOnce(true)}
+              loading={loading}
+              disabled={!config?.url}
+            >
+              全量重建备份
+            </Button>
             <Button
               danger
               icon={<RollbackOutlined />}
@@ -444,7 +462,10 @@ const BackupManagement: React.FC = () => {
               • <strong>启动定时备份:</strong> 按照配置的定时表达式自动执行备份
             </p>
             <p>
-              • <strong>立即执行备份:</strong> 立即执行一次H2到MySQL的数据备份
+              • <strong>立即执行备份:</strong> 立即执行一次H2到MySQL的数据备份（按配置的增量/全量模式）
+            </p>
+            <p>
+              • <strong>全量重建备份:</strong> 删除MySQL中的表后重建并导入全部数据
             </p>
             <p>
               • <strong>从MySQL恢复数据:</strong> 将MySQL中的数据恢复到H2数据库
@@ -1,8 +1,9 @@
 import React, { useState, useEffect } from 'react';
 import { Table, Button, Modal, Form, Input, Select, InputNumber, Switch, Popconfirm, Space, Radio, Upload, App, Tag, Row, Col } from 'antd';
-import { Plus, Edit, Trash2, UploadCloud, Search } from 'lucide-react';
-import type { NavItem, NavCategory, SitePublish } from '@/types';
+import { Plus, Edit, Trash2, UploadCloud, Search, Activity } from 'lucide-react';
+import type { NavItem, NavCategory, SitePublish, NavLinkHealth } from '@/types';
 import { navigationApi, categoryApi, sitePublishApi } from '@/services/api';
+import { ICON_STORE_PREFIX, resolveIconSrc } from '@/utils/request';
 
 // 定义7种浅色系背景颜色（不包括黑色，以文字为重点）
 const pastelColors = [
@@ -37,10 +38,11 @@ const NavManagement: React.FC = () => {
   const [navItems, setNavItems] = useState<NavItem[]>([]);
   const [categories, setCategories] = useState<NavCategory[]>([]);
   const [platforms, setPlatforms] = useState<SitePublish[]>([]);
+  const [linkHealth, setLinkHealth] = useState<Map<number, NavLinkHealth>>(new Map());
   const [loading, setLoading] = useState(false);
   const [modalVisible, setModalVisible] = useState(false);
   const [editingItem, setEditingItem] = useState<NavItem | null>(null);
-  const [iconType, setIconType] = useState<'url' | 'upload' | 'none'>('none');
+  const [iconType, setIconType] = useState<'auto' | 'url' | 'upload' | 'none'>('auto');
   const [iconPreview, setIconPreview] = useState<string>('');
   const [form] = Form.useForm();
   const [searchForm] = Form.useForm();
@@ -74,6 +76,16 @@ const NavManagement: React.FC = () => {
         setPlatforms([]);
       }
 
+      // 加载链接检测结果，失败不影响列表
+      try {
+        const healthResponse = await navigationApi.getHealth();
+        if (healthResponse.code === 200 && healthResponse.data) {
+          setLinkHealth(new Map(healthResponse.data.map((item): [number, NavLinkHealth] => [item.navId, item])));
+        }
+      } catch (error) {
+        console.error('加载链接检测结果失败:', error);
+      }
+
       // 使用分页接口加载导航数据
       const navResponse = await navigationApi.getPage({
         ...searchParams,
@@ -132,7 +144,7 @@ const NavManagement: React.FC = () => {
   const handleAdd = () => {
     setEditingItem(null);
     form.resetFields();
-    setIconType('none');
+    setIconType('auto');
     setIconPreview('');
     // 设置默认值
     form.setFieldsValue({
@@ -148,9 +160,15 @@ const NavManagement: React.FC = () => {
     setEditingItem(item);
 
     // 判断图标类型
-    let type: 'url' | 'upload' | 'none' = 'none';
-    if (item.icon) {
-      if (item.icon.startsWith('data:image')) {
+    let type: 'auto' | 'url' | 'upload' | 'none' = 'none';
+    if (item.iconStatus) {
+      // 自动获取的图标（含获取中、获取失败）
+      type = 'auto';
+      if (item.icon) {
+        setIconPreview(item.icon);
+      }
+    } else if (item.icon) {
+      if (item.icon.startsWith('data:image') || item.icon.startsWith(ICON_STORE_PREFIX)) {
         type = 'upload';
       } else if (item.icon.startsWith('http://') || item.icon.startsWith('https://')) {
         type = 'url';
@@ -221,7 +239,7 @@ const NavManagement: React.FC = () => {
   };
 
   // 处理图标类型切换
-  const handleIconTypeChange = (type: 'url' | 'upload' | 'none') => {
+  const handleIconTypeChange = (type: 'auto' | 'url' | 'upload' | 'none') => {
     setIconType(type);
     setIconPreview('');
     form.setFieldValue('icon', '');
@@ -241,6 +259,9 @@ const NavManagement: React.FC = () => {
         }
       } else if (iconType === 'upload') {
         finalIcon = iconPreview || '';
+      } else if (iconType === 'auto') {
+        // 保留已获取的图标，后台获取到新图标后替换
+        finalIcon = iconPreview || '';
       }
       // iconType === 'none' 时 finalIcon 为空字符串
 
@@ -260,6 +281,7 @@ const NavManagement: React.FC = () => {
         category: categoryValue,
         sort: values.sort,
         icon: finalIcon,
+        autoIcon: iconType === 'auto',
         remark: values.remark || '',
         account: values.account || '',
         password: values.password || '',
@@ -287,6 +309,16 @@ const NavManagement: React.FC = () => {
     }
   };
 
+  const handleCheckLinks = async () => {
+    try {
+      await navigationApi.checkHealth();
+      message.success('链接检测已开始，稍后刷新查看结果');
+    } catch (error) {
+      console.error('触发链接检测失败:', error);
+      // 全局错误已在request.ts中处理，此处不需要再显示
+    }
+  };
+
   const handleDelete = async (id: number) => {
     try {
       await navigationApi.delete(id);
@@ -321,7 +353,7 @@ const NavManagement: React.FC = () => {
         }
         return (
           <img
-            src={icon}
+            src={resolveIconSrc(icon)}
             alt={record.name}
             className="mx-auto object-contain rounded"
             style={{ width: '32px', height: '32px' }}
@@ -369,6 +401,27 @@ const NavManagement: React.FC = () => {
         </a>
       ),
     },
+    {
+      title: '链接',
+      key: 'linkHealth',
+      width: 90,
+      render: (_: unknown, record: NavItem) => {
+        const health = linkHealth.get(record.id);
+        // 地址修改后旧结果不再适用
+        if (!health || health.url !== record.url?.trim()) {
+          return <Tag>未检测</Tag>;
+        }
+        const detail = `${health.checkTime} 检测` + (health.error ? `：${health.error}` : '');
+        if (health.healthy) {
+          return <Tag color="green" title={detail}>{health.latency} ms</Tag>;
+        }
+        return (
+          <Tag color="red" title={detail + (health.failures > 1 ? `，连续失败 ${health.failures} 次` : '')}>
+            {health.statusCode ? health.statusCode : '无响应'}
+          </Tag>
+        );
+      },
+    },
     {
       title: '分类',
       dataIndex: 'category',
@@ -489,13 +542,21 @@ const NavManagement: React.FC = () => {
     <div className="bg-white rounded-lg p-6">
       <div className="flex justify-between items-center mb-6">
         <h2 className="text-xl font-semibold">导航管理</h2>
-        <Button
-          type="primary"
-          icon={<Plus className="w-4 h-4" />}
-          onClick={handleAdd}
-        >
-          添加导航
-        </Button>
+        <Space>
+          <Button
+            icon={<Activity className="w-4 h-4" />}
+            onClick={handleCheckLinks}
+          >
+            检测链接
+          </Button>
+          <Button
+            type="primary"
+            icon={<Plus className="w-4 h-4" />}
+            onClick={handleAdd}
+          >
+            添加导航
+          </Button>
+        </Space>
       </div>
 
       {/* 搜索表单 */}
@@ -661,11 +722,20 @@ const NavManagement: React.FC = () => {
                 value={iconType}
                 onChange={(e) => handleIconTypeChange(e.target.value)}
               >
+                <Radio value="auto">自动获取</Radio>
                 <Radio value="none">无图标</Radio>
                 <Radio value="url">使用 URL 地址</Radio>
                 <Radio value="upload">上传图片</Radio>
               </Radio.Group>
 
+              {iconType === 'auto' && (
+                <div className="text-xs text-gray-500">
+                  保存后在后台从网站获取图标
+                  {editingItem?.iconStatus === 'PENDING' && '（获取中）'}
+                  {editingItem?.iconStatus === 'FAILED' && '（上次获取失败，保存后重试）'}
+                </div>
+              )}
+
               {iconType === 'url' && (
                 <Form.Item
                   name="iconUrl"
@@ -704,7 +774,7 @@ const NavManagement: React.FC = () => {
                     style={{ width: '64px', height: '64px', minWidth: '64px', minHeight: '64px' }}
                   >
                     <img
-                      src={iconPreview}
+                      src={resolveIconSrc(iconPreview)}
                       alt="预览"
                       className="object-contain rounded"
                       style={{ maxWidth: '60px', maxHeight: '60px', width: 'auto', height: 'auto' }}
@@ -716,7 +786,13 @@ const NavManagement: React.FC = () => {
                   <div className="flex-1">
                     <div className="text-sm text-gray-600">图标预览</div>
                     <div className="text-xs text-gray-400 mt-1 break-all">
-                      {iconType === 'url' ? '外部链接' : `Base64 (${Math.round(iconPreview.length / 1024)}KB)`}
+                      {iconType === 'url'
+                        ? '外部链接'
+                        : iconType === 'auto'
+                          ? '自动获取'
+                          : iconPreview.startsWith(ICON_STORE_PREFIX)
+                          ? '已上传'
+                          : `Base64 (${Math.round(iconPreview.length / 1024)}KB)`}
                     </div>
                   </div>
                   <Button
@@ -10,7 +10,7 @@ import LoginModal from '@/components/LoginModal';
 
 const Navigation: React.FC = () => {
   const navigate = useNavigate();
-  const { navItems, categories, systemConfig, loading } = useNavigation();
+  const { navItems, categories, systemConfig, sitePublishConfig, loading } = useNavigation();
 
 
   const [searchTerm, setSearchTerm] = useState('');
@@ -28,6 +28,58 @@ const Navigation: React.FC = () => {
     setJumpMethod(systemConfig.defaultOpenMode);
   }, [systemConfig.defaultOpenMode]);
 
+  // 服务端检索结果：导航项ID -> 排名，null 表示未检索（或检索失败，使用本地过滤）
+  const [searchRank, setSearchRank] = useState<Map<number, number> | null>(null);
+  const routePath = sitePublishConfig?.routePath;
+
+  // 输入停顿后再请求，服务端按相关度排序并支持拼音
+  useEffect(() => {
+    const term = searchTerm.trim();
+    if (!term) {
+      setSearchRank(null);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await webApi.search(term, routePath, 50);
+        if (!cancelled && response.code === 200 && response.data) {
+          setSearchRank(new Map(response.data.map((nav, index) => [nav.id, index])));
+        }
+      } catch (error) {
+        console.error('搜索请求失败，使用本地过滤:', error);
+        if (!cancelled) setSearchRank(null);
+      }
+    }, 150);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm, routePath]);
+
+  // 输入联想：每次按键都请求，服务端走内存前缀树
+  const [suggestions, setSuggestions] = useState<string[]>([]);
+  useEffect(() => {
+    const prefix = searchTerm.trim();
+    if (!prefix) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    webApi.suggest(prefix, routePath)
+      .then(response => {
+        if (!cancelled && response.code === 200 && response.data) {
+          setSuggestions(Array.from(new Set(response.data.map(nav => nav.name))));
+        }
+      })
+      .catch(() => {
+        if (!cancelled) setSuggestions([]);
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [searchTerm, routePath]);
+
   const allCategories = ['全部', ...categories.map(c => c.categoryName)];
 
   const filteredItems = useMemo(() => {
@@ -37,11 +89,14 @@ const Navigation: React.FC = () => {
       return [];
     }
 
+    const rank = searchTerm.trim() !== '' ? searchRank : null;
+
     const result = navItems
       .filter(item => {
-        const matchesSearch =
-          item.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          (item.remark?.toLowerCase() || '').includes(searchTerm.toLowerCase());
+        const matchesSearch = rank
+          ? rank.has(item.id)
+          : item.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
+            (item.remark?.toLowerCase() || '').includes(searchTerm.toLowerCase());
 
         // 处理多分类过滤：导航项的分类字段是逗号分隔的字符串
         const itemCategories = item.category ? item.category.split(',').map(c => c.trim()).filter(c => c) : [];
@@ -51,10 +106,12 @@ const Navigation: React.FC = () => {
 
         return matchesSearch && matchesCategory;
       })
-      .sort((a, b) => a.sort - b.sort);
+      .sort((a, b) => rank
+        ? (rank.get(a.id) ?? 0) - (rank.get(b.id) ?? 0)
+        : a.sort - b.sort);
 
     return result;
-  }, [navItems, searchTerm, selectedCategory]);
+  }, [navItems, searchTerm, selectedCategory, searchRank]);
 
   const handleLogin = async (username: string, password: string) => {
     try {
@@ -237,7 +294,13 @@ const Navigation: React.FC = () => {
                   className="search-input"
                   value={searchTerm}
                   onChange={(e) => setSearchTerm(e.target.value)}
+                  list="nav-suggestions"
                 />
+                <datalist id="nav-suggestions">
+                  {suggestions.map((name) => (
+                    <option key={name} value={name} />
+                  ))}
+                </datalist>
               </div>
             </div>
           </div>
@@ -265,6 +328,7 @@ const Navigation: React.FC = () => {
                 accountDataMap={accountDataMap}
                 onToggleAccount={toggleAccount}
                 jumpMethod={jumpMethod}
+                onOpen={(item) => webApi.hit(item.id, routePath)}
               />
             );
           } else {
@@ -276,6 +340,7 @@ const Navigation: React.FC = () => {
                 accountDataMap={accountDataMap}
                 onToggleAccount={toggleAccount}
                 jumpMethod={jumpMethod}
+                onOpen={(item) => webApi.hit(item.id, routePath)}
               />
             );
           }
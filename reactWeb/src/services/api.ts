@@ -1,4 +1,4 @@
-import request from '@/utils/request';
+import request, { postWithETag, COLUMNAR_ACCEPT } from '@/utils/request';
 import type {
   NavItem,
   NavCategory,
@@ -6,11 +6,14 @@ import type {
   LoginForm,
   SiteInfo,
   NavigationVO,
+  NavBundle,
   NavigationPageRequest,
   NavManagementPageRequest,
   NavAccessInfo,
+  NavLinkHealth,
   ResultVO,
   ResultPageVO,
+  CursorPage,
   BackupConfig,
   BackupConfigAdd,
   BackupStatus,
@@ -37,6 +40,9 @@ export const navigationApi = {
   // 分页查询导航 - POST /navigation/page
   getPage: (params: NavManagementPageRequest) => request.post<ResultPageVO<NavItem>>('/navigation/page', params),
 
+  // 游标分页查询导航 - POST /navigation/cursor，不统计总数，只使用 page.pageSize
+  getCursor: (params: NavManagementPageRequest) => request.post<ResultVO<CursorPage<NavItem>>>('/navigation/cursor', params),
+
   // 获取导航详情 - GET /navigation/{id}
   getDetail: (id: number) => request.get<ResultVO<NavItem>>(`/navigation/${id}`),
 
@@ -48,6 +54,12 @@ export const navigationApi = {
 
   // 删除导航 - DELETE /navigation/delete?id={id}
   delete: (id: number) => request.delete<ResultVO<any>>(`/navigation/delete?id=${id}`),
+
+  // 链接检测结果 - GET /navigation/health
+  getHealth: () => request.get<ResultVO<NavLinkHealth[]>>('/navigation/health'),
+
+  // 立即检测链接 - POST /navigation/health/check
+  checkHealth: () => request.post<ResultVO<any>>('/navigation/health/check'),
 };
 
 // Category APIs - 对应 NavCategoryController
@@ -60,6 +72,9 @@ export const categoryApi = {
 
   // 删除分类 - DELETE /navCategory/delete?categoryName={categoryName}
   delete: (categoryName: string) => request.delete<ResultVO<any>>(`/navCategory/delete?categoryName=${categoryName}`),
+
+  // 各分类下的导航项数量 - GET /navCategory/counts
+  getCounts: () => request.get<ResultVO<Record<string, number>>>('/navCategory/counts'),
 };
 
 // System Config APIs - 对应 SysConfigsController
@@ -71,6 +86,9 @@ export const sysConfigApi = {
   update: (data: SysConfig) => request.post<ResultVO<any>>('/sysConfigs/edit', data),
 };
 
+// 公开接口的列表用列式格式传输，响应拦截器还原为对象数组
+const columnar = { headers: { Accept: COLUMNAR_ACCEPT } };
+
 // Web APIs - 对应 WebController (前端导航页面接口)
 export const webApi = {
   // 获取站点信息 - GET /webs/site (无需token)
@@ -79,11 +97,24 @@ export const webApi = {
     return request.get<ResultVO<SiteInfo>>('/webs/site', { params });
   },
 
+  // 首页数据包 - GET /webs/bundle (无需token)，站点信息、分类、全部导航项一次返回
+  getBundle: (routePath?: string) => {
+    const params = routePath ? { routePath } : undefined;
+    return request.get<ResultVO<NavBundle>>('/webs/bundle', { params, ...columnar });
+  },
+
   // 获取导航列表 - POST /webs/navs (无需token)
   getNavsPage: (params: NavigationPageRequest, routePath?: string) => {
     // 将 routePath 放到请求体的 showPlatform 字段中
     const requestBody = routePath ? { ...params, showPlatform: routePath } : params;
-    return request.post<ResultPageVO<NavigationVO>>('/webs/navs', requestBody);
+    // 数据未变化时服务端返回 304，使用本地缓存
+    return postWithETag<ResultPageVO<NavigationVO>>('/webs/navs', requestBody, COLUMNAR_ACCEPT);
+  },
+
+  // 游标分页获取导航列表 - POST /webs/navs/cursor (无需token)，不统计总数，只支持 sort 排序
+  getNavsCursor: (params: NavigationPageRequest, routePath?: string) => {
+    const requestBody = routePath ? { ...params, showPlatform: routePath } : params;
+    return postWithETag<ResultVO<CursorPage<NavigationVO>>>('/webs/navs/cursor', requestBody, COLUMNAR_ACCEPT);
   },
 
   // 获取导航访问信息 - GET /webs/navs/access/{id} (无需token)
@@ -91,7 +122,32 @@ export const webApi = {
     request.get<ResultVO<NavAccessInfo>>(`/webs/navs/access/${id}${secret ? `?nvaAccessSecret=${secret}` : ''}`),
 
   // 获取网站分类 - GET /webs/category (无需token)
-  getCategory: () => request.get<ResultVO<NavCategory[]>>('/webs/category'),
+  getCategory: () => request.get<ResultVO<NavCategory[]>>('/webs/category', columnar),
+
+  // 搜索网站 - GET /webs/search (无需token)，按相关度排序，支持拼音全拼/首字母
+  search: (q: string, routePath?: string, limit = 10) =>
+    request.get<ResultVO<NavigationVO[]>>('/webs/search', {
+      params: routePath ? { q, routePath, limit } : { q, limit },
+      ...columnar,
+    }),
+
+  // 记录点击 - POST /webs/navs/{id}/hit (无需token)
+  // 优先用 sendBeacon，当前页跳转时请求也不会被取消
+  hit: (id: number, routePath?: string) => {
+    const query = routePath ? `?routePath=${encodeURIComponent(routePath)}` : '';
+    const url = `${request.defaults.baseURL ?? ''}/webs/navs/${id}/hit${query}`;
+    if (navigator.sendBeacon && navigator.sendBeacon(url)) {
+      return;
+    }
+    request.post(`/webs/navs/${id}/hit${query}`).catch(() => undefined);
+  },
+
+  // 输入联想 - GET /webs/suggest (无需token)，名称/拼音/域名前缀匹配，按排序返回
+  suggest: (prefix: string, routePath?: string, limit = 8) =>
+    request.get<ResultVO<NavigationVO[]>>('/webs/suggest', {
+      params: routePath ? { prefix, routePath, limit } : { prefix, limit },
+      ...columnar,
+    }),
 };
 
 // Login API - 对应 LoginController
@@ -117,8 +173,9 @@ export const backupApi = {
   // 停止定时备份 - POST /data/stop
   stop: () => request.post<ResultVO<string>>('/data/stop'),
 
-  // 立即执行一次备份 - POST /data/execute
-  executeOnce: () => request.post<ResultVO<string>>('/data/execute'),
+  // 立即执行一次备份 - POST /data/execute，full=true 时删表重建全量导入
+  executeOnce: (full = false) =>
+    request.post<ResultVO<string>>('/data/execute', null, { params: { full } }),
 
   // 获取备份状态 - GET /data/status
   getStatus: () => request.get<ResultVO<BackupStatus>>('/data/status'),
@@ -13,6 +13,8 @@ export interface NavItem {
   nvaAccessSecret?: string; // 查看密钥
   status: number; // 0=停用, 1=启用
   showPlatform?: string; // 发布页面，逗号分隔的routePath，如：dev,cp
+  iconStatus?: 'PENDING' | 'DONE' | 'FAILED' | null; // 图标自动获取状态，空为手动设置
+  autoIcon?: boolean; // 保存时从网站自动获取图标（只用于提交）
 }
 
 export interface NavCategory {
@@ -73,6 +75,12 @@ export interface ResultPageVO<T> {
   traceId?: string;
 }
 
+// 后端返回结构 - 游标分页数据，nextCursor 为 null 表示没有下一页
+export interface CursorPage<T> {
+  rows: T[];
+  nextCursor: string | null;
+}
+
 // WebController 相关类型定义
 export interface SiteInfo {
   siteTitle: string;
@@ -94,10 +102,20 @@ export interface NavigationVO {
   status: number; // 0=停用, 1=启用
 }
 
+// 首页数据包（GET /webs/bundle）
+export interface NavBundle {
+  version: number; // 数据变更版本号
+  site: SiteInfo;
+  page: SitePublish | null; // routePath 不是启用的发布页面时为 null
+  categories: NavCategory[];
+  navs: NavigationVO[];
+}
+
 // 导航管理分页请求参数（对应 NavigationPage DTO）
 export interface NavManagementPageRequest {
   name?: string;
   category?: string;
+  cursor?: string; // 游标分页用，上一页返回的 nextCursor
   page?: {
     pageIndex: number;
     pageSize: number;
@@ -109,12 +127,27 @@ export interface NavManagementPageRequest {
 export interface NavigationPageRequest {
   name?: string;
   category?: string;
+  // 排序方式：sort 手动排序（默认），hits 最常用，smart 智能（手动排序结合近期热度）
+  order?: 'sort' | 'hits' | 'smart';
+  cursor?: string; // 游标分页用（只支持 sort 排序），上一页返回的 nextCursor
   page: {
     pageIndex: number;
     pageSize: number;
   };
 }
 
+// 链接检测结果
+export interface NavLinkHealth {
+  navId: number;
+  url: string; // 检测时的地址，与导航当前地址不同说明结果已过期
+  healthy: boolean;
+  statusCode?: number; // 0 表示没有拿到响应
+  latency?: number; // 毫秒
+  error?: string;
+  failures: number; // 连续失败次数
+  checkTime: string;
+}
+
 export interface NavAccessInfo {
   account: string;
   password: string;
@@ -129,6 +162,7 @@ export interface BackupConfig {
   driverClassName?: string;
   schedule?: string;
   enabled?: boolean;
+  incremental?: boolean;
   description?: string;
   lastBackupTime?: string;
   backupCount?: number;
@@ -140,6 +174,7 @@ export interface BackupConfigAdd {
   password: string;
   schedule?: string;
   enabled?: boolean;
+  incremental?: boolean;
   description?: string;
 }
 
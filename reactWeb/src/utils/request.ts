@@ -1,6 +1,13 @@
 import axios, { type AxiosInstance, type AxiosRequestConfig } from 'axios';
 import { App } from 'antd';
 
+declare module 'axios' {
+  interface AxiosRequestConfig {
+    // 响应按这个 key 连同 ETag 缓存到 localStorage，见 postWithETag
+    etagCacheKey?: string;
+  }
+}
+
 // 全局 message 实例
 let messageApi: ReturnType<typeof App.useApp>['message'];
 
@@ -54,6 +61,48 @@ const getBaseURL = () => {
   return apiBaseUrl !== undefined ? apiBaseUrl : '/api';
 };
 
+// 图标存储的访问路径前缀（后端 NavIcon.URL_PREFIX）
+export const ICON_STORE_PREFIX = '/webs/icon/';
+
+// 图标存储路径需要拼接 API 基础路径，base64 / http 图标原样返回
+export const resolveIconSrc = (icon: string) =>
+  icon.startsWith(ICON_STORE_PREFIX) ? `${getBaseURL()}${icon}` : icon;
+
+// 列式 JSON（后端 ColumnarHttpMessageConverter）：对象列表写成 {columns, rows}，每个字段名只出现一次
+export const COLUMNAR_TYPE = 'application/vnd.oasis.columnar';
+// 公开接口的列表请求带上，服务端不支持时仍然返回 JSON
+export const COLUMNAR_ACCEPT = `${COLUMNAR_TYPE}, application/json;q=0.9`;
+
+const isColumnarTable = (value: any): value is { columns: string[]; rows: any[][] } =>
+  value !== null && typeof value === 'object' && !Array.isArray(value)
+  && Object.keys(value).length === 2
+  && Array.isArray(value.columns) && Array.isArray(value.rows);
+
+// 把 {columns, rows} 还原为对象数组（递归处理嵌套的对象和数组）
+const decodeColumnar = (value: any): any => {
+  if (Array.isArray(value)) {
+    return value.map(decodeColumnar);
+  }
+  if (value === null || typeof value !== 'object') {
+    return value;
+  }
+  if (isColumnarTable(value)) {
+    const { columns, rows } = value;
+    return rows.map((row) => {
+      const item: Record<string, any> = {};
+      columns.forEach((column, index) => {
+        item[column] = decodeColumnar(row[index]);
+      });
+      return item;
+    });
+  }
+  const result: Record<string, any> = {};
+  Object.keys(value).forEach((key) => {
+    result[key] = decodeColumnar(value[key]);
+  });
+  return result;
+};
+
 // 定义需要自动登出的错误码
 // 401 - TOKEN_ERROR, REDIS_EXPIRED_USER, REDIS_NO_USER (登录失效)
 // 402 - SYS_AUTHORIZED_PAST (授权过期)
@@ -100,15 +149,43 @@ api.interceptors.request.use(
   }
 );
 
+// 读取 ETag 缓存
+const readETagCache = (key: string): { etag: string; body: any } | null => {
+  try {
+    const raw = localStorage.getItem(key);
+    return raw ? JSON.parse(raw) : null;
+  } catch {
+    return null;
+  }
+};
+
 api.interceptors.response.use(
   (response) => {
-    const { data } = response;
+    const etagCacheKey = response.config.etagCacheKey;
+    // 304 未修改：服务端没有返回内容，使用本地缓存
+    if (response.status === 304 && etagCacheKey) {
+      const cached = readETagCache(etagCacheKey);
+      if (cached) {
+        return cached.body;
+      }
+    }
+
+    const contentType = String(response.headers?.['content-type'] ?? '');
+    const data = contentType.includes(COLUMNAR_TYPE) ? decodeColumnar(response.data) : response.data;
 
     // 后端返回格式: {code: number, message: string, data: any, success: boolean, ts: number}
     // 优先使用 success 字段判断，如果没有则用 code === 200 判断
     const isSuccess = data.success !== undefined ? data.success : data.code === 200;
 
     if (isSuccess) {
+      const etag = response.headers?.etag;
+      if (etagCacheKey && etag) {
+        try {
+          localStorage.setItem(etagCacheKey, JSON.stringify({ etag, body: data }));
+        } catch {
+          // 存储空间不足时放弃缓存，不影响本次请求
+        }
+      }
       // 请求成功，返回数据
       return data;
     } else {
@@ -170,4 +247,24 @@ api.interceptors.response.use(
   }
 );
 
+// 带 ETag 缓存的 POST 请求
+// 浏览器不会缓存 POST 的响应，这里按 url + 请求体把响应和 ETag 存到 localStorage，
+// 下次请求带上 If-None-Match，服务端数据未变化时返回 304（无响应体），直接使用缓存
+export const postWithETag = <T = any>(url: string, data?: any, accept?: string): Promise<T> => {
+  const etagCacheKey = `etag:${url}:${JSON.stringify(data ?? {})}`;
+  const cached = readETagCache(etagCacheKey);
+  const headers: Record<string, string> = {};
+  if (accept) {
+    headers.Accept = accept;
+  }
+  if (cached) {
+    headers['If-None-Match'] = cached.etag;
+  }
+  return api.post<T>(url, data, {
+    etagCacheKey,
+    headers,
+    validateStatus: (status) => (status >= 200 && status < 300) || (status === 304 && cached !== null),
+  });
+};
+
 export default api;
@@ -1,6 +1,42 @@
-import { defineConfig, loadEnv } from 'vite'
+import { defineConfig, loadEnv, type Plugin } from 'vite'
 import react from '@vitejs/plugin-react'
 import path from 'path'
+import fs from 'fs'
+import zlib from 'zlib'
+
+/**
+ * 构建后为文本类资源生成 .br / .gz 预压缩文件
+ * 后端 StaticResourceConfig 的资源链按 Accept-Encoding 直接返回，运行时不再压缩
+ */
+function precompress(): Plugin {
+  const compressible = /\.(js|css|html|svg|json|txt|xml)$/;
+  // 太小的文件压缩收益不如多出来的请求头
+  const minSize = 1024;
+  let outDir = '';
+  return {
+    name: 'oasis-precompress',
+    apply: 'build',
+    configResolved(config) {
+      outDir = path.resolve(config.root, config.build.outDir);
+    },
+    closeBundle() {
+      const walk = (dir: string): string[] =>
+        fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+          const file = path.join(dir, entry.name);
+          return entry.isDirectory() ? walk(file) : [file];
+        });
+      for (const file of walk(outDir)) {
+        if (!compressible.test(file)) continue;
+        const content = fs.readFileSync(file);
+        if (content.length < minSize) continue;
+        fs.writeFileSync(`${file}.gz`, zlib.gzipSync(content, { level: 9 }));
+        fs.writeFileSync(`${file}.br`, zlib.brotliCompressSync(content, {
+          params: { [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY },
+        }));
+      }
+    },
+  };
+}
 
 // https://vite.dev/config/
 export default defineConfig(({ mode }) => {
@@ -18,7 +54,7 @@ export default defineConfig(({ mode }) => {
     // 设置基础路径
     base: env.VITE_BASE_PATH || '/',
 
-    plugins: [react()],
+    plugins: [react(), precompress()],
 
     resolve: {
       alias: {